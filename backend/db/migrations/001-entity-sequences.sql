@@ -0,0 +1,30 @@
+-- Creates the per-entity id sequences that replace the identity columns.
+-- Hibernate allocates ids from <entity>_seq in blocks of 50 (the pooled optimizer),
+-- so each sequence starts one block past the highest existing id.
+-- PostgreSQL; run once against an existing database before starting this version,
+-- which validates the schema on startup.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/001-entity-sequences.sql
+
+BEGIN;
+
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE pricing_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE schedule_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE lesson_content_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE progress_report_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('student_seq', COALESCE(MAX(id), 0) + 50) FROM students;
+SELECT setval('pricing_seq', COALESCE(MAX(id), 0) + 50) FROM pricing;
+SELECT setval('schedule_seq', COALESCE(MAX(id), 0) + 50) FROM schedules;
+SELECT setval('lesson_content_seq', COALESCE(MAX(id), 0) + 50) FROM lesson_content;
+SELECT setval('progress_report_seq', COALESCE(MAX(id), 0) + 50) FROM progress_reports;
+
+-- Ids now come from the sequences only
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE pricing ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE lesson_content ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE progress_reports ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
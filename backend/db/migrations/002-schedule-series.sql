@@ -0,0 +1,43 @@
+-- Adds recurring lesson series and links the schedules materialized from them.
+-- PostgreSQL; run once against an existing database before starting this version,
+-- which validates the schema on startup.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/002-schedule-series.sql
+
+BEGIN;
+
+CREATE SEQUENCE schedule_series_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE schedule_series (
+    id                   BIGINT       NOT NULL PRIMARY KEY,
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6),
+    version              BIGINT,
+    student_id           BIGINT       NOT NULL,
+    frequency            VARCHAR(20)  NOT NULL,
+    start_date           DATE         NOT NULL,
+    end_date             DATE         NOT NULL,
+    start_time           TIME(6)      NOT NULL,
+    duration_minutes     INTEGER      NOT NULL,
+    location             VARCHAR(100) NOT NULL,
+    notes                OID,
+    materialized_through DATE,
+    CONSTRAINT fk_schedule_series_student FOREIGN KEY (student_id) REFERENCES students (id)
+);
+
+CREATE INDEX idx_schedule_series_student_id ON schedule_series (student_id);
+CREATE INDEX idx_schedule_series_dates ON schedule_series (start_date, end_date);
+
+CREATE TABLE schedule_series_exceptions (
+    series_id      BIGINT NOT NULL,
+    exception_date DATE   NOT NULL,
+    PRIMARY KEY (series_id, exception_date),
+    CONSTRAINT fk_schedule_series_exception_series FOREIGN KEY (series_id) REFERENCES schedule_series (id)
+);
+
+-- Materialized occurrences carry the id of their series. Schedule maps it as a plain
+-- column, so like the generated schema there is no foreign key
+ALTER TABLE schedules ADD COLUMN series_id BIGINT;
+CREATE INDEX idx_schedule_series_id ON schedules (series_id);
+
+COMMIT;
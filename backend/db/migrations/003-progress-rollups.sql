@@ -0,0 +1,48 @@
+-- Adds the progress_rollups table of pre-aggregated report scores and the
+-- report_date indexes used to recompute a bucket. The table starts empty and is
+-- filled from the existing reports when the application starts.
+-- PostgreSQL; run once against an existing database before starting this version,
+-- which validates the schema on startup.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/003-progress-rollups.sql
+
+BEGIN;
+
+CREATE SEQUENCE progress_rollup_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE progress_rollups (
+    id               BIGINT           NOT NULL PRIMARY KEY,
+    created_at       TIMESTAMP(6)     NOT NULL,
+    updated_at       TIMESTAMP(6),
+    version          BIGINT,
+    granularity      VARCHAR(10)      NOT NULL,
+    bucket_start     DATE             NOT NULL,
+    student_id       BIGINT           NOT NULL,
+    report_type      VARCHAR(20)      NOT NULL,
+    overall_count    BIGINT           NOT NULL,
+    overall_sum      DOUBLE PRECISION NOT NULL,
+    overall_min      DOUBLE PRECISION,
+    overall_max      DOUBLE PRECISION,
+    technical_count  BIGINT           NOT NULL,
+    technical_sum    DOUBLE PRECISION NOT NULL,
+    technical_min    DOUBLE PRECISION,
+    technical_max    DOUBLE PRECISION,
+    theory_count     BIGINT           NOT NULL,
+    theory_sum       DOUBLE PRECISION NOT NULL,
+    theory_min       DOUBLE PRECISION,
+    theory_max       DOUBLE PRECISION,
+    repertoire_count BIGINT           NOT NULL,
+    repertoire_sum   DOUBLE PRECISION NOT NULL,
+    repertoire_min   DOUBLE PRECISION,
+    repertoire_max   DOUBLE PRECISION,
+    practice_count   BIGINT           NOT NULL,
+    practice_sum     DOUBLE PRECISION NOT NULL,
+    practice_min     DOUBLE PRECISION,
+    practice_max     DOUBLE PRECISION,
+    CONSTRAINT uk_progress_rollup_bucket UNIQUE (granularity, bucket_start, student_id, report_type)
+);
+
+CREATE INDEX idx_progress_report_date ON progress_reports (report_date);
+CREATE INDEX idx_progress_report_student_date ON progress_reports (student_id, report_date);
+
+COMMIT;
@@ -0,0 +1,31 @@
+-- Adds the report_generation_runs table that tracks roster-wide report generation.
+-- PostgreSQL; run once against an existing database before starting this version,
+-- which validates the schema on startup.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/004-report-generation-runs.sql
+
+BEGIN;
+
+CREATE SEQUENCE report_generation_run_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE report_generation_runs (
+    id                 BIGINT       NOT NULL PRIMARY KEY,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    version            BIGINT,
+    report_type        VARCHAR(20)  NOT NULL,
+    report_period      VARCHAR(20)  NOT NULL,
+    status             VARCHAR(20)  NOT NULL,
+    total_students     INTEGER      NOT NULL,
+    processed_students INTEGER      NOT NULL,
+    created_reports    INTEGER      NOT NULL,
+    existing_reports   INTEGER      NOT NULL,
+    inactive_students  INTEGER      NOT NULL,
+    started_at         TIMESTAMP(6) NOT NULL,
+    finished_at        TIMESTAMP(6),
+    error_message      VARCHAR(500)
+);
+
+CREATE INDEX idx_report_generation_run_period ON report_generation_runs (report_type, report_period);
+
+COMMIT;
@@ -0,0 +1,48 @@
+-- Moves the free-text schedules.location column into the locations table.
+-- PostgreSQL; run once against an existing database before starting this version,
+-- which validates the schema on startup.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/005-schedule-locations.sql
+
+BEGIN;
+
+CREATE SEQUENCE location_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE locations (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    version    BIGINT,
+    name       VARCHAR(100) NOT NULL,
+    name_key   VARCHAR(100) NOT NULL,
+    CONSTRAINT uk_location_name_key UNIQUE (name_key)
+);
+
+-- One row per name, ignoring case and spacing as Location.normalize does; the
+-- spelling of the oldest schedule is kept
+INSERT INTO locations (id, created_at, updated_at, version, name, name_key)
+SELECT nextval('location_seq'), now(), now(), 0, name, name_key
+FROM (
+    SELECT DISTINCT ON (name_key) name, name_key
+    FROM (
+        SELECT id,
+               TRIM(location) AS name,
+               LOWER(REGEXP_REPLACE(TRIM(location), '\s+', ' ', 'g')) AS name_key
+        FROM schedules
+    ) names
+    ORDER BY name_key, id
+) first_spellings;
+
+ALTER TABLE schedules ADD COLUMN location_id BIGINT;
+
+UPDATE schedules s
+SET location_id = l.id
+FROM locations l
+WHERE l.name_key = LOWER(REGEXP_REPLACE(TRIM(s.location), '\s+', ' ', 'g'));
+
+ALTER TABLE schedules ALTER COLUMN location_id SET NOT NULL;
+ALTER TABLE schedules ADD CONSTRAINT fk_schedule_location FOREIGN KEY (location_id) REFERENCES locations (id);
+CREATE INDEX idx_schedule_location_id ON schedules (location_id);
+ALTER TABLE schedules DROP COLUMN location;
+
+COMMIT;
@@ -0,0 +1,65 @@
+-- Stores report types, report periods and lesson content types compactly: the
+-- enums as their ordinals (declaration order in ProgressReport.ReportType and
+-- LessonContent.ContentType, -1 for the rollups' ALL) and the period as the integer
+-- yyyyMM. A longer period becomes the month it starts in, as ProgressReport.parsePeriod
+-- reads it: an ISO week (YYYY-Www) the month of its Monday, a quarter (YYYY-Qn)
+-- month 3n-2, a half year (YYYY-Hn) month 6n-5 and a year (YYYY) January.
+-- PostgreSQL; run once against an existing database before starting this version.
+-- A row with an unknown type or period becomes NULL, so the NOT NULL columns make
+-- the script fail and roll back; fix those rows first.
+--
+--   psql -U piano_teacher_user -d piano_teacher -f backend/db/migrations/006-compact-report-columns.sql
+
+BEGIN;
+
+UPDATE progress_reports SET report_period = UPPER(TRIM(report_period));
+
+ALTER TABLE progress_reports
+    ALTER COLUMN report_type TYPE SMALLINT USING CASE report_type
+        WHEN 'WEEKLY' THEN 0
+        WHEN 'MONTHLY' THEN 1
+        WHEN 'QUARTERLY' THEN 2
+        WHEN 'SEMESTER' THEN 3
+        WHEN 'YEARLY' THEN 4
+        WHEN 'ASSESSMENT' THEN 5
+    END,
+    ALTER COLUMN report_period TYPE INTEGER USING CASE
+        WHEN report_period ~ '^\d{4}-(0[1-9]|1[0-2])$' THEN REPLACE(report_period, '-', '')::INTEGER
+        -- A week 53 the year does not have is rejected rather than rolled into the next year
+        WHEN report_period ~ '^\d{4}-W(0[1-9]|[1-4]\d|5[0-3])$' THEN CASE
+            WHEN TO_CHAR(TO_DATE(LEFT(report_period, 4) || RIGHT(report_period, 2) || '1', 'IYYYIWID'), 'IYYY-"W"IW')
+                = report_period
+            THEN TO_CHAR(TO_DATE(LEFT(report_period, 4) || RIGHT(report_period, 2) || '1', 'IYYYIWID'), 'YYYYMM')::INTEGER
+        END
+        WHEN report_period ~ '^\d{4}-Q[1-4]$'
+            THEN LEFT(report_period, 4)::INTEGER * 100 + (RIGHT(report_period, 1)::INTEGER - 1) * 3 + 1
+        WHEN report_period ~ '^\d{4}-H[12]$'
+            THEN LEFT(report_period, 4)::INTEGER * 100 + (RIGHT(report_period, 1)::INTEGER - 1) * 6 + 1
+        WHEN report_period ~ '^\d{4}$' THEN report_period::INTEGER * 100 + 1
+    END;
+
+ALTER TABLE progress_rollups
+    ALTER COLUMN report_type TYPE SMALLINT USING CASE report_type
+        WHEN 'ALL' THEN -1
+        WHEN 'WEEKLY' THEN 0
+        WHEN 'MONTHLY' THEN 1
+        WHEN 'QUARTERLY' THEN 2
+        WHEN 'SEMESTER' THEN 3
+        WHEN 'YEARLY' THEN 4
+        WHEN 'ASSESSMENT' THEN 5
+    END;
+
+ALTER TABLE lesson_content
+    ALTER COLUMN content_type TYPE SMALLINT USING CASE content_type
+        WHEN 'EXERCISE' THEN 0
+        WHEN 'SONG' THEN 1
+        WHEN 'THEORY' THEN 2
+        WHEN 'TECHNIQUE' THEN 3
+        WHEN 'REPERTOIRE' THEN 4
+        WHEN 'ASSIGNMENT' THEN 5
+    END;
+
+CREATE INDEX idx_progress_report_student_type_period ON progress_reports (student_id, report_type, report_period);
+CREATE INDEX idx_lesson_content_student_type ON lesson_content (student_id, content_type);
+
+COMMIT;
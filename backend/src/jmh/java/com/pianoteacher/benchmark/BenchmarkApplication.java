@@ -0,0 +1,121 @@
+package com.pianoteacher.benchmark;
+
+import com.pianoteacher.PianoTeacherApplication;
+import com.pianoteacher.model.Location;
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.LocationDictionary;
+import com.pianoteacher.service.ProgressRollupService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application (without a web server unless asked for one) against a
+ * private in-memory H2 database and seeds it with a studio-sized data set, so
+ * benchmarks exercise the real services and repositories. Each JMH fork starts its
+ * own context.
+ */
+final class BenchmarkApplication {
+
+    static final int STUDENTS = 300;
+    static final int WEEKS = 26;
+    static final int LESSONS_PER_WEEK = 2;
+    static final int MONTHS_OF_REPORTS = 12;
+    // Next Monday, so the seeded weeks lie in the future where scheduling suggestions are allowed
+    static final LocalDateTime FIRST_WEEK = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+
+    private static final String[] LOCATIONS = {"Studio A", "Studio B", "Online", "Home Visit"};
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    // Extra properties override the defaults below, e.g. to start the web server in a given thread mode
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PianoTeacherApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.pianoteacher=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .properties(extraProperties)
+                .run();
+        seed(context);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        ScheduleRepository scheduleRepository = context.getBean(ScheduleRepository.class);
+        ProgressReportRepository progressReportRepository = context.getBean(ProgressReportRepository.class);
+        LocationDictionary locationDictionary = context.getBean(LocationDictionary.class);
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> {
+                    List<Student> students = new ArrayList<>();
+                    for (int i = 0; i < STUDENTS; i++) {
+                        Student student = new Student("Student " + i, 6 + i % 60, "Grade " + (1 + i % 8));
+                        student.setEmail("student" + i + "@example.com");
+                        student.setPhone("555-" + (1000 + i));
+                        students.add(student);
+                    }
+                    studentRepository.saveAll(students);
+
+                    List<Location> locations = new ArrayList<>();
+                    for (String name : LOCATIONS) {
+                        locations.add(locationDictionary.intern(name));
+                    }
+
+                    List<Schedule> schedules = new ArrayList<>();
+                    List<ProgressReport> reports = new ArrayList<>();
+                    for (int i = 0; i < STUDENTS; i++) {
+                        Student student = students.get(i);
+                        // Spread students over weekdays and teaching hours so days are busy but not full
+                        for (int week = 0; week < WEEKS; week++) {
+                            for (int lesson = 0; lesson < LESSONS_PER_WEEK; lesson++) {
+                                LocalDateTime start = FIRST_WEEK.plusWeeks(week)
+                                        .plusDays((i + lesson * 3) % 6)
+                                        .withHour(8 + (i * 7 + lesson) % 12);
+                                Schedule schedule = new Schedule(student, start, start.plusMinutes(45), LOCATIONS[i % LOCATIONS.length]);
+                                schedule.setPlace(locations.get(i % LOCATIONS.length));
+                                schedules.add(schedule);
+                            }
+                        }
+                        for (int month = 1; month <= MONTHS_OF_REPORTS; month++) {
+                            ProgressReport report = new ProgressReport(student, "MONTHLY", "2025-" + String.format("%02d", month),
+                                    50.0 + (i * 13 + month * 7) % 50);
+                            report.setTechnicalSkills(40.0 + (i + month) % 60);
+                            report.setTheoryKnowledge(45.0 + (i * 3 + month) % 55);
+                            report.setRepertoireSkills(50.0 + (i * 5 + month) % 50);
+                            report.setPracticeHabits(35.0 + (i * 7 + month) % 65);
+                            report.setReportDate(LocalDateTime.of(2025, month, 28, 18, 0));
+                            reports.add(report);
+                        }
+                    }
+                    scheduleRepository.saveAll(schedules);
+                    progressReportRepository.saveAll(reports);
+                });
+        // The reports were saved around ProgressReportService, so build their rollups here
+        context.getBean(ProgressRollupService.class).rebuild();
+    }
+}
@@ -0,0 +1,40 @@
+package com.pianoteacher.benchmark;
+
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgressReportBenchmark {
+
+    private ProgressReport report;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        report = new ProgressReport(new Student("Student", 12, "Grade 3"), "MONTHLY", "2025-03", 82.5);
+        report.setTechnicalSkills(78.0);
+        report.setTheoryKnowledge(85.0);
+        report.setRepertoireSkills(80.0);
+        report.setPracticeHabits(74.0);
+        report.setReportDate(LocalDateTime.of(2025, 3, 28, 18, 0));
+    }
+
+    @Benchmark
+    public Double averageScore() {
+        return report.getAverageScore();
+    }
+
+    @Benchmark
+    public Map<String, Object> progressSummary() {
+        return report.getProgressSummary();
+    }
+}
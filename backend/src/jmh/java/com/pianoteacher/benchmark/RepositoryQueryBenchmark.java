@@ -0,0 +1,73 @@
+package com.pianoteacher.benchmark;
+
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
+import com.pianoteacher.model.ProgressRollup.Granularity;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.service.ProgressReportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ScheduleRepository scheduleRepository;
+    private ProgressReportRepository progressReportRepository;
+    private ProgressReportService progressReportService;
+    private LocalDateTime day;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        scheduleRepository = context.getBean(ScheduleRepository.class);
+        progressReportRepository = context.getBean(ProgressReportRepository.class);
+        progressReportService = context.getBean(ProgressReportService.class);
+        day = BenchmarkApplication.FIRST_WEEK.plusWeeks(BenchmarkApplication.WEEKS / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Schedule> schedulesStartingInDay() {
+        return scheduleRepository.findStartingInRange(day, day.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Object[]> studentIntervals() {
+        return scheduleRepository.findIntervalsByStudentId(42L);
+    }
+
+    @Benchmark
+    public List<Object[]> reportCountsByStudent() {
+        return progressReportRepository.countReportsByStudent();
+    }
+
+    @Benchmark
+    public List<Object[]> monthlyProgressTrend() {
+        return progressReportService.getOverallProgressTrend(Granularity.MONTH);
+    }
+
+    @Benchmark
+    public List<Object[]> averageProgressByStudent() {
+        return progressReportService.getAverageProgressByStudent();
+    }
+
+    @Benchmark
+    public List<ProgressReportSummaryDTO> latestReportsForAllStudents() {
+        return progressReportService.getLatestReportsForAllStudents();
+    }
+}
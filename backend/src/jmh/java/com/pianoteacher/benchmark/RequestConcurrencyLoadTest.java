@@ -0,0 +1,154 @@
+package com.pianoteacher.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing Tomcat's platform thread pool with virtual
+ * threads ({@code spring.threads.virtual.enabled}) on the schedule and student
+ * endpoints.
+ *
+ * For each mode the application is started on a random port against the seeded H2
+ * database, then {@code load.concurrency} clients, each on its own virtual thread,
+ * send requests back to back for {@code load.seconds} after a warmup. The report
+ * lists throughput, p50, p99 and errors per mode and endpoint.
+ *
+ * In-memory H2 answers in microseconds, so this mostly measures thread handoff. To see
+ * the effect of blocking JDBC, point {@code load.baseUrl} at an instance running on
+ * PostgreSQL: start it once with {@code VIRTUAL_THREADS=false} and once with
+ * {@code VIRTUAL_THREADS=true} and run the test against each.
+ */
+public final class RequestConcurrencyLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 10);
+    private static final String BASE_URL = System.getProperty("load.baseUrl");
+    private static final String CREDENTIALS = System.getProperty("load.credentials", "admin:admin123");
+
+    private static final List<String> ENDPOINTS = List.of(
+            "/api/schedules?date=" + BenchmarkApplication.FIRST_WEEK.plusWeeks(BenchmarkApplication.WEEKS / 2).toLocalDate(),
+            "/api/schedules/student/1",
+            "/api/students",
+            "/api/students/summary");
+
+    private RequestConcurrencyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-8s %-40s %12s %10s %10s %8s", "threads", "endpoint", "requests/s", "p50 ms", "p99 ms", "errors"));
+        if (BASE_URL != null) {
+            run("external", BASE_URL, report);
+        } else {
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                String mode = virtualThreads ? "virtual" : "platform";
+                ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtualThreads);
+                try {
+                    run(mode, "http://localhost:" + context.getEnvironment().getProperty("local.server.port"), report);
+                } finally {
+                    context.close();
+                }
+            }
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static void run(String mode, String baseUrl, List<String> report) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(CREDENTIALS.getBytes(StandardCharsets.UTF_8));
+        for (String endpoint : ENDPOINTS) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                    .header("Authorization", authorization)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            drive(client, request, WARMUP_SECONDS);
+            Result result = drive(client, request, SECONDS);
+            report.add(String.format("%-8s %-40s %12.0f %10.1f %10.1f %8d", mode, endpoint,
+                    result.latenciesNanos.length / (double) SECONDS,
+                    result.percentileMillis(50), result.percentileMillis(99), result.errors));
+        }
+    }
+
+    // Every client sends its next request as soon as the previous response arrives
+    private static Result drive(HttpClient client, HttpRequest request, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        List<long[]> perClient = new ArrayList<>(clients.size());
+        int total = 0;
+        for (Future<long[]> future : clients) {
+            long[] latencies = future.get();
+            perClient.add(latencies);
+            total += latencies.length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+
+        double percentileMillis(int percentile) {
+            if (latenciesNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.pianoteacher.benchmark;
+
+import com.pianoteacher.dto.TimeSlotSuggestionDTO;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.service.ScheduleConflictIndex;
+import com.pianoteacher.service.ScheduleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private ScheduleConflictIndex conflictIndex;
+    private LocalDateTime weekStart;
+    private long studentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        scheduleService = context.getBean(ScheduleService.class);
+        conflictIndex = context.getBean(ScheduleConflictIndex.class);
+        // A seeded week in the future; suggestions reject start dates in the past
+        weekStart = BenchmarkApplication.FIRST_WEEK.plusWeeks(BenchmarkApplication.WEEKS / 2);
+        studentId = 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Next student each call so the conflict index sees its warm and cold paths alike
+    private long nextStudentId() {
+        studentId = studentId % BenchmarkApplication.STUDENTS + 1;
+        return studentId;
+    }
+
+    @Benchmark
+    public List<TimeSlotSuggestionDTO> schedulingSuggestionsForWeek() {
+        return scheduleService.getSchedulingSuggestions(nextStudentId(), weekStart, weekStart.plusDays(7), 60);
+    }
+
+    @Benchmark
+    public boolean conflictCheck() {
+        LocalDateTime start = weekStart.plusDays(studentId % 6).withHour(8 + (int) (studentId % 12));
+        return conflictIndex.hasConflict(nextStudentId(), start, start.plusMinutes(45));
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<Schedule>> calendarWeek() {
+        return scheduleService.getCalendar(weekStart.toLocalDate(), 7, null);
+    }
+}
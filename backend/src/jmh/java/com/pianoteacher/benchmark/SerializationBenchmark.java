@@ -0,0 +1,65 @@
+package com.pianoteacher.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the list payloads returned by the student and schedule endpoints,
+ * using a mapper configured like the one Spring Boot builds for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<Schedule> schedules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        students = new ArrayList<>(size);
+        schedules = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Student student = new Student("Student " + i, 6 + i % 60, "Grade " + (1 + i % 8));
+            student.setId((long) i + 1);
+            student.setEmail("student" + i + "@example.com");
+            student.setPhone("555-" + (1000 + i));
+            students.add(student);
+
+            LocalDateTime start = BenchmarkApplication.FIRST_WEEK.plusDays(i % 6).withHour(8 + i % 12);
+            Schedule schedule = new Schedule(student, start, start.plusMinutes(45), "Studio A");
+            schedule.setId((long) i + 1);
+            schedules.add(schedule);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeStudents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] serializeSchedules() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(schedules);
+    }
+}
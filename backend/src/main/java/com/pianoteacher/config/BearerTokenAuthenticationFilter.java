@@ -0,0 +1,46 @@
+package com.pianoteacher.config;
+
+import com.pianoteacher.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} issued by
+ * {@code /api/auth/login}. Invalid or expired tokens leave the request unauthenticated,
+ * so protected endpoints answer 401 as they would for a bad password.
+ *
+ * Not a bean on purpose: Spring Boot would also register a filter bean with the servlet
+ * container, running it outside the security chain.
+ */
+class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = AuthTokenService.TOKEN_TYPE + " ";
+
+    private final AuthTokenService authTokenService;
+
+    BearerTokenAuthenticationFilter(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            authTokenService.verifyToken(header.substring(PREFIX.length()).trim()).ifPresent(authentication -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            });
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,88 @@
+package com.pianoteacher.config;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers successful HTTP Basic logins for a short time so repeated requests with
+ * the same credentials skip the BCrypt check. Entries are keyed by an HMAC of
+ * username and password under a per-process random key, so the cache never holds
+ * the password or a hash that could be attacked offline outside this process.
+ * Failed attempts are never cached and always go to the delegate.
+ */
+class CachingAuthenticationManager implements AuthenticationManager {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final SecretKeySpec cacheKey;
+    private final LongSupplier currentTimeMillis;
+    private final Map<String, CachedAuthentication> cache = new ConcurrentHashMap<>();
+
+    CachingAuthenticationManager(AuthenticationManager delegate, long ttlSeconds, int maxEntries) {
+        this(delegate, ttlSeconds, maxEntries, System::currentTimeMillis);
+    }
+
+    CachingAuthenticationManager(AuthenticationManager delegate, long ttlSeconds, int maxEntries, LongSupplier currentTimeMillis) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.currentTimeMillis = currentTimeMillis;
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.cacheKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+        long now = currentTimeMillis.getAsLong();
+        CachedAuthentication cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.authentication();
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new CachedAuthentication(result, now + ttlMillis));
+        return result;
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cacheKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(Authentication authentication, long expiresAt) {
+    }
+}
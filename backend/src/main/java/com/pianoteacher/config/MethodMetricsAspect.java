@@ -0,0 +1,80 @@
+package com.pianoteacher.config;
+
+import com.pianoteacher.repository.LessonContentRepository;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Times every public method of the {@code @Service} classes and every query of the
+ * main repositories, so slow endpoints can be traced to the call that is slow.
+ *
+ * Timers are named {@value #SERVICE_TIMER} and {@value #REPOSITORY_TIMER} and tagged
+ * with the class, the method, the outcome ({@code success} or {@code error}) and the
+ * exception type. Percentile histograms are switched on for both in
+ * application.properties. Calls a service makes to its own methods bypass the proxy
+ * and are not timed separately.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    static final String SERVICE_TIMER = "pianoteacher.service";
+    static final String REPOSITORY_TIMER = "pianoteacher.repository";
+
+    private static final List<Class<?>> TIMED_REPOSITORIES = List.of(
+            ScheduleRepository.class, StudentRepository.class, LessonContentRepository.class, ProgressReportRepository.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.pianoteacher.service..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(* com.pianoteacher.repository.ScheduleRepository+.*(..))" +
+            " || execution(* com.pianoteacher.repository.StudentRepository+.*(..))" +
+            " || execution(* com.pianoteacher.repository.LessonContentRepository+.*(..))" +
+            " || execution(* com.pianoteacher.repository.ProgressReportRepository+.*(..))")
+    public Object timeRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Inherited methods such as findAll are declared on JpaRepository, so name the repository from the proxy
+        String repository = TIMED_REPOSITORIES.stream()
+                .filter(type -> type.isInstance(joinPoint.getThis()))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName());
+        return time(REPOSITORY_TIMER, repository, joinPoint);
+    }
+
+    private Object time(String timerName, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.pianoteacher.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else,
+ * including work outside a transaction, to the primary.
+ *
+ * The transaction is only marked read-only after the transaction manager has opened
+ * it, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which
+ * asks for the real connection when the first statement runs.
+ *
+ * Reads made inside {@link #readFromPrimary(Supplier)} stay on the primary, for
+ * responses validated against state the primary holds, such as a collection ETag.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // Runs the reads with every connection taken from the primary, read-only transactions included
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (PRIMARY_READS.get() != null) {
+            return reads.get();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PRIMARY_READS.get() == null
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pianoteacher.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * The caches behind Hibernate's second-level cache, kept in process by Caffeine.
+ *
+ * {@link com.pianoteacher.model.Student}, {@link com.pianoteacher.model.Pricing} and
+ * {@link com.pianoteacher.model.Location} are cached by id, so the student lookups on
+ * the write paths and the lazy pricing and location loads are answered from memory
+ * after the first read. Every region is bounded, and
+ * entries expire after a TTL so another instance's writes become visible within it.
+ * Hibernate is handed this cache manager and fails on startup if an entity asks for
+ * a region not created here. Hits, misses, puts and evictions are published per
+ * region as {@code cache.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String STUDENT_REGION = "students";
+    public static final String PRICING_REGION = "pricing";
+    public static final String LOCATION_REGION = "locations";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.entity.max-size:10000}") long entityMaxSize,
+                                              @Value("${app.cache.entity.ttl:10m}") Duration entityTtl,
+                                              @Value("${app.cache.query.max-size:1000}") long queryMaxSize,
+                                              @Value("${app.cache.query.ttl:10m}") Duration queryTtl) {
+        // A manager of its own per application context, so contexts sharing a JVM (tests, benchmarks) never share entries
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:pianoteacher:hibernate:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(STUDENT_REGION, bounded(entityMaxSize, entityTtl));
+        cacheManager.createCache(PRICING_REGION, bounded(entityMaxSize, entityTtl));
+        cacheManager.createCache(LOCATION_REGION, bounded(entityMaxSize, entityTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(queryMaxSize, queryTtl));
+        // Query results are checked against these table timestamps, so they must never be evicted
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
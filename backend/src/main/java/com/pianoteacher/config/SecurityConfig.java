@@ -1,7 +1,12 @@
 package com.pianoteacher.config;
 
+import com.pianoteacher.service.AuthTokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -11,31 +16,49 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                           AuthTokenService authTokenService,
+                                           @Value("${app.auth.basic-cache-ttl-seconds:300}") long basicCacheTtlSeconds,
+                                           @Value("${app.auth.basic-cache-max-entries:1000}") int basicCacheMaxEntries) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/api/auth/login").permitAll()
                 .requestMatchers("/api/**").authenticated()
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/pages/**").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                 .anyRequest().authenticated()
             )
+            // Basic credentials are BCrypt-checked once, then served from a short-lived cache
+            .authenticationManager(new CachingAuthenticationManager(authenticationManager, basicCacheTtlSeconds, basicCacheMaxEntries))
             .httpBasic(httpBasic -> {})
+            // Bearer tokens from /api/auth/login are verified with an HMAC, no password hashing
+            .addFilterBefore(new BearerTokenAuthenticationFilter(authTokenService), BasicAuthenticationFilter.class)
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin())); // Allow H2 console
 
         return http.build();
     }
 
+    // Always checks the password with BCrypt; used directly by the login endpoint
+    @Bean
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+
     @Bean
     public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
         UserDetails admin = User.builder()
@@ -43,7 +66,7 @@ public class SecurityConfig {
                 .password(passwordEncoder.encode("admin123"))
                 .roles("ADMIN")
                 .build();
-        
+
         return new InMemoryUserDetailsManager(admin);
     }
 
@@ -0,0 +1,45 @@
+package com.pianoteacher.controller;
+
+import com.pianoteacher.dto.AuthTokenDTO;
+import com.pianoteacher.dto.LoginRequestDTO;
+import com.pianoteacher.service.AuthTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+@Tag(name = "Authentication", description = "Exchange credentials for a bearer token")
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final AuthTokenService authTokenService;
+
+    @Autowired
+    public AuthController(AuthenticationManager authenticationManager, AuthTokenService authTokenService) {
+        this.authenticationManager = authenticationManager;
+        this.authTokenService = authTokenService;
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Log in",
+            description = "Checks the password once and returns a signed token. Send it as 'Authorization: Bearer <token>' until it expires.")
+    public ResponseEntity<AuthTokenDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(loginRequest.getUsername(), loginRequest.getPassword()));
+            return ResponseEntity.ok(authTokenService.issueToken(authentication));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+}
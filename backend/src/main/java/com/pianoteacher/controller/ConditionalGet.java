@@ -0,0 +1,71 @@
+package com.pianoteacher.controller;
+
+import com.pianoteacher.config.ReadOnlyRoutingDataSource;
+import com.pianoteacher.model.BaseEntity;
+import com.pianoteacher.service.TableChangeTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for the REST controllers. A request whose {@code If-None-Match}
+ * still matches gets {@code 304 Not Modified} before its body is loaded or serialized.
+ *
+ * A single entity gets a strong ETag from its id and version plus those of the
+ * entities embedded in its JSON (a schedule shows its student and the student's
+ * pricing), and {@code Last-Modified} from the newest {@code updatedAt} among them.
+ * Collections and statistics get a weak ETag from the {@link TableChangeTracker}
+ * counters of the tables they read. The counters follow the primary, so their body is
+ * read there too; from a lagging replica it could be older than the ETag it is cached under.
+ *
+ * Responses are marked {@code Cache-Control: private, no-cache}, replacing Spring
+ * Security's default {@code no-store}, so browsers keep the body and revalidate it.
+ */
+@Component
+public class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final TableChangeTracker changeTracker;
+
+    @Autowired
+    public ConditionalGet(TableChangeTracker changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    public <T> ResponseEntity<T> collection(WebRequest request, Supplier<T> body, Class<?>... tables) {
+        if (request.checkNotModified(changeTracker.etag(tables))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ReadOnlyRoutingDataSource.readFromPrimary(body));
+    }
+
+    public <T extends BaseEntity> ResponseEntity<T> entity(WebRequest request, T entity, BaseEntity... embedded) {
+        StringBuilder etag = new StringBuilder("\"").append(entity.getId()).append('.').append(entity.getVersion());
+        LocalDateTime lastModified = entity.getUpdatedAt();
+        for (BaseEntity part : embedded) {
+            if (part == null) {
+                etag.append("-none");
+                continue;
+            }
+            etag.append('-').append(part.getId()).append('.').append(part.getVersion());
+            if (lastModified == null || (part.getUpdatedAt() != null && part.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = part.getUpdatedAt();
+            }
+        }
+        long lastModifiedMillis = lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (request.checkNotModified(etag.append('"').toString(), lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(entity);
+    }
+}
@@ -0,0 +1,108 @@
+package com.pianoteacher.controller;
+
+import com.pianoteacher.dto.BulkImportResultDTO;
+import com.pianoteacher.dto.LessonContentDTO;
+import com.pianoteacher.dto.ScheduleDTO;
+import com.pianoteacher.dto.StudentDTO;
+import com.pianoteacher.service.BulkImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import endpoints for term-start onboarding. Each resource accepts either a JSON
+ * array of the regular create DTOs or a CSV file with a header row using the same field
+ * names. Imports are all-or-nothing; a 400 response names the first invalid row.
+ */
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*")
+@Tag(name = "Bulk Import", description = "Batch creation of students, schedules and lesson content from JSON or CSV")
+public class ImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final BulkImportService bulkImportService;
+
+    @Autowired
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    // Student import endpoints
+    @PostMapping(value = "/students", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import students from JSON", description = "Creates students (with optional pricing) in JDBC batches.")
+    public ResponseEntity<BulkImportResultDTO> importStudents(
+            @RequestBody List<StudentDTO> students,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importStudents(students, batchSize));
+    }
+
+    @PostMapping(value = "/students", consumes = TEXT_CSV)
+    @Operation(summary = "Import students from CSV",
+            description = "Columns: name, age, grade, email, phone, notes, hourlyRate, lessonDuration, paymentTerms.")
+    public ResponseEntity<BulkImportResultDTO> importStudentsCsv(
+            @RequestBody String csv,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importStudentsCsv(csv, batchSize));
+    }
+
+    // Schedule import endpoints
+    @PostMapping(value = "/schedules", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import schedules from JSON", description = "Rejects the import if any schedule overlaps an existing one or another row.")
+    public ResponseEntity<BulkImportResultDTO> importSchedules(
+            @RequestBody List<ScheduleDTO> schedules,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importSchedules(schedules, batchSize));
+    }
+
+    @PostMapping(value = "/schedules", consumes = TEXT_CSV)
+    @Operation(summary = "Import schedules from CSV",
+            description = "Columns: studentId, startTime, endTime, location, notes. Times use yyyy-MM-ddTHH:mm:ss.")
+    public ResponseEntity<BulkImportResultDTO> importSchedulesCsv(
+            @RequestBody String csv,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importSchedulesCsv(csv, batchSize));
+    }
+
+    // Lesson content import endpoints
+    @PostMapping(value = "/lesson-content", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import lesson content from JSON")
+    public ResponseEntity<BulkImportResultDTO> importLessonContent(
+            @RequestBody List<LessonContentDTO> lessonContent,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importLessonContent(lessonContent, batchSize));
+    }
+
+    @PostMapping(value = "/lesson-content", consumes = TEXT_CSV)
+    @Operation(summary = "Import lesson content from CSV",
+            description = "Columns: studentId, title, description, contentType, difficultyLevel, estimatedDuration, notes, completed, completionDate.")
+    public ResponseEntity<BulkImportResultDTO> importLessonContentCsv(
+            @RequestBody String csv,
+            @RequestParam(required = false) Integer batchSize) {
+        return created(bulkImportService.importLessonContentCsv(csv, batchSize));
+    }
+
+    private ResponseEntity<BulkImportResultDTO> created(BulkImportResultDTO result) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    // Error handling
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException e) {
+        Map<String, String> error = Map.of(
+                "error", "Import Error",
+                "message", e.getMessage(),
+                "timestamp", LocalDateTime.now().toString()
+        );
+        return ResponseEntity.badRequest().body(error);
+    }
+}
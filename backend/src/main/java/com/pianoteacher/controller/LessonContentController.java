@@ -1,17 +1,26 @@
 package com.pianoteacher.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pianoteacher.dto.CursorPageDTO;
 import com.pianoteacher.dto.LessonContentDTO;
+import com.pianoteacher.dto.LessonContentSummaryDTO;
+import com.pianoteacher.dto.LessonStatsDTO;
 import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.Pricing;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.service.LessonContentService;
 import com.pianoteacher.service.StudentService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -22,13 +31,20 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class LessonContentController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final LessonContentService lessonContentService;
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
 
     @Autowired
-    public LessonContentController(LessonContentService lessonContentService, StudentService studentService) {
+    public LessonContentController(LessonContentService lessonContentService, StudentService studentService, ObjectMapper objectMapper,
+                                   ConditionalGet conditionalGet) {
         this.lessonContentService = lessonContentService;
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.conditionalGet = conditionalGet;
     }
 
     // LessonContent CRUD endpoints
@@ -54,19 +70,52 @@ public class LessonContentController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LessonContent> getLessonContentById(@PathVariable Long id) {
+    public ResponseEntity<LessonContent> getLessonContentById(@PathVariable Long id, WebRequest request) {
         try {
             LessonContent lessonContent = lessonContentService.getLessonContentById(id);
-            return ResponseEntity.ok(lessonContent);
+            return conditionalGet.entity(request, lessonContent, lessonContent.getStudent(), lessonContent.getStudent().getPricing());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<LessonContent>> getAllLessonContent() {
-        List<LessonContent> lessonContent = lessonContentService.getAllLessonContent();
-        return ResponseEntity.ok(lessonContent);
+    public ResponseEntity<List<LessonContent>> getAllLessonContent(WebRequest request) {
+        return conditionalGet.collection(request, lessonContentService::getAllLessonContent,
+                LessonContent.class, Student.class, Pricing.class);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<LessonContentSummaryDTO>> getLessonContentSummaries(WebRequest request) {
+        return conditionalGet.collection(request, lessonContentService::getLessonContentSummaries,
+                LessonContent.class, Student.class);
+    }
+
+    @GetMapping("/student/{studentId}/summary")
+    public ResponseEntity<List<LessonContentSummaryDTO>> getLessonContentSummariesByStudent(@PathVariable Long studentId,
+                                                                                            WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.getLessonContentSummariesByStudent(studentId),
+                LessonContent.class, Student.class);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<LessonContent>> getLessonContentPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(lessonContentService.getLessonContentPage(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamLessonContent(HttpServletResponse response) throws IOException {
+        NdjsonWriter.write(response, objectMapper.writer(), lessonContentService::streamAllLessonContent);
+    }
+
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPageDTO<LessonContent>> getLessonContentPageByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(lessonContentService.getLessonContentPageByStudent(studentId, afterId, size));
     }
 
     @PutMapping("/{id}")
@@ -202,17 +251,35 @@ public class LessonContentController {
     }
 
     // Search endpoints
+    // Results are ranked by relevance; X-Total-Count carries the number of matches
     @GetMapping("/search")
-    public ResponseEntity<List<LessonContent>> searchLessonContent(@RequestParam String searchTerm) {
-        List<LessonContent> lessonContent = lessonContentService.searchLessonContent(searchTerm);
-        return ResponseEntity.ok(lessonContent);
+    public ResponseEntity<List<LessonContent>> searchLessonContent(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return searchResponse(lessonContentService.searchLessonContent(searchTerm, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/student/{studentId}/search")
     public ResponseEntity<List<LessonContent>> searchLessonContentByStudent(
-            @PathVariable Long studentId, @RequestParam String searchTerm) {
-        List<LessonContent> lessonContent = lessonContentService.searchLessonContentByStudent(studentId, searchTerm);
-        return ResponseEntity.ok(lessonContent);
+            @PathVariable Long studentId, @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return searchResponse(lessonContentService.searchLessonContentByStudent(studentId, searchTerm, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<List<LessonContent>> searchResponse(Page<LessonContent> results) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(results.getTotalElements()))
+                .body(results.getContent());
     }
 
     // Progress tracking endpoints
@@ -257,75 +324,63 @@ public class LessonContentController {
 
     // Statistics endpoints
     @GetMapping("/stats/overview")
-    public ResponseEntity<Object[]> getOverallCompletionStats() {
-        Object[] stats = lessonContentService.getOverallCompletionStats();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<LessonStatsDTO> getOverallCompletionStats(WebRequest request) {
+        return conditionalGet.collection(request, lessonContentService::getOverallCompletionStats, LessonContent.class);
     }
 
     @GetMapping("/stats/student/{studentId}")
-    public ResponseEntity<Object[]> getStudentCompletionStats(@PathVariable Long studentId) {
-        Object[] stats = lessonContentService.getStudentCompletionStats(studentId);
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<LessonStatsDTO> getStudentCompletionStats(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.getStudentCompletionStats(studentId), LessonContent.class);
     }
 
     @GetMapping("/stats/completion-rate")
-    public ResponseEntity<Double> getCompletionRate() {
-        double rate = lessonContentService.getCompletionRate();
-        return ResponseEntity.ok(rate);
+    public ResponseEntity<Double> getCompletionRate(WebRequest request) {
+        return conditionalGet.collection(request, lessonContentService::getCompletionRate, LessonContent.class);
     }
 
     @GetMapping("/stats/student/{studentId}/completion-rate")
-    public ResponseEntity<Double> getStudentCompletionRate(@PathVariable Long studentId) {
-        double rate = lessonContentService.getStudentCompletionRate(studentId);
-        return ResponseEntity.ok(rate);
+    public ResponseEntity<Double> getStudentCompletionRate(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.getStudentCompletionRate(studentId), LessonContent.class);
     }
 
     @GetMapping("/stats/content-type-counts")
-    public ResponseEntity<List<Map<String, Object>>> getContentTypeCounts() {
-        List<Object[]> results = lessonContentService.countByContentType();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getContentTypeCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.countByContentType().stream()
                 .map(result -> Map.of(
                         "contentType", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), LessonContent.class);
     }
 
     @GetMapping("/stats/difficulty-counts")
-    public ResponseEntity<List<Map<String, Object>>> getDifficultyLevelCounts() {
-        List<Object[]> results = lessonContentService.countByDifficultyLevel();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getDifficultyLevelCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.countByDifficultyLevel().stream()
                 .map(result -> Map.of(
                         "difficultyLevel", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), LessonContent.class);
     }
 
     @GetMapping("/stats/student-counts")
-    public ResponseEntity<List<Map<String, Object>>> getStudentCounts() {
-        List<Object[]> results = lessonContentService.countByStudent();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getStudentCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.countByStudent().stream()
                 .map(result -> Map.of(
                         "studentId", result[0],
                         "contentCount", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), LessonContent.class);
     }
 
     @GetMapping("/stats/completion-status-counts")
-    public ResponseEntity<List<Map<String, Object>>> getCompletionStatusCounts() {
-        List<Object[]> results = lessonContentService.countByCompletionStatus();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getCompletionStatusCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.countByCompletionStatus().stream()
                 .map(result -> Map.of(
                         "completed", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), LessonContent.class);
     }
 
     // Utility endpoints
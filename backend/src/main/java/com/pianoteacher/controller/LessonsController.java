@@ -1,16 +1,21 @@
 package com.pianoteacher.controller;
 
+import com.pianoteacher.dto.CursorPageDTO;
 import com.pianoteacher.dto.LessonContentDTO;
+import com.pianoteacher.dto.LessonStatsDTO;
 import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.Pricing;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.service.LessonContentService;
 import com.pianoteacher.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,22 +31,27 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class LessonsController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final LessonContentService lessonContentService;
     private final StudentService studentService;
+    private final ConditionalGet conditionalGet;
 
     @Autowired
-    public LessonsController(LessonContentService lessonContentService, StudentService studentService) {
+    public LessonsController(LessonContentService lessonContentService, StudentService studentService,
+                             ConditionalGet conditionalGet) {
         this.lessonContentService = lessonContentService;
         this.studentService = studentService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
      * Get all lessons
      */
     @GetMapping
-    public ResponseEntity<List<LessonContent>> getAllLessons() {
-        List<LessonContent> lessons = lessonContentService.getAllLessonContent();
-        return ResponseEntity.ok(lessons);
+    public ResponseEntity<List<LessonContent>> getAllLessons(WebRequest request) {
+        return conditionalGet.collection(request, lessonContentService::getAllLessonContent,
+                LessonContent.class, Student.class, Pricing.class);
     }
 
     /**
@@ -58,19 +68,19 @@ public class LessonsController {
      * Get lessons by student ID
      */
     @GetMapping(params = "studentId")
-    public ResponseEntity<List<LessonContent>> getLessonsByStudent(@RequestParam Long studentId) {
-        List<LessonContent> lessons = lessonContentService.getLessonContentByStudent(studentId);
-        return ResponseEntity.ok(lessons);
+    public ResponseEntity<List<LessonContent>> getLessonsByStudent(@RequestParam Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> lessonContentService.getLessonContentByStudent(studentId),
+                LessonContent.class, Student.class, Pricing.class);
     }
 
     /**
      * Get lesson by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<LessonContent> getLessonById(@PathVariable Long id) {
+    public ResponseEntity<LessonContent> getLessonById(@PathVariable Long id, WebRequest request) {
         try {
             LessonContent lesson = lessonContentService.getLessonContentById(id);
-            return ResponseEntity.ok(lesson);
+            return conditionalGet.entity(request, lesson, lesson.getStudent(), lesson.getStudent().getPricing());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -145,20 +155,9 @@ public class LessonsController {
      * Get lesson statistics
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getLessonStats() {
-        long totalCount = lessonContentService.getTotalLessonContentCount();
-        long completedCount = lessonContentService.getCompletedLessonContentCount();
-        long incompleteCount = lessonContentService.getIncompleteLessonContentCount();
-        double completionRate = lessonContentService.getCompletionRate();
-        
-        Map<String, Object> stats = Map.of(
-            "totalLessons", totalCount,
-            "completedLessons", completedCount,
-            "incompleteLessons", incompleteCount,
-            "completionRate", completionRate
-        );
-        
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<LessonStatsDTO> getLessonStats(WebRequest request) {
+        // All counters come from one aggregate query; field names match the previous map keys
+        return conditionalGet.collection(request, lessonContentService::getOverallCompletionStats, LessonContent.class);
     }
 
     /**
@@ -224,12 +223,22 @@ public class LessonsController {
     }
 
     /**
-     * Search lessons
+     * Search lessons, best matches first. The total number of matches is returned
+     * in the X-Total-Count header.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<LessonContent>> searchLessons(@RequestParam String term) {
-        List<LessonContent> lessons = lessonContentService.searchLessonContent(term);
-        return ResponseEntity.ok(lessons);
+    public ResponseEntity<List<LessonContent>> searchLessons(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            Page<LessonContent> lessons = lessonContentService.searchLessonContent(term, page, size);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(lessons.getTotalElements()))
+                    .body(lessons.getContent());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
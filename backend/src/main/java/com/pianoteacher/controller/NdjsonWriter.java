@@ -0,0 +1,40 @@
+package com.pianoteacher.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a stream of entities as newline-delimited JSON (one object per line)
+ * directly to the servlet response, so no list of results is ever built in memory.
+ */
+final class NdjsonWriter {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private NdjsonWriter() {
+    }
+
+    static <T> void write(HttpServletResponse response, ObjectWriter objectWriter, Consumer<Consumer<T>> source) throws IOException {
+        response.setContentType(MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        try {
+            source.accept(item -> {
+                try {
+                    out.write(objectWriter.writeValueAsBytes(item));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+}
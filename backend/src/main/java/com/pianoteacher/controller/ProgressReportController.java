@@ -1,9 +1,15 @@
 package com.pianoteacher.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pianoteacher.dto.CursorPageDTO;
 import com.pianoteacher.dto.ProgressReportDTO;
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
 import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressRollup.Granularity;
+import com.pianoteacher.model.ReportGenerationRun;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.service.ProgressReportService;
+import com.pianoteacher.service.ReportGenerationService;
 import com.pianoteacher.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,13 +18,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -32,11 +41,18 @@ public class ProgressReportController {
 
     private final ProgressReportService progressReportService;
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
+    private final ReportGenerationService reportGenerationService;
 
     @Autowired
-    public ProgressReportController(ProgressReportService progressReportService, StudentService studentService) {
+    public ProgressReportController(ProgressReportService progressReportService, StudentService studentService, ObjectMapper objectMapper,
+                                    ConditionalGet conditionalGet, ReportGenerationService reportGenerationService) {
         this.progressReportService = progressReportService;
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.conditionalGet = conditionalGet;
+        this.reportGenerationService = reportGenerationService;
     }
 
     // ProgressReport CRUD endpoints
@@ -69,19 +85,39 @@ public class ProgressReportController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProgressReport> getProgressReportById(@PathVariable Long id) {
+    public ResponseEntity<ProgressReport> getProgressReportById(@PathVariable Long id, WebRequest request) {
         try {
             ProgressReport progressReport = progressReportService.getProgressReportById(id);
-            return ResponseEntity.ok(progressReport);
+            return conditionalGet.entity(request, progressReport, progressReport.getStudent(), progressReport.getStudent().getPricing());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<ProgressReport>> getAllProgressReports() {
-        List<ProgressReport> progressReports = progressReportService.getAllProgressReports();
-        return ResponseEntity.ok(progressReports);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getAllProgressReports(WebRequest request) {
+        return conditionalGet.collection(request, progressReportService::getAllProgressReports,
+                ProgressReport.class, Student.class);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ProgressReport>> getProgressReportsPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(progressReportService.getProgressReportsPage(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamProgressReports(HttpServletResponse response) throws IOException {
+        NdjsonWriter.write(response, objectMapper.writer(), progressReportService::streamAllProgressReports);
+    }
+
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPageDTO<ProgressReport>> getProgressReportsPageByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(progressReportService.getProgressReportsPageByStudent(studentId, afterId, size));
     }
 
     @PutMapping("/{id}")
@@ -124,232 +160,253 @@ public class ProgressReportController {
 
     // ProgressReport query endpoints
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudent(@PathVariable Long studentId) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudent(studentId);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudent(@PathVariable Long studentId) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudent(studentId);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/report-type/{reportType}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByReportType(@PathVariable String reportType) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByReportType(reportType);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByReportType(@PathVariable String reportType) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByReportType(reportType);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/report-period/{reportPeriod}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByReportPeriod(@PathVariable String reportPeriod) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByReportPeriod(reportPeriod);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByReportPeriod(@PathVariable String reportPeriod) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByReportPeriod(reportPeriod);
         return ResponseEntity.ok(progressReports);
     }
 
+    @GetMapping("/report-type/{reportType}/page")
+    public ResponseEntity<CursorPageDTO<ProgressReportSummaryDTO>> getProgressReportsByReportTypePage(
+            @PathVariable String reportType,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(progressReportService.getProgressReportsByReportTypePage(reportType, afterId, size));
+    }
+
+    @GetMapping("/report-period/{reportPeriod}/page")
+    public ResponseEntity<CursorPageDTO<ProgressReportSummaryDTO>> getProgressReportsByReportPeriodPage(
+            @PathVariable String reportPeriod,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(progressReportService.getProgressReportsByReportPeriodPage(reportPeriod, afterId, size));
+    }
+
     // Combined query endpoints
     @GetMapping("/student/{studentId}/report-type/{reportType}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudentAndType(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudentAndType(
             @PathVariable Long studentId, @PathVariable String reportType) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudentAndType(studentId, reportType);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudentAndType(studentId, reportType);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/student/{studentId}/report-period/{reportPeriod}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudentAndPeriod(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudentAndPeriod(
             @PathVariable Long studentId, @PathVariable String reportPeriod) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudentAndPeriod(studentId, reportPeriod);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudentAndPeriod(studentId, reportPeriod);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/student/{studentId}/report-type/{reportType}/report-period/{reportPeriod}")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudentTypeAndPeriod(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudentTypeAndPeriod(
             @PathVariable Long studentId, @PathVariable String reportType, @PathVariable String reportPeriod) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudentTypeAndPeriod(studentId, reportType, reportPeriod);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudentTypeAndPeriod(studentId, reportType, reportPeriod);
         return ResponseEntity.ok(progressReports);
     }
 
     // Advanced query endpoints
     @GetMapping("/date-range")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByDateRange(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByDateRange(startDate, endDate);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByDateRange(startDate, endDate);
         return ResponseEntity.ok(progressReports);
     }
 
+    @GetMapping("/date-range/page")
+    public ResponseEntity<CursorPageDTO<ProgressReportSummaryDTO>> getProgressReportsByDateRangePage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(progressReportService.getProgressReportsByDateRangePage(startDate, endDate, afterId, size));
+    }
+
     @GetMapping("/student/{studentId}/date-range")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudentAndDateRange(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudentAndDateRange(
             @PathVariable Long studentId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudentAndDateRange(studentId, startDate, endDate);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudentAndDateRange(studentId, startDate, endDate);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/progress-range")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByProgressRange(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByProgressRange(
             @RequestParam Double minProgress, @RequestParam Double maxProgress) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByProgressRange(minProgress, maxProgress);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByProgressRange(minProgress, maxProgress);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/student/{studentId}/progress-range")
-    public ResponseEntity<List<ProgressReport>> getProgressReportsByStudentAndProgressRange(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getProgressReportsByStudentAndProgressRange(
             @PathVariable Long studentId, @RequestParam Double minProgress, @RequestParam Double maxProgress) {
-        List<ProgressReport> progressReports = progressReportService.getProgressReportsByStudentAndProgressRange(studentId, minProgress, maxProgress);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getProgressReportsByStudentAndProgressRange(studentId, minProgress, maxProgress);
         return ResponseEntity.ok(progressReports);
     }
 
     // Latest report endpoints
     @GetMapping("/latest/all-students")
-    public ResponseEntity<List<ProgressReport>> getLatestReportsForAllStudents() {
-        List<ProgressReport> progressReports = progressReportService.getLatestReportsForAllStudents();
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getLatestReportsForAllStudents() {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getLatestReportsForAllStudents();
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/latest/student/{studentId}")
-    public ResponseEntity<List<ProgressReport>> getLatestReportsByStudent(@PathVariable Long studentId) {
-        List<ProgressReport> progressReports = progressReportService.getLatestReportsByStudent(studentId);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getLatestReportsByStudent(@PathVariable Long studentId) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getLatestReportsByStudent(studentId);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/latest/student/{studentId}/report-type/{reportType}")
-    public ResponseEntity<List<ProgressReport>> getLatestReportsByStudentAndType(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getLatestReportsByStudentAndType(
             @PathVariable Long studentId, @PathVariable String reportType) {
-        List<ProgressReport> progressReports = progressReportService.getLatestReportsByStudentAndType(studentId, reportType);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getLatestReportsByStudentAndType(studentId, reportType);
         return ResponseEntity.ok(progressReports);
     }
 
     // Performance analysis endpoints
     @GetMapping("/high-performing")
-    public ResponseEntity<List<ProgressReport>> getHighPerformingReports(@RequestParam Double threshold) {
-        List<ProgressReport> progressReports = progressReportService.getHighPerformingReports(threshold);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getHighPerformingReports(@RequestParam Double threshold) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getHighPerformingReports(threshold);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/low-performing")
-    public ResponseEntity<List<ProgressReport>> getLowPerformingReports(@RequestParam Double threshold) {
-        List<ProgressReport> progressReports = progressReportService.getLowPerformingReports(threshold);
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getLowPerformingReports(@RequestParam Double threshold) {
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getLowPerformingReports(threshold);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/student/{studentId}/high-performing")
-    public ResponseEntity<List<ProgressReport>> getHighPerformingReportsByStudent(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getHighPerformingReportsByStudent(
             @PathVariable Long studentId, @RequestParam Double threshold) {
-        List<ProgressReport> progressReports = progressReportService.getHighPerformingReportsByStudent(studentId, threshold);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getHighPerformingReportsByStudent(studentId, threshold);
         return ResponseEntity.ok(progressReports);
     }
 
     @GetMapping("/student/{studentId}/low-performing")
-    public ResponseEntity<List<ProgressReport>> getLowPerformingReportsByStudent(
+    public ResponseEntity<List<ProgressReportSummaryDTO>> getLowPerformingReportsByStudent(
             @PathVariable Long studentId, @RequestParam Double threshold) {
-        List<ProgressReport> progressReports = progressReportService.getLowPerformingReportsByStudent(studentId, threshold);
+        List<ProgressReportSummaryDTO> progressReports = progressReportService.getLowPerformingReportsByStudent(studentId, threshold);
         return ResponseEntity.ok(progressReports);
     }
 
     // Statistics endpoints
     @GetMapping("/stats/student-counts")
-    public ResponseEntity<List<Map<String, Object>>> getStudentCounts() {
-        List<Object[]> results = progressReportService.countReportsByStudent();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getStudentCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.countReportsByStudent().stream()
                 .map(result -> Map.of(
                         "studentId", result[0],
                         "reportCount", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), ProgressReport.class);
     }
 
     @GetMapping("/stats/report-type-counts")
-    public ResponseEntity<List<Map<String, Object>>> getReportTypeCounts() {
-        List<Object[]> results = progressReportService.countReportsByType();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getReportTypeCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.countReportsByType().stream()
                 .map(result -> Map.of(
                         "reportType", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), ProgressReport.class);
     }
 
     @GetMapping("/stats/period-counts")
-    public ResponseEntity<List<Map<String, Object>>> getPeriodCounts() {
-        List<Object[]> results = progressReportService.countReportsByPeriod();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getPeriodCounts(WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.countReportsByPeriod().stream()
                 .map(result -> Map.of(
                         "reportPeriod", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), ProgressReport.class);
     }
 
     @GetMapping("/stats/average-progress-by-student")
-    public ResponseEntity<List<Map<String, Object>>> getAverageProgressByStudent() {
-        List<Object[]> results = progressReportService.getAverageProgressByStudent();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getAverageProgressByStudent(WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.getAverageProgressByStudent().stream()
                 .map(result -> Map.of(
                         "studentId", result[0],
                         "averageProgress", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), ProgressReport.class);
     }
 
     @GetMapping("/stats/average-progress-by-type")
-    public ResponseEntity<List<Map<String, Object>>> getAverageProgressByReportType() {
-        List<Object[]> results = progressReportService.getAverageProgressByReportType();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getAverageProgressByReportType(WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.getAverageProgressByReportType().stream()
                 .map(result -> Map.of(
                         "reportType", result[0],
                         "averageProgress", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), ProgressReport.class);
     }
 
     @GetMapping("/stats/overall-performance")
-    public ResponseEntity<Object[]> getOverallPerformanceStatistics() {
-        Object[] stats = progressReportService.getOverallPerformanceStatistics();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Object[]> getOverallPerformanceStatistics(WebRequest request) {
+        return conditionalGet.collection(request, progressReportService::getOverallPerformanceStatistics, ProgressReport.class);
     }
 
     @GetMapping("/stats/student/{studentId}/performance")
-    public ResponseEntity<Object[]> getPerformanceStatisticsForStudent(@PathVariable Long studentId) {
-        Object[] stats = progressReportService.getPerformanceStatisticsForStudent(studentId);
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Object[]> getPerformanceStatisticsForStudent(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.getPerformanceStatisticsForStudent(studentId), ProgressReport.class);
     }
 
     @GetMapping("/stats/skill-averages")
-    public ResponseEntity<Object[]> getOverallSkillAverages() {
-        Object[] stats = progressReportService.getOverallSkillAverages();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Object[]> getOverallSkillAverages(WebRequest request) {
+        return conditionalGet.collection(request, progressReportService::getOverallSkillAverages, ProgressReport.class);
     }
 
     @GetMapping("/stats/student/{studentId}/skill-averages")
-    public ResponseEntity<Object[]> getSkillAveragesForStudent(@PathVariable Long studentId) {
-        Object[] stats = progressReportService.getSkillAveragesForStudent(studentId);
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Object[]> getSkillAveragesForStudent(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> progressReportService.getSkillAveragesForStudent(studentId), ProgressReport.class);
     }
 
-    // Progress trend endpoints
+    // Progress trend endpoints: one point per day, week or month, read from the progress rollups
     @GetMapping("/trends/student/{studentId}")
-    public ResponseEntity<List<Map<String, Object>>> getProgressTrendForStudent(@PathVariable Long studentId) {
-        List<Object[]> results = progressReportService.getProgressTrendForStudent(studentId);
-        List<Map<String, Object>> trends = results.stream()
-                .map(result -> Map.of(
-                        "reportDate", result[0],
-                        "overallProgress", result[1]
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(trends);
+    public ResponseEntity<List<Map<String, Object>>> getProgressTrendForStudent(
+            @PathVariable Long studentId, @RequestParam(defaultValue = "DAY") String granularity, WebRequest request) {
+        try {
+            Granularity trendGranularity = Granularity.forTrend(granularity);
+            return conditionalGet.collection(request, () -> progressReportService.getProgressTrendForStudent(studentId, trendGranularity).stream()
+                    .map(result -> Map.of(
+                            "reportDate", result[0],
+                            "overallProgress", result[1],
+                            "reportCount", result[2]
+                    ))
+                    .collect(Collectors.toList()), ProgressReport.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/trends/overall")
-    public ResponseEntity<List<Map<String, Object>>> getOverallProgressTrend() {
-        List<Object[]> results = progressReportService.getOverallProgressTrend();
-        List<Map<String, Object>> trends = results.stream()
-                .map(result -> Map.of(
-                        "reportDate", result[0],
-                        "averageProgress", result[1]
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(trends);
+    public ResponseEntity<List<Map<String, Object>>> getOverallProgressTrend(
+            @RequestParam(defaultValue = "DAY") String granularity, WebRequest request) {
+        try {
+            Granularity trendGranularity = Granularity.forTrend(granularity);
+            return conditionalGet.collection(request, () -> progressReportService.getOverallProgressTrend(trendGranularity).stream()
+                    .map(result -> Map.of(
+                            "reportDate", result[0],
+                            "averageProgress", result[1],
+                            "reportCount", result[2]
+                    ))
+                    .collect(Collectors.toList()), ProgressReport.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Report generation endpoints
@@ -364,6 +421,34 @@ public class ProgressReportController {
         }
     }
 
+    @PostMapping("/generate/monthly/all")
+    @Operation(summary = "Generate monthly reports for every student",
+               description = "Starts a background run that scores the period for the whole roster; poll the returned run for progress")
+    public ResponseEntity<ReportGenerationRun> generateMonthlyReportsForAllStudents(@RequestParam String period) {
+        try {
+            ReportGenerationRun run = reportGenerationService.startMonthlyRun(period);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/generation-runs/{id}")
+    public ResponseEntity<ReportGenerationRun> getGenerationRun(@PathVariable Long id) {
+        return reportGenerationService.getRun(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/generation-runs")
+    public ResponseEntity<List<ReportGenerationRun>> getGenerationRunsForPeriod(@RequestParam String period) {
+        try {
+            return ResponseEntity.ok(reportGenerationService.getRunsForPeriod(period));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/generate/assessment")
     public ResponseEntity<ProgressReport> generateAssessmentReport(
             @RequestParam Long studentId, @RequestParam String period) {
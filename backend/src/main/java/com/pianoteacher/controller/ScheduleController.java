@@ -1,8 +1,14 @@
 package com.pianoteacher.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pianoteacher.dto.CursorPageDTO;
 import com.pianoteacher.dto.ScheduleDTO;
+import com.pianoteacher.dto.ScheduleSummaryDTO;
 import com.pianoteacher.dto.TimeSlotSuggestionDTO;
+import com.pianoteacher.dto.UtilizationDTO;
+import com.pianoteacher.model.Pricing;
 import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.ScheduleSeries;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.service.ScheduleService;
 import com.pianoteacher.service.StudentService;
@@ -13,14 +19,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,11 +45,16 @@ public class ScheduleController {
 
     private final ScheduleService scheduleService;
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
 
     @Autowired
-    public ScheduleController(ScheduleService scheduleService, StudentService studentService) {
+    public ScheduleController(ScheduleService scheduleService, StudentService studentService, ObjectMapper objectMapper,
+                              ConditionalGet conditionalGet) {
         this.scheduleService = scheduleService;
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.conditionalGet = conditionalGet;
     }
 
     // Schedule CRUD endpoints
@@ -61,19 +78,49 @@ public class ScheduleController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Schedule> getScheduleById(@PathVariable Long id) {
+    public ResponseEntity<Schedule> getScheduleById(@PathVariable Long id, WebRequest request) {
         try {
             Schedule schedule = scheduleService.getScheduleById(id);
-            return ResponseEntity.ok(schedule);
+            return conditionalGet.entity(request, schedule, schedule.getStudent(), schedule.getStudent().getPricing());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Schedule>> getAllSchedules() {
-        List<Schedule> schedules = scheduleService.getAllSchedules();
-        return ResponseEntity.ok(schedules);
+    public ResponseEntity<List<Schedule>> getAllSchedules(WebRequest request) {
+        return conditionalGet.collection(request, scheduleService::getAllSchedules, Schedule.class, Student.class, Pricing.class);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<ScheduleSummaryDTO>> getScheduleSummaries(WebRequest request) {
+        return conditionalGet.collection(request, scheduleService::getScheduleSummaries, Schedule.class, Student.class);
+    }
+
+    @GetMapping("/student/{studentId}/summary")
+    public ResponseEntity<List<ScheduleSummaryDTO>> getScheduleSummariesByStudent(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> scheduleService.getScheduleSummariesByStudent(studentId),
+                Schedule.class, Student.class);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<Schedule>> getSchedulesPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPage(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamSchedules(HttpServletResponse response) throws IOException {
+        NdjsonWriter.write(response, objectMapper.writer(), scheduleService::streamAllSchedules);
+    }
+
+    @GetMapping("/student/{studentId}/page")
+    public ResponseEntity<CursorPageDTO<Schedule>> getSchedulesPageByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPageByStudent(studentId, afterId, size));
     }
 
     @PutMapping("/{id}")
@@ -111,6 +158,15 @@ public class ScheduleController {
         return ResponseEntity.ok(schedules);
     }
 
+    @GetMapping("/date-range/page")
+    public ResponseEntity<CursorPageDTO<Schedule>> getSchedulesByDateRangePage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(scheduleService.getSchedulesByDateRangePage(startDate, endDate, afterId, size));
+    }
+
     @GetMapping("/student/{studentId}/date-range")
     public ResponseEntity<List<Schedule>> getSchedulesByStudentAndDateRange(
             @PathVariable Long studentId,
@@ -120,6 +176,16 @@ public class ScheduleController {
         return ResponseEntity.ok(schedules);
     }
 
+    @GetMapping("/student/{studentId}/date-range/page")
+    public ResponseEntity<CursorPageDTO<Schedule>> getSchedulesByStudentAndDateRangePage(
+            @PathVariable Long studentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(scheduleService.getSchedulesByStudentAndDateRangePage(studentId, startDate, endDate, afterId, size));
+    }
+
     @GetMapping("/location")
     public ResponseEntity<List<Schedule>> getSchedulesByLocation(@RequestParam String location) {
         List<Schedule> schedules = scheduleService.getSchedulesByLocation(location);
@@ -133,6 +199,29 @@ public class ScheduleController {
         return ResponseEntity.ok(schedules);
     }
 
+    // Day view used by the dashboard: GET /api/schedules?date=yyyy-MM-dd
+    @GetMapping(params = "date")
+    public ResponseEntity<List<Schedule>> getSchedulesForDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        // Unmaterialized series occurrences are part of the day, so series changes count too
+        return conditionalGet.collection(request, () -> scheduleService.getSchedulesForDay(date),
+                Schedule.class, ScheduleSeries.class, Student.class, Pricing.class);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<LocalDate, List<Schedule>>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) Long studentId) {
+        try {
+            Map<LocalDate, List<Schedule>> calendar = scheduleService.getCalendar(startDate, days, studentId);
+            return ResponseEntity.ok(calendar);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/student/{studentId}/date")
     public ResponseEntity<List<Schedule>> getSchedulesByStudentAndDate(
             @PathVariable Long studentId,
@@ -239,27 +328,72 @@ public class ScheduleController {
 
     // Statistics endpoints
     @GetMapping("/stats/student-counts")
-    public ResponseEntity<List<Map<String, Object>>> getScheduleCountsByStudent() {
-        List<Object[]> results = scheduleService.countSchedulesByStudent();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getScheduleCountsByStudent(WebRequest request) {
+        return conditionalGet.collection(request, () -> scheduleService.countSchedulesByStudent().stream()
                 .map(result -> Map.of(
                         "studentId", result[0],
                         "scheduleCount", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), Schedule.class);
     }
 
     @GetMapping("/stats/location-counts")
-    public ResponseEntity<List<Map<String, Object>>> getScheduleCountsByLocation() {
-        List<Object[]> results = scheduleService.countSchedulesByLocation();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getScheduleCountsByLocation(WebRequest request) {
+        return conditionalGet.collection(request, () -> scheduleService.countSchedulesByLocation().stream()
                 .map(result -> Map.of(
                         "location", result[0],
                         "scheduleCount", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), Schedule.class);
+    }
+
+    // Lesson load per weekday and hour, e.g. for one location over a term
+    @GetMapping("/stats/weekly-load")
+    public ResponseEntity<List<Map<String, Object>>> getWeeklyLoad(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String location,
+            WebRequest request) {
+        try {
+            return conditionalGet.collection(request, () -> {
+                // End date is inclusive
+                int[][] counts = scheduleService.countSchedulesByWeekdayAndHour(
+                        startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), location);
+                List<Map<String, Object>> cells = new ArrayList<>();
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    for (int hour = 0; hour < 24; hour++) {
+                        int lessonCount = counts[day.ordinal()][hour];
+                        if (lessonCount > 0) {
+                            cells.add(Map.of("dayOfWeek", day, "hour", hour, "lessonCount", lessonCount));
+                        }
+                    }
+                }
+                return cells;
+            }, Schedule.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Booked minutes against teaching hours per weekday and hour (or 15/30-minute bucket)
+    @GetMapping("/utilization")
+    @Operation(
+            summary = "Get teacher utilization",
+            description = "Booked minutes, free teaching capacity and utilization per weekday and time-of-day bucket " +
+                    "over a date range, with the busiest hours of the week. Overlapping lessons count once."
+    )
+    public ResponseEntity<UtilizationDTO> getUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "60") int bucketMinutes,
+            @RequestParam(required = false) String location,
+            WebRequest request) {
+        try {
+            return conditionalGet.collection(request,
+                    () -> scheduleService.getUtilization(startDate, endDate, bucketMinutes, location), Schedule.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Scheduling suggestions endpoint
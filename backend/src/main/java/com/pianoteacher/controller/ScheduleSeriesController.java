@@ -0,0 +1,115 @@
+package com.pianoteacher.controller;
+
+import com.pianoteacher.dto.ScheduleSeriesDTO;
+import com.pianoteacher.model.Pricing;
+import com.pianoteacher.model.ScheduleSeries;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.service.ScheduleSeriesService;
+import com.pianoteacher.service.StudentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/schedule-series")
+@CrossOrigin(origins = "*")
+@Tag(name = "Recurring Schedules", description = "Weekly and biweekly lesson series")
+public class ScheduleSeriesController {
+
+    private final ScheduleSeriesService scheduleSeriesService;
+    private final StudentService studentService;
+    private final ConditionalGet conditionalGet;
+
+    @Autowired
+    public ScheduleSeriesController(ScheduleSeriesService scheduleSeriesService, StudentService studentService,
+                                    ConditionalGet conditionalGet) {
+        this.scheduleSeriesService = scheduleSeriesService;
+        this.studentService = studentService;
+        this.conditionalGet = conditionalGet;
+    }
+
+    // Series CRUD endpoints
+    @PostMapping
+    @Operation(summary = "Create a recurring series",
+            description = "Stores the recurrence rule after checking every occurrence for conflicts. Occurrences appear in calendar reads immediately; use /materialize to create schedule rows.")
+    public ResponseEntity<ScheduleSeries> createSeries(@RequestBody ScheduleSeriesDTO seriesDTO) {
+        // Convert DTO to entity; validation errors (including conflicting dates) go to the handler below
+        Student student = studentService.getStudentById(seriesDTO.getStudentId());
+        ScheduleSeries series = new ScheduleSeries(student, seriesDTO.getFrequency(), seriesDTO.getStartDate(),
+                seriesDTO.getEndDate(), seriesDTO.getStartTime(), seriesDTO.getDurationMinutes(), seriesDTO.getLocation());
+        series.setNotes(seriesDTO.getNotes());
+        if (seriesDTO.getExceptionDates() != null) {
+            series.setExceptionDates(new HashSet<>(seriesDTO.getExceptionDates()));
+        }
+
+        ScheduleSeries createdSeries = scheduleSeriesService.createSeries(series);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSeries);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScheduleSeries> getSeriesById(@PathVariable Long id, WebRequest request) {
+        try {
+            ScheduleSeries series = scheduleSeriesService.getSeriesById(id);
+            return conditionalGet.entity(request, series, series.getStudent(), series.getStudent().getPricing());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<List<ScheduleSeries>> getSeriesByStudent(@PathVariable Long studentId, WebRequest request) {
+        return conditionalGet.collection(request, () -> scheduleSeriesService.getSeriesByStudent(studentId),
+                ScheduleSeries.class, Student.class, Pricing.class);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSeries(@PathVariable Long id) {
+        try {
+            scheduleSeriesService.deleteSeries(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Exceptions and materialization endpoints
+    @PostMapping("/{id}/exceptions")
+    public ResponseEntity<ScheduleSeries> addException(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        ScheduleSeries series = scheduleSeriesService.addException(id, date);
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/{id}/materialize")
+    @Operation(summary = "Materialize occurrences",
+            description = "Creates schedule rows for all occurrences up to and including the given date, in JDBC batches.")
+    public ResponseEntity<ScheduleSeries> materialize(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate through) {
+        ScheduleSeries series = scheduleSeriesService.materialize(id, through);
+        return ResponseEntity.ok(series);
+    }
+
+    // Error handling
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException e) {
+        Map<String, String> error = Map.of(
+                "error", "Validation Error",
+                "message", e.getMessage(),
+                "timestamp", LocalDateTime.now().toString()
+        );
+        return ResponseEntity.badRequest().body(error);
+    }
+}
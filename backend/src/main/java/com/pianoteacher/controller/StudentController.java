@@ -1,5 +1,9 @@
 package com.pianoteacher.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pianoteacher.dto.CursorPageDTO;
+import com.pianoteacher.dto.StudentSuggestionDTO;
+import com.pianoteacher.dto.StudentSummaryDTO;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.model.Pricing;
 import com.pianoteacher.service.StudentService;
@@ -10,12 +14,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -28,10 +35,14 @@ import java.util.stream.Collectors;
 public class StudentController {
 
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper, ConditionalGet conditionalGet) {
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.conditionalGet = conditionalGet;
     }
 
     // Student CRUD endpoints
@@ -70,10 +81,11 @@ public class StudentController {
     })
     public ResponseEntity<Student> getStudentById(
             @Parameter(description = "ID of the student to retrieve", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
         try {
             Student student = studentService.getStudentById(id);
-            return ResponseEntity.ok(student);
+            return conditionalGet.entity(request, student, student.getPricing());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -88,9 +100,26 @@ public class StudentController {
             @ApiResponse(responseCode = "200", description = "List of students retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<List<Student>> getAllStudents(WebRequest request) {
+        return conditionalGet.collection(request, studentService::getAllStudents, Student.class, Pricing.class);
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "List student summaries", description = "Lightweight list without notes or pricing, for list screens.")
+    public ResponseEntity<List<StudentSummaryDTO>> getStudentSummaries(WebRequest request) {
+        return conditionalGet.collection(request, studentService::getStudentSummaries, Student.class);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<Student>> getStudentsPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(studentService.getStudentsPage(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamStudents(HttpServletResponse response) throws IOException {
+        NdjsonWriter.write(response, objectMapper.writer(), studentService::streamAllStudents);
     }
 
     @PutMapping("/{id}")
@@ -120,12 +149,41 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/search/page")
+    public ResponseEntity<CursorPageDTO<Student>> searchStudentsPage(
+            @RequestParam String term,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(studentService.searchStudentsPage(term, afterId, size));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete students",
+            description = "Type-ahead lookup over student names and emails. Returns up to 'limit' matches, best first, from an in-memory index.")
+    public ResponseEntity<List<StudentSuggestionDTO>> autocompleteStudents(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(studentService.autocompleteStudents(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/search/name")
     public ResponseEntity<List<Student>> searchStudentsByName(@RequestParam String name) {
         List<Student> students = studentService.searchStudentsByName(name);
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/search/name/page")
+    public ResponseEntity<CursorPageDTO<Student>> searchStudentsByNamePage(
+            @RequestParam String name,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(studentService.searchStudentsByNamePage(name, afterId, size));
+    }
+
     @GetMapping("/filter/age")
     public ResponseEntity<List<Student>> getStudentsByAgeRange(
             @RequestParam Integer minAge,
@@ -140,6 +198,14 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    @GetMapping("/filter/grade/page")
+    public ResponseEntity<CursorPageDTO<Student>> getStudentsByGradePage(
+            @RequestParam String grade,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(studentService.getStudentsByGradePage(grade, afterId, size));
+    }
+
     @GetMapping("/filter/with-pricing")
     public ResponseEntity<List<Student>> getStudentsWithPricing() {
         List<Student> students = studentService.getStudentsWithPricing();
@@ -175,36 +241,33 @@ public class StudentController {
 
     // Statistics and reporting endpoints
     @GetMapping("/stats/grade-counts")
-    public ResponseEntity<List<Map<String, Object>>> getStudentCountByGrade() {
-        List<Object[]> results = studentService.getStudentCountByGrade();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getStudentCountByGrade(WebRequest request) {
+        return conditionalGet.collection(request, () -> studentService.getStudentCountByGrade().stream()
                 .map(result -> Map.of(
                         "grade", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), Student.class);
     }
 
     @GetMapping("/stats/average-hourly-rate")
-    public ResponseEntity<Map<String, Object>> getAverageHourlyRate() {
-        java.math.BigDecimal averageRate = studentService.getAverageHourlyRate();
-        Map<String, Object> result = Map.of(
-                "averageHourlyRate", averageRate != null ? averageRate : 0
-        );
-        return ResponseEntity.ok(result);
+    public ResponseEntity<Map<String, Object>> getAverageHourlyRate(WebRequest request) {
+        return conditionalGet.collection(request, () -> {
+            java.math.BigDecimal averageRate = studentService.getAverageHourlyRate();
+            return Map.of(
+                    "averageHourlyRate", averageRate != null ? averageRate : 0
+            );
+        }, Pricing.class);
     }
 
     @GetMapping("/stats/common-lesson-durations")
-    public ResponseEntity<List<Map<String, Object>>> getMostCommonLessonDurations() {
-        List<Object[]> results = studentService.getMostCommonLessonDurations();
-        List<Map<String, Object>> stats = results.stream()
+    public ResponseEntity<List<Map<String, Object>>> getMostCommonLessonDurations(WebRequest request) {
+        return conditionalGet.collection(request, () -> studentService.getMostCommonLessonDurations().stream()
                 .map(result -> Map.of(
                         "lessonDuration", result[0],
                         "count", result[1]
                 ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(stats);
+                .collect(Collectors.toList()), Pricing.class);
     }
 
     // Utility endpoints
@@ -242,6 +305,21 @@ public class StudentController {
         }
     }
 
+    @GetMapping("/filter/date-range/page")
+    public ResponseEntity<CursorPageDTO<Student>> getStudentsCreatedInDateRangePage(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            LocalDateTime start = LocalDateTime.parse(startDate);
+            LocalDateTime end = LocalDateTime.parse(endDate);
+            return ResponseEntity.ok(studentService.getStudentsCreatedInDateRangePage(start, end, afterId, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Error handling example
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException e) {
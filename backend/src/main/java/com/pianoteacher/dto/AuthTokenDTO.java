@@ -0,0 +1,56 @@
+package com.pianoteacher.dto;
+
+import java.time.Instant;
+
+public class AuthTokenDTO {
+
+    private String token;
+
+    private String tokenType;
+
+    private Instant expiresAt;
+
+    // Constructors
+    public AuthTokenDTO() {
+    }
+
+    public AuthTokenDTO(String token, String tokenType, Instant expiresAt) {
+        this.token = token;
+        this.tokenType = tokenType;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        // Never log the token itself
+        return "AuthTokenDTO{" +
+                "tokenType='" + tokenType + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.pianoteacher.dto;
+
+public class BulkImportResultDTO {
+
+    private String entityType;
+
+    private int imported;
+
+    private int batchSize;
+
+    private int batches;
+
+    // Constructors
+    public BulkImportResultDTO() {
+    }
+
+    public BulkImportResultDTO(String entityType, int imported, int batchSize, int batches) {
+        this.entityType = entityType;
+        this.imported = imported;
+        this.batchSize = batchSize;
+        this.batches = batches;
+    }
+
+    // Getters and Setters
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportResultDTO{" +
+                "entityType='" + entityType + '\'' +
+                ", imported=" + imported +
+                ", batchSize=" + batchSize +
+                ", batches=" + batches +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package com.pianoteacher.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Clients pass {@code nextCursor} back as
+ * {@code afterId} to fetch the following page; {@code hasMore} is false on the last page.
+ */
+public class CursorPageDTO<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private List<T> items;
+
+    private Long nextCursor;
+
+    private boolean hasMore;
+
+    // Constructors
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows; the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <T> CursorPageDTO<T> fromRows(List<T> rows, int size, Function<T, Long> cursorExtractor) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = items.isEmpty() ? null : cursorExtractor.apply(items.get(items.size() - 1));
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    public static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageDTO{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor=" + nextCursor +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
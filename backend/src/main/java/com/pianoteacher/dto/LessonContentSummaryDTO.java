@@ -0,0 +1,22 @@
+package com.pianoteacher.dto;
+
+import com.pianoteacher.model.LessonContent.ContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lesson content as shown in list views, with the student's name instead of the
+ * full student and without notes.
+ */
+public record LessonContentSummaryDTO(Long id, Long studentId, String studentName, String title, String description,
+                                      String contentType, Integer difficultyLevel, Integer estimatedDuration,
+                                      Boolean completed, LocalDateTime completionDate) {
+
+    // Used by the JPQL constructor expressions, which select the stored content type
+    public LessonContentSummaryDTO(Long id, Long studentId, String studentName, String title, String description,
+                                   ContentType contentType, Integer difficultyLevel, Integer estimatedDuration,
+                                   Boolean completed, LocalDateTime completionDate) {
+        this(id, studentId, studentName, title, description, contentType.name(), difficultyLevel, estimatedDuration,
+                completed, completionDate);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pianoteacher.dto;
+
+/**
+ * Lesson completion counters computed by a single aggregate query.
+ * {@code completionRate} is a percentage between 0 and 100.
+ */
+public record LessonStatsDTO(long totalLessons, long completedLessons, long incompleteLessons, double completionRate) {
+
+    // Used by the JPQL constructor expression: SELECT new ...LessonStatsDTO(COUNT(..), COUNT(..), COUNT(..))
+    public LessonStatsDTO(Long totalLessons, Long completedLessons, Long incompleteLessons) {
+        this(totalLessons, completedLessons, incompleteLessons,
+                totalLessons > 0 ? (double) completedLessons / totalLessons * 100 : 0.0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.pianoteacher.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class LoginRequestDTO {
+
+    @NotBlank(message = "Username is required")
+    private String username;
+
+    @NotBlank(message = "Password is required")
+    private String password;
+
+    // Constructors
+    public LoginRequestDTO() {
+    }
+
+    public LoginRequestDTO(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    @Override
+    public String toString() {
+        return "LoginRequestDTO{" +
+                "username='" + username + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package com.pianoteacher.dto;
+
+import com.pianoteacher.model.ProgressReport.ReportType;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Progress report as shown in list views: scores and identifying fields only.
+ * The long-form text (strengths, recommendations, teacher notes, ...) is left
+ * out and only loaded when a single report is read.
+ */
+public record ProgressReportSummaryDTO(Long id, Long studentId, String studentName, String reportType, String reportPeriod,
+                                       Double overallProgress, Double technicalSkills, Double theoryKnowledge,
+                                       Double repertoireSkills, Double practiceHabits, LocalDateTime reportDate) {
+
+    // Used by the JPQL constructor expressions, which select the stored type and month
+    public ProgressReportSummaryDTO(Long id, Long studentId, String studentName, ReportType reportType, YearMonth reportPeriod,
+                                    Double overallProgress, Double technicalSkills, Double theoryKnowledge,
+                                    Double repertoireSkills, Double practiceHabits, LocalDateTime reportDate) {
+        this(id, studentId, studentName, reportType.name(), reportPeriod.toString(), overallProgress, technicalSkills,
+                theoryKnowledge, repertoireSkills, practiceHabits, reportDate);
+    }
+}
@@ -0,0 +1,128 @@
+package com.pianoteacher.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ScheduleSeriesDTO {
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    @NotBlank(message = "Frequency is required")
+    private String frequency;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "Duration is required")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @NotBlank(message = "Location is required")
+    @Size(min = 1, max = 100, message = "Location must be between 1 and 100 characters")
+    private String location;
+
+    private String notes;
+
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
+    // Constructors
+    public ScheduleSeriesDTO() {
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public Set<LocalDate> getExceptionDates() {
+        return exceptionDates;
+    }
+
+    public void setExceptionDates(Set<LocalDate> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleSeriesDTO{" +
+                "studentId=" + studentId +
+                ", frequency='" + frequency + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", startTime=" + startTime +
+                ", durationMinutes=" + durationMinutes +
+                ", location='" + location + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package com.pianoteacher.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schedule as shown in list views, with the student's name instead of the full
+ * student and without notes.
+ */
+public record ScheduleSummaryDTO(Long id, Long studentId, String studentName, LocalDateTime startTime,
+                                 LocalDateTime endTime, String location, Long seriesId) {
+}
@@ -0,0 +1,66 @@
+package com.pianoteacher.dto;
+
+public class StudentSuggestionDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private String grade;
+
+    // Constructors
+    public StudentSuggestionDTO() {
+    }
+
+    public StudentSuggestionDTO(Long id, String name, String email, String grade) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.grade = grade;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSuggestionDTO{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", grade='" + grade + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,7 @@
+package com.pianoteacher.dto;
+
+/**
+ * Student as shown in list views, without notes or pricing.
+ */
+public record StudentSummaryDTO(Long id, String name, Integer age, String grade, String email, String phone) {
+}
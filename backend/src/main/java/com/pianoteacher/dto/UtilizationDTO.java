@@ -0,0 +1,21 @@
+package com.pianoteacher.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Booked minutes against teaching capacity over a date range, overall and per
+ * weekday and time-of-day bucket. Capacity is the teaching hours of every day in the
+ * range; lessons outside them count as booked but add no capacity. Utilization is a
+ * percentage of capacity between 0 and 100.
+ */
+public record UtilizationDTO(LocalDate startDate, LocalDate endDate, String location, int bucketMinutes,
+                             long bookedMinutes, long capacityMinutes, long freeMinutes, double utilization,
+                             List<Bucket> buckets, List<Bucket> peakHours) {
+
+    public record Bucket(DayOfWeek dayOfWeek, LocalTime startTime, long bookedMinutes, long capacityMinutes,
+                         long freeMinutes, double utilization) {
+    }
+}
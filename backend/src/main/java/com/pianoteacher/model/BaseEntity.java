@@ -1,5 +1,6 @@
 package com.pianoteacher.model;
 
+import com.pianoteacher.service.TableChangeListener;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -8,11 +9,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TableChangeListener.class})
 public abstract class BaseEntity {
 
+    // Each entity gets its own pooled sequence (<entity>_seq, increment 50), so ids are
+    // assigned in memory and Hibernate can batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
@@ -8,12 +8,24 @@ import org.hibernate.validator.constraints.Length;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "lesson_content")
+@Table(name = "lesson_content", indexes = {
+    @Index(name = "idx_lesson_content_student_type", columnList = "student_id, content_type")
+})
+@NamedEntityGraph(name = LessonContent.WITH_STUDENT,
+    attributeNodes = @NamedAttributeNode(value = "student", subgraph = "student"),
+    subgraphs = @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("pricing")))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class LessonContent extends BaseEntity {
 
+    // Loads the student and its pricing with the lesson content, see the list queries in LessonContentRepository
+    public static final String WITH_STUDENT = "LessonContent.withStudent";
+
     @NotNull(message = "Student is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
@@ -28,9 +40,15 @@ public class LessonContent extends BaseEntity {
     @Column(name = "description", length = 1000)
     private String description;
 
-    @NotBlank(message = "Content type is required")
-    @Column(name = "content_type", nullable = false, length = 50)
-    private String contentType;
+    // Stored as the constant's ordinal, so new content types are only ever appended
+    @NotNull(message = "Content type is required")
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "content_type", nullable = false)
+    private ContentType contentType;
+
+    // Text given to setContentType that names no content type, kept for validate() to reject
+    @Transient
+    private String unparsedContentType;
 
     @NotNull(message = "Difficulty level is required")
     @Min(value = 1, message = "Difficulty level must be between 1 and 10")
@@ -60,7 +78,7 @@ public class LessonContent extends BaseEntity {
     public LessonContent(Student student, String title, String contentType, Integer difficultyLevel, Integer estimatedDuration) {
         this.student = student;
         this.title = title;
-        this.contentType = contentType;
+        setContentType(contentType);
         this.difficultyLevel = difficultyLevel;
         this.estimatedDuration = estimatedDuration;
     }
@@ -91,11 +109,12 @@ public class LessonContent extends BaseEntity {
     }
 
     public String getContentType() {
-        return contentType;
+        return contentType != null ? contentType.name() : unparsedContentType;
     }
 
     public void setContentType(String contentType) {
-        this.contentType = contentType;
+        this.contentType = ContentType.fromName(contentType).orElse(null);
+        this.unparsedContentType = this.contentType == null ? contentType : null;
     }
 
     public Integer getDifficultyLevel() {
@@ -146,10 +165,10 @@ public class LessonContent extends BaseEntity {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Title is required");
         }
-        if (contentType == null || contentType.trim().isEmpty()) {
-            throw new IllegalArgumentException("Content type is required");
-        }
-        if (!isValidContentType(contentType)) {
+        if (contentType == null) {
+            if (unparsedContentType == null || unparsedContentType.trim().isEmpty()) {
+                throw new IllegalArgumentException("Content type is required");
+            }
             throw new IllegalArgumentException("Invalid content type. Must be one of: " + Arrays.toString(ContentType.values()));
         }
         if (difficultyLevel == null || difficultyLevel < 1 || difficultyLevel > 10) {
@@ -160,11 +179,6 @@ public class LessonContent extends BaseEntity {
         }
     }
 
-    private boolean isValidContentType(String contentType) {
-        return Arrays.stream(ContentType.values())
-                .anyMatch(type -> type.name().equals(contentType));
-    }
-
     public void markAsCompleted() {
         this.completed = true;
         this.completionDate = LocalDateTime.now();
@@ -194,7 +208,7 @@ public class LessonContent extends BaseEntity {
                 "id=" + getId() +
                 ", student=" + (student != null ? student.getName() : "null") +
                 ", title='" + title + '\'' +
-                ", contentType='" + contentType + '\'' +
+                ", contentType='" + getContentType() + '\'' +
                 ", difficultyLevel=" + difficultyLevel +
                 ", estimatedDuration=" + estimatedDuration +
                 ", completed=" + completed +
@@ -239,6 +253,9 @@ public class LessonContent extends BaseEntity {
         REPERTOIRE("Repertoire"),
         ASSIGNMENT("Assignment");
 
+        private static final Map<String, ContentType> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toMap(ContentType::name, Function.identity()));
+
         private final String displayName;
 
         ContentType(String displayName) {
@@ -248,5 +265,10 @@ public class LessonContent extends BaseEntity {
         public String getDisplayName() {
             return displayName;
         }
+
+        // Exact, case-sensitive match on the constant name
+        public static Optional<ContentType> fromName(String name) {
+            return name == null ? Optional.empty() : Optional.ofNullable(BY_NAME.get(name));
+        }
     }
 }
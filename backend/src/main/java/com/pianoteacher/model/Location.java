@@ -0,0 +1,86 @@
+package com.pianoteacher.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.pianoteacher.config.SecondLevelCacheConfig;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.validator.constraints.Length;
+
+import java.util.Locale;
+
+/**
+ * A place lessons are held, stored once and referenced from schedules by id.
+ *
+ * Names that differ only in case or spacing are the same location: the first
+ * spelling seen is kept as the name, and {@link #normalize(String)} of it is unique.
+ */
+@Entity
+@Table(name = "locations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_location_name_key", columnNames = "name_key")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.LOCATION_REGION)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Location extends BaseEntity {
+
+    @NotBlank(message = "Location is required")
+    @Length(max = 100, message = "Location must be between 1 and 100 characters")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "name_key", nullable = false, length = 100)
+    private String nameKey;
+
+    // Constructors
+    public Location() {
+    }
+
+    public Location(String name) {
+        this.name = name.trim();
+        this.nameKey = normalize(name);
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public void setNameKey(String nameKey) {
+        this.nameKey = nameKey;
+    }
+
+    // Case-insensitive, whitespace-collapsed form used for lookups
+    public static String normalize(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "Location{" +
+                "id=" + getId() +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Location that)) return false;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
+}
@@ -1,15 +1,21 @@
 package com.pianoteacher.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.pianoteacher.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 @Entity
 @Table(name = "pricing")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRICING_REGION)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Pricing extends BaseEntity {
 
@@ -3,32 +3,63 @@ package com.pianoteacher.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import org.hibernate.validator.constraints.Length;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "progress_reports")
+@Table(name = "progress_reports", indexes = {
+    @Index(name = "idx_progress_report_date", columnList = "report_date"),
+    @Index(name = "idx_progress_report_student_date", columnList = "student_id, report_date"),
+    @Index(name = "idx_progress_report_student_type_period", columnList = "student_id, report_type, report_period")
+})
+@NamedEntityGraph(name = ProgressReport.WITH_STUDENT,
+    attributeNodes = @NamedAttributeNode(value = "student", subgraph = "student"),
+    subgraphs = @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("pricing")))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ProgressReport extends BaseEntity {
 
+    // Loads the student and its pricing with the report, see the list queries in ProgressReportRepository
+    public static final String WITH_STUDENT = "ProgressReport.withStudent";
+
+    // A year, optionally followed by a quarter or half, e.g. 2024, 2024-Q1, 2024-H2
+    private static final Pattern SPAN_PERIOD = Pattern.compile("(\\d{4})(?:-([QH])([1-4]))?");
+
     @NotNull(message = "Student is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
-    @NotBlank(message = "Report type is required")
-    @Column(name = "report_type", nullable = false, length = 20)
-    private String reportType;
+    // Stored as the constant's ordinal, so new report types are only ever appended
+    @NotNull(message = "Report type is required")
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "report_type", nullable = false)
+    private ReportType reportType;
+
+    @NotNull(message = "Report period is required")
+    @Convert(converter = YearMonthConverter.class)
+    @Column(name = "report_period", nullable = false)
+    private YearMonth reportPeriod;
 
-    @NotBlank(message = "Report period is required")
-    @Length(max = 20, message = "Report period must be at most 20 characters")
-    @Column(name = "report_period", nullable = false, length = 20)
-    private String reportPeriod;
+    // Text given to the setters that names no report type or month, kept for validate() to reject
+    @Transient
+    private String unparsedReportType;
+
+    @Transient
+    private String unparsedReportPeriod;
 
     @NotNull(message = "Overall progress is required")
     @DecimalMin(value = "0.0", message = "Overall progress must be between 0 and 100")
@@ -85,8 +116,8 @@ public class ProgressReport extends BaseEntity {
 
     public ProgressReport(Student student, String reportType, String reportPeriod, Double overallProgress) {
         this.student = student;
-        this.reportType = reportType;
-        this.reportPeriod = reportPeriod;
+        setReportType(reportType);
+        setReportPeriod(reportPeriod);
         this.overallProgress = overallProgress;
         this.reportDate = LocalDateTime.now();
     }
@@ -101,19 +132,21 @@ public class ProgressReport extends BaseEntity {
     }
 
     public String getReportType() {
-        return reportType;
+        return reportType != null ? reportType.name() : unparsedReportType;
     }
 
     public void setReportType(String reportType) {
-        this.reportType = reportType;
+        this.reportType = ReportType.fromName(reportType).orElse(null);
+        this.unparsedReportType = this.reportType == null ? reportType : null;
     }
 
     public String getReportPeriod() {
-        return reportPeriod;
+        return reportPeriod != null ? reportPeriod.toString() : unparsedReportPeriod;
     }
 
     public void setReportPeriod(String reportPeriod) {
-        this.reportPeriod = reportPeriod;
+        this.reportPeriod = parsePeriod(reportPeriod).orElse(null);
+        this.unparsedReportPeriod = this.reportPeriod == null ? reportPeriod : null;
     }
 
     public Double getOverallProgress() {
@@ -209,14 +242,18 @@ public class ProgressReport extends BaseEntity {
         if (student == null) {
             throw new IllegalArgumentException("Student is required");
         }
-        if (reportType == null || reportType.trim().isEmpty()) {
-            throw new IllegalArgumentException("Report type is required");
-        }
-        if (!isValidReportType(reportType)) {
+        if (reportType == null) {
+            if (unparsedReportType == null || unparsedReportType.trim().isEmpty()) {
+                throw new IllegalArgumentException("Report type is required");
+            }
             throw new IllegalArgumentException("Invalid report type. Must be one of: " + Arrays.toString(ReportType.values()));
         }
-        if (reportPeriod == null || reportPeriod.trim().isEmpty()) {
-            throw new IllegalArgumentException("Report period is required");
+        if (reportPeriod == null) {
+            if (unparsedReportPeriod == null || unparsedReportPeriod.trim().isEmpty()) {
+                throw new IllegalArgumentException("Report period is required");
+            }
+            throw new IllegalArgumentException("Report period must be a month (YYYY-MM), week (YYYY-Www), quarter (YYYY-Qn), "
+                    + "half year (YYYY-Hn) or year (YYYY): " + unparsedReportPeriod);
         }
         if (overallProgress == null || overallProgress < 0 || overallProgress > 100) {
             throw new IllegalArgumentException("Overall progress must be between 0 and 100");
@@ -235,9 +272,56 @@ public class ProgressReport extends BaseEntity {
         }
     }
 
-    private boolean isValidReportType(String reportType) {
-        return Arrays.stream(ReportType.values())
-                .anyMatch(type -> type.name().equals(reportType));
+    /**
+     * Parses a report period into the month it is stored as: a month (YYYY-MM) is
+     * itself, and a longer period is the month it starts in. An ISO week (YYYY-Www)
+     * starts in the month of its Monday, a quarter (YYYY-Qn) in month 3n-2, a half
+     * year (YYYY-Hn) in month 6n-5 and a year (YYYY) in January. The report type
+     * says how long the period is, so 2024-Q1 reads back as 2024-01.
+     */
+    public static Optional<YearMonth> parsePeriod(String period) {
+        if (period == null) {
+            return Optional.empty();
+        }
+        String text = period.trim().toUpperCase(Locale.ROOT);
+        Optional<YearMonth> month = parseMonth(text);
+        if (month.isPresent()) {
+            return month;
+        }
+        if (text.length() == 8 && text.charAt(5) == 'W') {
+            try {
+                LocalDate monday = LocalDate.parse(text + "-1", DateTimeFormatter.ISO_WEEK_DATE);
+                return Optional.of(YearMonth.from(monday));
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+        }
+        Matcher span = SPAN_PERIOD.matcher(text);
+        if (!span.matches()) {
+            return Optional.empty();
+        }
+        int year = Integer.parseInt(span.group(1));
+        if (span.group(2) == null) {
+            return Optional.of(YearMonth.of(year, 1));
+        }
+        int part = Integer.parseInt(span.group(3));
+        int monthsPerPart = span.group(2).equals("Q") ? 3 : 6;
+        if (part > 12 / monthsPerPart) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(year, (part - 1) * monthsPerPart + 1));
+    }
+
+    // A calendar month only, written YYYY-MM
+    public static Optional<YearMonth> parseMonth(String period) {
+        if (period == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(period.trim()));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
     }
 
     public String getProgressGrade() {
@@ -304,8 +388,8 @@ public class ProgressReport extends BaseEntity {
         return "ProgressReport{" +
                 "id=" + getId() +
                 ", student=" + (student != null ? student.getName() : "null") +
-                ", reportType='" + reportType + '\'' +
-                ", reportPeriod='" + reportPeriod + '\'' +
+                ", reportType='" + getReportType() + '\'' +
+                ", reportPeriod='" + getReportPeriod() + '\'' +
                 ", overallProgress=" + overallProgress +
                 ", grade='" + getProgressGrade() + '\'' +
                 ", reportDate=" + reportDate +
@@ -350,6 +434,9 @@ public class ProgressReport extends BaseEntity {
         YEARLY("Yearly"),
         ASSESSMENT("Assessment");
 
+        private static final Map<String, ReportType> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toMap(ReportType::name, Function.identity()));
+
         private final String displayName;
 
         ReportType(String displayName) {
@@ -359,5 +446,10 @@ public class ProgressReport extends BaseEntity {
         public String getDisplayName() {
             return displayName;
         }
+
+        // Exact, case-sensitive match on the constant name
+        public static Optional<ReportType> fromName(String name) {
+            return name == null ? Optional.empty() : Optional.ofNullable(BY_NAME.get(name));
+        }
     }
 }
@@ -0,0 +1,240 @@
+package com.pianoteacher.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * Pre-aggregated progress scores for one time bucket, so trend and average
+ * statistics read a few rollup rows instead of scanning {@code progress_reports}.
+ *
+ * A bucket is a day, an ISO week (starting Monday) or a month of {@code reportDate},
+ * or {@code ALL} for all time. Each bucket is kept for all students and per student;
+ * all-time buckets are also kept per report type. {@link #ALL_STUDENTS} and
+ * {@link #ALL_TYPES} mark the "all" rows so the unique key has no nulls. Skill scores
+ * only count reports that have all four skills, like the queries they replace.
+ */
+@Entity
+@Table(name = "progress_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_progress_rollup_bucket",
+        columnNames = {"granularity", "bucket_start", "student_id", "report_type"}))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ProgressRollup extends BaseEntity {
+
+    public static final long ALL_STUDENTS = 0L;
+    public static final String ALL_TYPES = "ALL";
+    // Bucket start of the all-time rows
+    public static final LocalDate ALL_TIME = LocalDate.EPOCH;
+
+    @Column(name = "granularity", nullable = false, length = 10)
+    private String granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Convert(converter = RollupReportTypeConverter.class)
+    @Column(name = "report_type", nullable = false)
+    private String reportType;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "overall_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "overall_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "overall_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "overall_max"))
+    })
+    private ScoreRollup overall = new ScoreRollup();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "technical_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "technical_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "technical_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "technical_max"))
+    })
+    private ScoreRollup technicalSkills = new ScoreRollup();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "theory_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "theory_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "theory_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "theory_max"))
+    })
+    private ScoreRollup theoryKnowledge = new ScoreRollup();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "repertoire_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "repertoire_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "repertoire_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "repertoire_max"))
+    })
+    private ScoreRollup repertoireSkills = new ScoreRollup();
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "practice_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "practice_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "practice_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "practice_max"))
+    })
+    private ScoreRollup practiceHabits = new ScoreRollup();
+
+    // Constructors
+    public ProgressRollup() {
+    }
+
+    public ProgressRollup(Granularity granularity, LocalDate bucketStart, Long studentId, String reportType) {
+        this.granularity = granularity.name();
+        this.bucketStart = bucketStart;
+        this.studentId = studentId;
+        this.reportType = reportType;
+    }
+
+    // Getters
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public ScoreRollup getOverall() {
+        return overall;
+    }
+
+    public ScoreRollup getTechnicalSkills() {
+        return technicalSkills;
+    }
+
+    public ScoreRollup getTheoryKnowledge() {
+        return theoryKnowledge;
+    }
+
+    public ScoreRollup getRepertoireSkills() {
+        return repertoireSkills;
+    }
+
+    public ScoreRollup getPracticeHabits() {
+        return practiceHabits;
+    }
+
+    // Business methods
+    public void add(double overallProgress, Double technical, Double theory, Double repertoire, Double practice) {
+        overall.add(overallProgress);
+        if (hasAllSkills(technical, theory, repertoire, practice)) {
+            technicalSkills.add(technical);
+            theoryKnowledge.add(theory);
+            repertoireSkills.add(repertoire);
+            practiceHabits.add(practice);
+        }
+    }
+
+    /**
+     * Takes a report back out. Returns {@code false} when a minimum or maximum may
+     * have changed and the bucket has to be recomputed with {@link #reset()} and
+     * {@link #add}.
+     */
+    public boolean remove(double overallProgress, Double technical, Double theory, Double repertoire, Double practice) {
+        boolean exact = overall.remove(overallProgress);
+        if (hasAllSkills(technical, theory, repertoire, practice)) {
+            exact &= technicalSkills.remove(technical);
+            exact &= theoryKnowledge.remove(theory);
+            exact &= repertoireSkills.remove(repertoire);
+            exact &= practiceHabits.remove(practice);
+        }
+        return exact;
+    }
+
+    public void reset() {
+        overall.reset();
+        technicalSkills.reset();
+        theoryKnowledge.reset();
+        repertoireSkills.reset();
+        practiceHabits.reset();
+    }
+
+    public boolean isEmpty() {
+        return overall.getCount() == 0;
+    }
+
+    private static boolean hasAllSkills(Double technical, Double theory, Double repertoire, Double practice) {
+        return technical != null && theory != null && repertoire != null && practice != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgressRollup{" +
+                "granularity='" + granularity + '\'' +
+                ", bucketStart=" + bucketStart +
+                ", studentId=" + studentId +
+                ", reportType='" + reportType + '\'' +
+                ", reportCount=" + overall.getCount() +
+                ", averageProgress=" + overall.getAverage() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProgressRollup that = (ProgressRollup) o;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
+
+    // Bucket size enum
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH,
+        ALL;
+
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case ALL -> ALL_TIME;
+            };
+        }
+
+        // Exclusive end of the bucket that starts at bucketStart
+        public LocalDate bucketEnd(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+                case ALL -> LocalDate.MAX;
+            };
+        }
+
+        // Granularities a trend can be read at
+        public static Granularity forTrend(String value) {
+            return Arrays.stream(values())
+                    .filter(granularity -> granularity != ALL && granularity.name().equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid granularity. Must be one of: [DAY, WEEK, MONTH]"));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.pianoteacher.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of roster-wide report generation for a period, with its progress.
+ *
+ * The counters are advanced in the same transaction as each chunk of reports, so
+ * they always match what has been committed.
+ */
+@Entity
+@Table(name = "report_generation_runs", indexes = {
+    @Index(name = "idx_report_generation_run_period", columnList = "report_type, report_period")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ReportGenerationRun extends BaseEntity {
+
+    @Column(name = "report_type", nullable = false, length = 20)
+    private String reportType;
+
+    @Column(name = "report_period", nullable = false, length = 20)
+    private String reportPeriod;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_students", nullable = false)
+    private int totalStudents;
+
+    @Column(name = "processed_students", nullable = false)
+    private int processedStudents;
+
+    @Column(name = "created_reports", nullable = false)
+    private int createdReports;
+
+    // Students that already had the report, from an earlier run or by hand
+    @Column(name = "existing_reports", nullable = false)
+    private int existingReports;
+
+    // Students with no lesson content and no lessons in the period
+    @Column(name = "inactive_students", nullable = false)
+    private int inactiveStudents;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Constructors
+    public ReportGenerationRun() {
+    }
+
+    public ReportGenerationRun(String reportType, String reportPeriod, int totalStudents) {
+        this.reportType = reportType;
+        this.reportPeriod = reportPeriod;
+        this.totalStudents = totalStudents;
+        this.status = Status.RUNNING.name();
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getReportType() {
+        return reportType;
+    }
+
+    public String getReportPeriod() {
+        return reportPeriod;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    public int getProcessedStudents() {
+        return processedStudents;
+    }
+
+    public int getCreatedReports() {
+        return createdReports;
+    }
+
+    public int getExistingReports() {
+        return existingReports;
+    }
+
+    public int getInactiveStudents() {
+        return inactiveStudents;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    // Business methods
+    public double getPercentComplete() {
+        return totalStudents > 0 ? Math.round(1000.0 * processedStudents / totalStudents) / 10.0 : 100.0;
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED.name();
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String errorMessage) {
+        this.status = Status.FAILED.name();
+        this.finishedAt = LocalDateTime.now();
+        this.errorMessage = errorMessage != null && errorMessage.length() > 500 ? errorMessage.substring(0, 500) : errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportGenerationRun{" +
+                "id=" + getId() +
+                ", reportType='" + reportType + '\'' +
+                ", reportPeriod='" + reportPeriod + '\'' +
+                ", status='" + status + '\'' +
+                ", processedStudents=" + processedStudents +
+                ", totalStudents=" + totalStudents +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportGenerationRun that = (ReportGenerationRun) o;
+        return getId() != null && getId().equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
+
+    // Run status enum
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,36 @@
+package com.pianoteacher.model;
+
+import com.pianoteacher.model.ProgressReport.ReportType;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a rollup's report type as the {@link ReportType} ordinal, like
+ * {@code progress_reports} does, with -1 for {@link ProgressRollup#ALL_TYPES}.
+ */
+@Converter
+public class RollupReportTypeConverter implements AttributeConverter<String, Short> {
+
+    private static final short ALL_TYPES_CODE = -1;
+
+    // Also used by native queries, which bypass the converter
+    public static Short code(String reportType) {
+        if (reportType == null) {
+            return null;
+        }
+        return ProgressRollup.ALL_TYPES.equals(reportType) ? ALL_TYPES_CODE : (short) ReportType.valueOf(reportType).ordinal();
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String reportType) {
+        return code(reportType);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        return code == ALL_TYPES_CODE ? ProgressRollup.ALL_TYPES : ReportType.values()[code].name();
+    }
+}
@@ -1,6 +1,8 @@
 package com.pianoteacher.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.pianoteacher.service.ScheduleSnapshotListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.validator.constraints.Length;
@@ -13,11 +15,20 @@ import java.time.LocalDateTime;
     @Index(name = "idx_schedule_student_id", columnList = "student_id"),
     @Index(name = "idx_schedule_start_time", columnList = "start_time"),
     @Index(name = "idx_schedule_end_time", columnList = "end_time"),
-    @Index(name = "idx_schedule_student_time", columnList = "student_id, start_time")
+    @Index(name = "idx_schedule_student_time", columnList = "student_id, start_time"),
+    @Index(name = "idx_schedule_series_id", columnList = "series_id"),
+    @Index(name = "idx_schedule_location_id", columnList = "location_id")
 })
+@NamedEntityGraph(name = Schedule.WITH_STUDENT,
+    attributeNodes = {@NamedAttributeNode(value = "student", subgraph = "student"), @NamedAttributeNode("place")},
+    subgraphs = @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("pricing")))
+@EntityListeners(ScheduleSnapshotListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Schedule extends BaseEntity {
 
+    // Loads the student, its pricing and the location with the schedule, see the list queries in ScheduleRepository
+    public static final String WITH_STUDENT = "Schedule.withStudent";
+
     @NotNull(message = "Student is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
@@ -31,15 +42,24 @@ public class Schedule extends BaseEntity {
     @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
 
-    @NotBlank(message = "Location is required")
-    @Length(min = 1, max = 100, message = "Location must be between 1 and 100 characters")
-    @Column(name = "location", nullable = false, length = 100)
+    // The interned location; a name set through setLocation is resolved to it by LocationDictionary on save
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id", nullable = false)
+    @JsonIgnore
+    private Location place;
+
+    // Location name given by the API or an import, until it is interned
+    @Transient
     private String location;
 
     @Lob
     @Column(name = "notes")
     private String notes;
 
+    // Set when this schedule is a materialized occurrence of a ScheduleSeries
+    @Column(name = "series_id")
+    private Long seriesId;
+
     // Constructors
     public Schedule() {
     }
@@ -76,7 +96,12 @@ public class Schedule extends BaseEntity {
         this.endTime = endTime;
     }
 
+    @NotBlank(message = "Location is required")
+    @Length(min = 1, max = 100, message = "Location must be between 1 and 100 characters")
     public String getLocation() {
+        if (location == null && place != null) {
+            return place.getName();
+        }
         return location;
     }
 
@@ -84,6 +109,15 @@ public class Schedule extends BaseEntity {
         this.location = location;
     }
 
+    public Location getPlace() {
+        return place;
+    }
+
+    public void setPlace(Location place) {
+        this.place = place;
+        this.location = null;
+    }
+
     public String getNotes() {
         return notes;
     }
@@ -92,6 +126,14 @@ public class Schedule extends BaseEntity {
         this.notes = notes;
     }
 
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
     // Business methods
     public void validate() {
         if (student == null) {
@@ -106,7 +148,8 @@ public class Schedule extends BaseEntity {
         if (endTime.isBefore(startTime) || endTime.isEqual(startTime)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
-        if (location == null || location.trim().isEmpty()) {
+        String locationName = getLocation();
+        if (locationName == null || locationName.trim().isEmpty()) {
             throw new IllegalArgumentException("Location is required");
         }
     }
@@ -146,7 +189,7 @@ public class Schedule extends BaseEntity {
                 ", student=" + (student != null ? student.getName() : "null") +
                 ", startTime=" + startTime +
                 ", endTime=" + endTime +
-                ", location='" + location + '\'' +
+                ", location='" + getLocation() + '\'' +
                 ", status='" + getStatus() + '\'' +
                 ", createdAt=" + getCreatedAt() +
                 ", updatedAt=" + getUpdatedAt() +
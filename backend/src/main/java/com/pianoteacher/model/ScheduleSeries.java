@@ -0,0 +1,291 @@
+package com.pianoteacher.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.validator.constraints.Length;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A recurring lesson: the same weekday, time and location every one or two weeks
+ * between {@code startDate} and {@code endDate} (inclusive), minus any exception dates.
+ *
+ * Occurrences up to {@code materializedThrough} exist as {@link Schedule} rows linked
+ * by {@code seriesId}; later occurrences are expanded from the rule on read.
+ */
+@Entity
+@Table(name = "schedule_series", indexes = {
+    @Index(name = "idx_schedule_series_student_id", columnList = "student_id"),
+    @Index(name = "idx_schedule_series_dates", columnList = "start_date, end_date")
+})
+@NamedEntityGraph(name = ScheduleSeries.WITH_STUDENT,
+    attributeNodes = @NamedAttributeNode(value = "student", subgraph = "student"),
+    subgraphs = @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode("pricing")))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ScheduleSeries extends BaseEntity {
+
+    // Loads the student and its pricing with the series, see the list queries in ScheduleSeriesRepository
+    public static final String WITH_STUDENT = "ScheduleSeries.withStudent";
+
+    public static final int MAX_SPAN_DAYS = 366;
+    public static final int MAX_DURATION_MINUTES = 480;
+
+    @NotNull(message = "Student is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @NotBlank(message = "Frequency is required")
+    @Column(name = "frequency", nullable = false, length = 20)
+    private String frequency;
+
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @NotNull(message = "Start time is required")
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @NotNull(message = "Duration is required")
+    @Positive(message = "Duration must be positive")
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @NotBlank(message = "Location is required")
+    @Length(min = 1, max = 100, message = "Location must be between 1 and 100 characters")
+    @Column(name = "location", nullable = false, length = 100)
+    private String location;
+
+    @Lob
+    @Column(name = "notes")
+    private String notes;
+
+    @ElementCollection
+    @CollectionTable(name = "schedule_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "exception_date", nullable = false)
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
+    @Column(name = "materialized_through")
+    private LocalDate materializedThrough;
+
+    // Constructors
+    public ScheduleSeries() {
+    }
+
+    public ScheduleSeries(Student student, String frequency, LocalDate startDate, LocalDate endDate,
+                          LocalTime startTime, Integer durationMinutes, String location) {
+        this.student = student;
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.durationMinutes = durationMinutes;
+        this.location = location;
+    }
+
+    // Getters and Setters
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public Set<LocalDate> getExceptionDates() {
+        return exceptionDates;
+    }
+
+    public void setExceptionDates(Set<LocalDate> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+
+    public LocalDate getMaterializedThrough() {
+        return materializedThrough;
+    }
+
+    public void setMaterializedThrough(LocalDate materializedThrough) {
+        this.materializedThrough = materializedThrough;
+    }
+
+    // Business methods
+    public void validate() {
+        if (student == null) {
+            throw new IllegalArgumentException("Student is required");
+        }
+        if (frequency == null || !isValidFrequency(frequency)) {
+            throw new IllegalArgumentException("Invalid frequency. Must be one of: " + Arrays.toString(Frequency.values()));
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date are required");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_SPAN_DAYS) {
+            throw new IllegalArgumentException("A series can span at most " + MAX_SPAN_DAYS + " days");
+        }
+        if (startTime == null) {
+            throw new IllegalArgumentException("Start time is required");
+        }
+        if (durationMinutes == null || durationMinutes < 1 || durationMinutes > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION_MINUTES + " minutes");
+        }
+        if (location == null || location.trim().isEmpty()) {
+            throw new IllegalArgumentException("Location is required");
+        }
+    }
+
+    private boolean isValidFrequency(String frequency) {
+        return Arrays.stream(Frequency.values())
+                .anyMatch(value -> value.name().equals(frequency));
+    }
+
+    public int getIntervalDays() {
+        return Frequency.valueOf(frequency).getIntervalWeeks() * 7;
+    }
+
+    /**
+     * Occurrence dates in {@code [from, toExclusive)}, in ascending order, skipping
+     * exception dates. Jumps straight to the first occurrence on or after {@code from}.
+     */
+    public List<LocalDate> occurrenceDates(LocalDate from, LocalDate toExclusive) {
+        int intervalDays = getIntervalDays();
+        LocalDate first = startDate;
+        if (from.isAfter(startDate)) {
+            long steps = (ChronoUnit.DAYS.between(startDate, from) + intervalDays - 1) / intervalDays;
+            first = startDate.plusDays(steps * intervalDays);
+        }
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = first; date.isBefore(toExclusive) && !date.isAfter(endDate); date = date.plusDays(intervalDays)) {
+            if (!exceptionDates.contains(date)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    public boolean isOccurrenceDate(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate)
+                && ChronoUnit.DAYS.between(startDate, date) % getIntervalDays() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleSeries{" +
+                "id=" + getId() +
+                ", student=" + (student != null ? student.getName() : "null") +
+                ", frequency='" + frequency + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", startTime=" + startTime +
+                ", durationMinutes=" + durationMinutes +
+                ", location='" + location + '\'' +
+                ", materializedThrough=" + materializedThrough +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ScheduleSeries that = (ScheduleSeries) o;
+
+        if (getId() != null && that.getId() != null) {
+            return getId().equals(that.getId());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
+
+    // Recurrence frequency enum
+    public enum Frequency {
+        WEEKLY(1),
+        BIWEEKLY(2);
+
+        private final int intervalWeeks;
+
+        Frequency(int intervalWeeks) {
+            this.intervalWeeks = intervalWeeks;
+        }
+
+        public int getIntervalWeeks() {
+            return intervalWeeks;
+        }
+    }
+}
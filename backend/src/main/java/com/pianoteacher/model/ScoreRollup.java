@@ -0,0 +1,76 @@
+package com.pianoteacher.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Count, sum, minimum and maximum of one score over the reports in a
+ * {@link ProgressRollup} bucket. Column names are set by the owning entity.
+ */
+@Embeddable
+public class ScoreRollup {
+
+    @Column(nullable = false)
+    private long count;
+
+    @Column(nullable = false)
+    private double sum;
+
+    private Double min;
+
+    private Double max;
+
+    public ScoreRollup() {
+    }
+
+    // Getters
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public Double getAverage() {
+        return count > 0 ? sum / count : null;
+    }
+
+    // Business methods
+    public void add(double score) {
+        count++;
+        sum += score;
+        min = min == null ? score : Math.min(min, score);
+        max = max == null ? score : Math.max(max, score);
+    }
+
+    /**
+     * Takes a score back out. Count and sum stay exact, but a score equal to the
+     * minimum or maximum may have been the only one, so {@code false} tells the
+     * caller to recompute the bucket from its reports.
+     */
+    public boolean remove(double score) {
+        count--;
+        if (count <= 0) {
+            reset();
+            return true;
+        }
+        sum -= score;
+        return score > min && score < max;
+    }
+
+    public void reset() {
+        count = 0;
+        sum = 0.0;
+        min = null;
+        max = null;
+    }
+}
@@ -1,8 +1,11 @@
 package com.pianoteacher.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.pianoteacher.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.Length;
 
 import java.util.regex.Pattern;
@@ -13,9 +16,15 @@ import java.util.regex.Pattern;
     @Index(name = "idx_student_email", columnList = "email"),
     @Index(name = "idx_student_created_at", columnList = "created_at")
 })
+@NamedEntityGraph(name = Student.WITH_PRICING, attributeNodes = @NamedAttributeNode("pricing"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STUDENT_REGION)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Student extends BaseEntity {
 
+    // Loads the pricing with the student, see the list queries in StudentRepository
+    public static final String WITH_PRICING = "Student.withPricing";
+
     @NotBlank(message = "Name is required")
     @Length(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
     @Column(name = "name", nullable = false, length = 100)
@@ -1,79 +1,112 @@
 package com.pianoteacher.repository;
 
+import com.pianoteacher.dto.LessonContentSummaryDTO;
+import com.pianoteacher.dto.LessonStatsDTO;
 import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.LessonContent.ContentType;
 import com.pianoteacher.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LessonContentRepository extends JpaRepository<LessonContent, Long> {
 
+    // List views select the summary columns only, never the @Lob notes
+    String SUMMARY_SELECT = "SELECT new com.pianoteacher.dto.LessonContentSummaryDTO(lc.id, s.id, s.name, lc.title, " +
+            "lc.description, lc.contentType, lc.difficultyLevel, lc.estimatedDuration, lc.completed, lc.completionDate) " +
+            "FROM LessonContent lc JOIN lc.student s ";
+
+    // Entity reads load the student and its pricing in the same query, so serializing a list never goes back per row
+    @Override
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    List<LessonContent> findAll();
+
     // Find by student
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByStudent(Student student);
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByStudentId(Long studentId);
 
     // Find by content type
-    List<LessonContent> findByContentType(String contentType);
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    List<LessonContent> findByContentType(ContentType contentType);
 
     // Find by difficulty level
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByDifficultyLevel(Integer difficultyLevel);
 
     // Find by completion status
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByCompleted(Boolean completed);
 
     // Find by student and content type
-    List<LessonContent> findByStudentIdAndContentType(Long studentId, String contentType);
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    List<LessonContent> findByStudentIdAndContentType(Long studentId, ContentType contentType);
 
     // Find by student and difficulty level
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByStudentIdAndDifficultyLevel(Long studentId, Integer difficultyLevel);
 
     // Find by student and completion status
+    @EntityGraph(LessonContent.WITH_STUDENT)
     List<LessonContent> findByStudentIdAndCompleted(Long studentId, Boolean completed);
 
     // Find by difficulty range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.difficultyLevel BETWEEN :minLevel AND :maxLevel")
     List<LessonContent> findByDifficultyRange(@Param("minLevel") Integer minLevel, @Param("maxLevel") Integer maxLevel);
 
     // Find by student and difficulty range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.difficultyLevel BETWEEN :minLevel AND :maxLevel")
     List<LessonContent> findByStudentIdAndDifficultyRange(@Param("studentId") Long studentId, 
                                                             @Param("minLevel") Integer minLevel, 
                                                             @Param("maxLevel") Integer maxLevel);
 
     // Find by estimated duration range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.estimatedDuration BETWEEN :minDuration AND :maxDuration")
     List<LessonContent> findByDurationRange(@Param("minDuration") Integer minDuration, @Param("maxDuration") Integer maxDuration);
 
     // Find by student and estimated duration range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.estimatedDuration BETWEEN :minDuration AND :maxDuration")
     List<LessonContent> findByStudentIdAndDurationRange(@Param("studentId") Long studentId,
                                                           @Param("minDuration") Integer minDuration, 
                                                           @Param("maxDuration") Integer maxDuration);
 
     // Find by completion date range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.completionDate BETWEEN :startDate AND :endDate")
     List<LessonContent> findByCompletionDateRange(@Param("startDate") LocalDateTime startDate, 
                                                    @Param("endDate") LocalDateTime endDate);
 
     // Find by student and completion date range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.completionDate BETWEEN :startDate AND :endDate")
     List<LessonContent> findByStudentIdAndCompletionDateRange(@Param("studentId") Long studentId,
                                                                @Param("startDate") LocalDateTime startDate,
                                                                @Param("endDate") LocalDateTime endDate);
 
-    // Search by title or description
-    @Query("SELECT lc FROM LessonContent lc WHERE lc.title LIKE %:searchTerm% OR lc.description LIKE %:searchTerm%")
-    List<LessonContent> searchByTitleOrDescription(@Param("searchTerm") String searchTerm);
+    // Searchable text used to build the lesson search index
+    @Query("SELECT lc.id, lc.student.id, lc.title, lc.description FROM LessonContent lc")
+    List<Object[]> findSearchableText();
 
-    // Search by student and title or description
-    @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND (lc.title LIKE %:searchTerm% OR lc.description LIKE %:searchTerm%)")
-    List<LessonContent> searchByStudentAndTitleOrDescription(@Param("studentId") Long studentId,
-                                                               @Param("searchTerm") String searchTerm);
+    // Load search hits by id with their student
+    @Query("SELECT lc FROM LessonContent lc JOIN FETCH lc.student s LEFT JOIN FETCH s.pricing WHERE lc.id IN :ids")
+    List<LessonContent> findWithStudentByIdIn(@Param("ids") Collection<Long> ids);
 
     // Count by content type
     @Query("SELECT lc.contentType, COUNT(lc) FROM LessonContent lc GROUP BY lc.contentType")
@@ -92,33 +125,82 @@ public interface LessonContentRepository extends JpaRepository<LessonContent, Lo
     List<Object[]> countByCompletionStatus();
 
     // Find uncompleted content for a student
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.completed = false ORDER BY lc.difficultyLevel")
     List<LessonContent> findUncompletedByStudent(@Param("studentId") Long studentId);
 
     // Find recently completed content
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.completed = true ORDER BY lc.completionDate DESC")
     List<LessonContent> findRecentlyCompleted();
 
     // Find recently completed content by student
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.completed = true ORDER BY lc.completionDate DESC")
     List<LessonContent> findRecentlyCompletedByStudent(@Param("studentId") Long studentId);
 
     // Find content created within date range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.createdAt BETWEEN :startDate AND :endDate")
     List<LessonContent> findByCreationDateRange(@Param("startDate") LocalDateTime startDate,
                                                    @Param("endDate") LocalDateTime endDate);
 
     // Find content by student created within date range
+    @EntityGraph(LessonContent.WITH_STUDENT)
     @Query("SELECT lc FROM LessonContent lc WHERE lc.student.id = :studentId AND lc.createdAt BETWEEN :startDate AND :endDate")
     List<LessonContent> findByStudentIdAndCreationDateRange(@Param("studentId") Long studentId,
                                                              @Param("startDate") LocalDateTime startDate,
                                                              @Param("endDate") LocalDateTime endDate);
 
-    // Get completion statistics for a student
-    @Query("SELECT COUNT(lc), COUNT(CASE WHEN lc.completed = true THEN 1 END) FROM LessonContent lc WHERE lc.student.id = :studentId")
-    Object[] getStudentCompletionStats(@Param("studentId") Long studentId);
+    // Get completion statistics for a student; content never marked either way counts as incomplete
+    @Query("SELECT new com.pianoteacher.dto.LessonStatsDTO(COUNT(lc), COUNT(CASE WHEN lc.completed = true THEN 1 END), " +
+           "COUNT(CASE WHEN lc.completed = false OR lc.completed IS NULL THEN 1 END)) " +
+           "FROM LessonContent lc WHERE lc.student.id = :studentId")
+    LessonStatsDTO getStudentCompletionStats(@Param("studentId") Long studentId);
 
     // Get overall completion statistics
-    @Query("SELECT COUNT(lc), COUNT(CASE WHEN lc.completed = true THEN 1 END) FROM LessonContent lc")
-    Object[] getOverallCompletionStats();
+    @Query("SELECT new com.pianoteacher.dto.LessonStatsDTO(COUNT(lc), COUNT(CASE WHEN lc.completed = true THEN 1 END), " +
+           "COUNT(CASE WHEN lc.completed = false OR lc.completed IS NULL THEN 1 END)) " +
+           "FROM LessonContent lc")
+    LessonStatsDTO getOverallCompletionStats();
+
+    // Difficulty of the content open during [from, to) and of the part completed in it, per student and type
+    @Query("SELECT lc.student.id, lc.contentType, SUM(lc.difficultyLevel), " +
+           "SUM(CASE WHEN lc.completed = true AND lc.completionDate >= :from AND lc.completionDate < :to " +
+           "THEN lc.difficultyLevel ELSE 0 END) " +
+           "FROM LessonContent lc WHERE lc.student.id IN :studentIds AND lc.createdAt < :to " +
+           "AND (lc.completed IS NULL OR lc.completed = false OR lc.completionDate >= :from) " +
+           "GROUP BY lc.student.id, lc.contentType")
+    List<Object[]> sumDifficultyByStudentAndType(@Param("studentIds") Collection<Long> studentIds,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    // Count-only completion queries
+    long countByCompleted(Boolean completed);
+
+    // Same definition of incomplete as the completion statistics
+    @Query("SELECT COUNT(lc) FROM LessonContent lc WHERE lc.completed = false OR lc.completed IS NULL")
+    long countIncomplete();
+
+    // Summaries for list views
+    @Query(SUMMARY_SELECT + "ORDER BY lc.id")
+    List<LessonContentSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId ORDER BY lc.id")
+    List<LessonContentSummaryDTO> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    // Keyset pagination by id
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    List<LessonContent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    List<LessonContent> findByStudentIdAndIdGreaterThanOrderByIdAsc(Long studentId, Long afterId, Pageable pageable);
+
+    // Stream all rows in id order, fetched from the driver in batches
+    @EntityGraph(LessonContent.WITH_STUDENT)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT lc FROM LessonContent lc ORDER BY lc.id")
+    Stream<LessonContent> streamAllOrderedById();
 }
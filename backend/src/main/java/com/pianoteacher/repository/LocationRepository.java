@@ -0,0 +1,29 @@
+package com.pianoteacher.repository;
+
+import com.pianoteacher.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    // Find by normalized name
+    Optional<Location> findByNameKey(String nameKey);
+
+    // Insert the location unless one with its name key exists; 0 when it does. A location
+    // inserted by a concurrent transaction is waited for rather than failing this one
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "locations"))
+    @Query(value = "INSERT INTO locations (id, created_at, updated_at, version, name, name_key) " +
+            "VALUES (nextval('location_seq'), LOCALTIMESTAMP, LOCALTIMESTAMP, 0, :#{#location.name}, :#{#location.nameKey}) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("location") Location location);
+}
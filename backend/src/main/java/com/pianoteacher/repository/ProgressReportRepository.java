@@ -1,71 +1,136 @@
 package com.pianoteacher.repository;
 
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
 import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressReport.ReportType;
 import com.pianoteacher.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProgressReportRepository extends JpaRepository<ProgressReport, Long> {
 
+    // List views select the summary columns only, never the @Lob text fields
+    String SUMMARY_SELECT = "SELECT new com.pianoteacher.dto.ProgressReportSummaryDTO(pr.id, s.id, s.name, pr.reportType, " +
+            "pr.reportPeriod, pr.overallProgress, pr.technicalSkills, pr.theoryKnowledge, pr.repertoireSkills, " +
+            "pr.practiceHabits, pr.reportDate) FROM ProgressReport pr JOIN pr.student s ";
+
+    // Entity reads load the student and its pricing in the same query, so serializing a list never goes back per row
+    @Override
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findAll();
+
     // Find by student
+    @EntityGraph(ProgressReport.WITH_STUDENT)
     List<ProgressReport> findByStudent(Student student);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
     List<ProgressReport> findByStudentId(Long studentId);
 
     // Find by report type
-    List<ProgressReport> findByReportType(String reportType);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByReportType(ReportType reportType);
 
     // Find by report period
-    List<ProgressReport> findByReportPeriod(String reportPeriod);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByReportPeriod(YearMonth reportPeriod);
 
     // Find by student and report type
-    List<ProgressReport> findByStudentIdAndReportType(Long studentId, String reportType);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByStudentIdAndReportType(Long studentId, ReportType reportType);
 
     // Find by student and report period
-    List<ProgressReport> findByStudentIdAndReportPeriod(Long studentId, String reportPeriod);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByStudentIdAndReportPeriod(Long studentId, YearMonth reportPeriod);
 
     // Find by student, report type, and period
-    List<ProgressReport> findByStudentIdAndReportTypeAndReportPeriod(Long studentId, String reportType, String reportPeriod);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByStudentIdAndReportTypeAndReportPeriod(Long studentId, ReportType reportType, YearMonth reportPeriod);
+
+    // Summaries for list views
+    @Query(SUMMARY_SELECT + "ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.reportType = :reportType ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByReportType(@Param("reportType") ReportType reportType);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.reportPeriod = :reportPeriod ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByReportPeriod(@Param("reportPeriod") YearMonth reportPeriod);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportType = :reportType ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByStudentIdAndReportType(@Param("studentId") Long studentId,
+                                                                        @Param("reportType") ReportType reportType);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportPeriod = :reportPeriod ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByStudentIdAndReportPeriod(@Param("studentId") Long studentId,
+                                                                          @Param("reportPeriod") YearMonth reportPeriod);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportType = :reportType AND pr.reportPeriod = :reportPeriod ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByStudentIdAndReportTypeAndReportPeriod(@Param("studentId") Long studentId,
+                                                                                       @Param("reportType") ReportType reportType,
+                                                                                       @Param("reportPeriod") YearMonth reportPeriod);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.id IN :ids ORDER BY s.id, pr.reportType")
+    List<ProgressReportSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     // Find by report date range
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.reportDate BETWEEN :startDate AND :endDate")
-    List<ProgressReport> findByReportDateRange(@Param("startDate") LocalDateTime startDate, 
-                                                 @Param("endDate") LocalDateTime endDate);
+    @Query(SUMMARY_SELECT + "WHERE pr.reportDate BETWEEN :startDate AND :endDate")
+    List<ProgressReportSummaryDTO> findByReportDateRange(@Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate);
 
     // Find by student and report date range
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.reportDate BETWEEN :startDate AND :endDate")
-    List<ProgressReport> findByStudentIdAndReportDateRange(@Param("studentId") Long studentId,
-                                                           @Param("startDate") LocalDateTime startDate,
-                                                           @Param("endDate") LocalDateTime endDate);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportDate BETWEEN :startDate AND :endDate")
+    List<ProgressReportSummaryDTO> findByStudentIdAndReportDateRange(@Param("studentId") Long studentId,
+                                                                     @Param("startDate") LocalDateTime startDate,
+                                                                     @Param("endDate") LocalDateTime endDate);
+
+    // Reports in a rollup bucket, start inclusive and end exclusive
+    @Query(SUMMARY_SELECT + "WHERE pr.reportDate >= :from AND pr.reportDate < :to")
+    List<ProgressReportSummaryDTO> findSummariesReportedBetween(@Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportDate >= :from AND pr.reportDate < :to")
+    List<ProgressReportSummaryDTO> findSummariesByStudentIdReportedBetween(@Param("studentId") Long studentId,
+                                                                           @Param("from") LocalDateTime from,
+                                                                           @Param("to") LocalDateTime to);
 
     // Find by overall progress range
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.overallProgress BETWEEN :minProgress AND :maxProgress")
-    List<ProgressReport> findByOverallProgressRange(@Param("minProgress") Double minProgress, 
-                                                     @Param("maxProgress") Double maxProgress);
+    @Query(SUMMARY_SELECT + "WHERE pr.overallProgress BETWEEN :minProgress AND :maxProgress")
+    List<ProgressReportSummaryDTO> findByOverallProgressRange(@Param("minProgress") Double minProgress,
+                                                              @Param("maxProgress") Double maxProgress);
 
     // Find by student and overall progress range
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.overallProgress BETWEEN :minProgress AND :maxProgress")
-    List<ProgressReport> findByStudentIdAndOverallProgressRange(@Param("studentId") Long studentId,
-                                                                 @Param("minProgress") Double minProgress,
-                                                                 @Param("maxProgress") Double maxProgress);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.overallProgress BETWEEN :minProgress AND :maxProgress")
+    List<ProgressReportSummaryDTO> findByStudentIdAndOverallProgressRange(@Param("studentId") Long studentId,
+                                                                          @Param("minProgress") Double minProgress,
+                                                                          @Param("maxProgress") Double maxProgress);
 
-    // Find latest report for each student
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.id IN " +
-           "(SELECT MAX(pr2.id) FROM ProgressReport pr2 WHERE pr2.student.id = pr.student.id)")
-    List<ProgressReport> findLatestReportsForAllStudents();
+    // Report keys used to build the latest-report read model
+    @Query("SELECT pr.id, pr.student.id, pr.reportType FROM ProgressReport pr")
+    List<Object[]> findReportKeys();
 
     // Find latest report for specific student
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId ORDER BY pr.reportDate DESC")
-    List<ProgressReport> findLatestReportsByStudent(@Param("studentId") Long studentId);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId ORDER BY pr.reportDate DESC")
+    List<ProgressReportSummaryDTO> findLatestReportsByStudent(@Param("studentId") Long studentId);
 
     // Find latest report for specific student by type
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.reportType = :reportType ORDER BY pr.reportDate DESC")
-    List<ProgressReport> findLatestReportsByStudentAndType(@Param("studentId") Long studentId, @Param("reportType") String reportType);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.reportType = :reportType ORDER BY pr.reportDate DESC")
+    List<ProgressReportSummaryDTO> findLatestReportsByStudentAndType(@Param("studentId") Long studentId, @Param("reportType") ReportType reportType);
 
     // Count reports by student
     @Query("SELECT pr.student.id, COUNT(pr) FROM ProgressReport pr GROUP BY pr.student.id")
@@ -79,71 +144,71 @@ public interface ProgressReportRepository extends JpaRepository<ProgressReport,
     @Query("SELECT pr.reportPeriod, COUNT(pr) FROM ProgressReport pr GROUP BY pr.reportPeriod ORDER BY pr.reportPeriod")
     List<Object[]> countReportsByPeriod();
 
-    // Get average progress by student
-    @Query("SELECT pr.student.id, AVG(pr.overallProgress) FROM ProgressReport pr GROUP BY pr.student.id")
-    List<Object[]> getAverageProgressByStudent();
-
-    // Get average progress by report type
-    @Query("SELECT pr.reportType, AVG(pr.overallProgress) FROM ProgressReport pr GROUP BY pr.reportType")
-    List<Object[]> getAverageProgressByReportType();
-
-    // Get progress trend for student
-    @Query("SELECT pr.reportDate, pr.overallProgress FROM ProgressReport pr WHERE pr.student.id = :studentId ORDER BY pr.reportDate")
-    List<Object[]> getProgressTrendForStudent(@Param("studentId") Long studentId);
-
-    // Get progress trend for all students
-    @Query("SELECT pr.reportDate, AVG(pr.overallProgress) FROM ProgressReport pr GROUP BY pr.reportDate ORDER BY pr.reportDate")
-    List<Object[]> getOverallProgressTrend();
-
     // Find reports with high performance
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.overallProgress >= :threshold")
-    List<ProgressReport> findHighPerformingReports(@Param("threshold") Double threshold);
+    @Query(SUMMARY_SELECT + "WHERE pr.overallProgress >= :threshold")
+    List<ProgressReportSummaryDTO> findHighPerformingReports(@Param("threshold") Double threshold);
 
     // Find reports with low performance
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.overallProgress <= :threshold")
-    List<ProgressReport> findLowPerformingReports(@Param("threshold") Double threshold);
+    @Query(SUMMARY_SELECT + "WHERE pr.overallProgress <= :threshold")
+    List<ProgressReportSummaryDTO> findLowPerformingReports(@Param("threshold") Double threshold);
 
     // Find reports with high performance by student
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.overallProgress >= :threshold")
-    List<ProgressReport> findHighPerformingReportsByStudent(@Param("studentId") Long studentId, @Param("threshold") Double threshold);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.overallProgress >= :threshold")
+    List<ProgressReportSummaryDTO> findHighPerformingReportsByStudent(@Param("studentId") Long studentId, @Param("threshold") Double threshold);
 
     // Find reports with low performance by student
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.overallProgress <= :threshold")
-    List<ProgressReport> findLowPerformingReportsByStudent(@Param("studentId") Long studentId, @Param("threshold") Double threshold);
-
-    // Get skill averages across all reports
-    @Query("SELECT AVG(pr.technicalSkills), AVG(pr.theoryKnowledge), AVG(pr.repertoireSkills), AVG(pr.practiceHabits) FROM ProgressReport pr WHERE pr.technicalSkills IS NOT NULL AND pr.theoryKnowledge IS NOT NULL AND pr.repertoireSkills IS NOT NULL AND pr.practiceHabits IS NOT NULL")
-    Object[] getOverallSkillAverages();
-
-    // Get skill averages for specific student
-    @Query("SELECT AVG(pr.technicalSkills), AVG(pr.theoryKnowledge), AVG(pr.repertoireSkills), AVG(pr.practiceHabits) FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.technicalSkills IS NOT NULL AND pr.theoryKnowledge IS NOT NULL AND pr.repertoireSkills IS NOT NULL AND pr.practiceHabits IS NOT NULL")
-    Object[] getSkillAveragesForStudent(@Param("studentId") Long studentId);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :studentId AND pr.overallProgress <= :threshold")
+    List<ProgressReportSummaryDTO> findLowPerformingReportsByStudent(@Param("studentId") Long studentId, @Param("threshold") Double threshold);
 
     // Find reports created within date range
+    @EntityGraph(ProgressReport.WITH_STUDENT)
     @Query("SELECT pr FROM ProgressReport pr WHERE pr.createdAt BETWEEN :startDate AND :endDate")
     List<ProgressReport> findByCreationDateRange(@Param("startDate") LocalDateTime startDate,
                                                  @Param("endDate") LocalDateTime endDate);
 
     // Find reports by student created within date range
+    @EntityGraph(ProgressReport.WITH_STUDENT)
     @Query("SELECT pr FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.createdAt BETWEEN :startDate AND :endDate")
     List<ProgressReport> findByStudentIdAndCreationDateRange(@Param("studentId") Long studentId,
                                                              @Param("startDate") LocalDateTime startDate,
                                                              @Param("endDate") LocalDateTime endDate);
 
-    // Get performance statistics
-    @Query("SELECT COUNT(pr), AVG(pr.overallProgress), MIN(pr.overallProgress), MAX(pr.overallProgress) FROM ProgressReport pr")
-    Object[] getOverallPerformanceStatistics();
-
-    // Get performance statistics for student
-    @Query("SELECT COUNT(pr), AVG(pr.overallProgress), MIN(pr.overallProgress), MAX(pr.overallProgress) FROM ProgressReport pr WHERE pr.student.id = :studentId")
-    Object[] getPerformanceStatisticsForStudent(@Param("studentId") Long studentId);
-
-    // Find most recent report for each student by type
-    @Query("SELECT pr FROM ProgressReport pr WHERE pr.id IN " +
-           "(SELECT MAX(pr2.id) FROM ProgressReport pr2 WHERE pr2.student.id = pr.student.id AND pr2.reportType = pr.reportType)")
-    List<ProgressReport> findMostRecentReportsByType();
-
     // Check if report exists for student, type, and period
     @Query("SELECT CASE WHEN COUNT(pr) > 0 THEN true ELSE false END FROM ProgressReport pr WHERE pr.student.id = :studentId AND pr.reportType = :reportType AND pr.reportPeriod = :reportPeriod")
-    boolean existsByStudentAndTypeAndPeriod(@Param("studentId") Long studentId, @Param("reportType") String reportType, @Param("reportPeriod") String reportPeriod);
+    boolean existsByStudentAndTypeAndPeriod(@Param("studentId") Long studentId, @Param("reportType") ReportType reportType, @Param("reportPeriod") YearMonth reportPeriod);
+
+    // Students among ids that already have a report of this type and period
+    @Query("SELECT pr.student.id FROM ProgressReport pr WHERE pr.student.id IN :studentIds " +
+            "AND pr.reportType = :reportType AND pr.reportPeriod = :reportPeriod")
+    List<Long> findStudentIdsWithReport(@Param("studentIds") Collection<Long> studentIds,
+                                        @Param("reportType") ReportType reportType,
+                                        @Param("reportPeriod") YearMonth reportPeriod);
+
+    // Keyset pagination by id
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    List<ProgressReport> findByStudentIdAndIdGreaterThanOrderByIdAsc(Long studentId, Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.reportType = :reportType AND pr.id > :afterId ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByReportTypeAfterId(@Param("reportType") ReportType reportType,
+                                                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.reportPeriod = :reportPeriod AND pr.id > :afterId ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findSummariesByReportPeriodAfterId(@Param("reportPeriod") YearMonth reportPeriod,
+                                                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE pr.reportDate BETWEEN :startDate AND :endDate AND pr.id > :afterId ORDER BY pr.id")
+    List<ProgressReportSummaryDTO> findByReportDateRangeAfterId(@Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate,
+                                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    // Stream all rows in id order, fetched from the driver in batches
+    @EntityGraph(ProgressReport.WITH_STUDENT)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT pr FROM ProgressReport pr ORDER BY pr.id")
+    Stream<ProgressReport> streamAllOrderedById();
 }
@@ -0,0 +1,105 @@
+package com.pianoteacher.repository;
+
+import com.pianoteacher.model.ProgressRollup;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProgressRollupRepository extends JpaRepository<ProgressRollup, Long> {
+
+    // Find a single bucket
+    Optional<ProgressRollup> findByGranularityAndBucketStartAndStudentIdAndReportType(String granularity, LocalDate bucketStart,
+                                                                                      Long studentId, String reportType);
+
+    // Lock a bucket for the report write that changes it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ProgressRollup r WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart " +
+            "AND r.studentId = :studentId AND r.reportType = :reportType")
+    Optional<ProgressRollup> findForUpdate(@Param("granularity") String granularity,
+                                           @Param("bucketStart") LocalDate bucketStart,
+                                           @Param("studentId") Long studentId,
+                                           @Param("reportType") String reportType);
+
+    // Add the counts, sums and extremes of delta to the bucket with its key; 0 when the bucket does not exist
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProgressRollup r SET r.version = r.version + 1, " +
+            "r.overall.count = r.overall.count + :#{#delta.overall.count}, " +
+            "r.overall.sum = r.overall.sum + :#{#delta.overall.sum}, " +
+            "r.overall.min = CASE WHEN r.overall.min IS NULL OR r.overall.min > :#{#delta.overall.min} " +
+            "THEN :#{#delta.overall.min} ELSE r.overall.min END, " +
+            "r.overall.max = CASE WHEN r.overall.max IS NULL OR r.overall.max < :#{#delta.overall.max} " +
+            "THEN :#{#delta.overall.max} ELSE r.overall.max END, " +
+            "r.technicalSkills.count = r.technicalSkills.count + :#{#delta.technicalSkills.count}, " +
+            "r.technicalSkills.sum = r.technicalSkills.sum + :#{#delta.technicalSkills.sum}, " +
+            "r.technicalSkills.min = CASE WHEN r.technicalSkills.min IS NULL OR r.technicalSkills.min > :#{#delta.technicalSkills.min} " +
+            "THEN :#{#delta.technicalSkills.min} ELSE r.technicalSkills.min END, " +
+            "r.technicalSkills.max = CASE WHEN r.technicalSkills.max IS NULL OR r.technicalSkills.max < :#{#delta.technicalSkills.max} " +
+            "THEN :#{#delta.technicalSkills.max} ELSE r.technicalSkills.max END, " +
+            "r.theoryKnowledge.count = r.theoryKnowledge.count + :#{#delta.theoryKnowledge.count}, " +
+            "r.theoryKnowledge.sum = r.theoryKnowledge.sum + :#{#delta.theoryKnowledge.sum}, " +
+            "r.theoryKnowledge.min = CASE WHEN r.theoryKnowledge.min IS NULL OR r.theoryKnowledge.min > :#{#delta.theoryKnowledge.min} " +
+            "THEN :#{#delta.theoryKnowledge.min} ELSE r.theoryKnowledge.min END, " +
+            "r.theoryKnowledge.max = CASE WHEN r.theoryKnowledge.max IS NULL OR r.theoryKnowledge.max < :#{#delta.theoryKnowledge.max} " +
+            "THEN :#{#delta.theoryKnowledge.max} ELSE r.theoryKnowledge.max END, " +
+            "r.repertoireSkills.count = r.repertoireSkills.count + :#{#delta.repertoireSkills.count}, " +
+            "r.repertoireSkills.sum = r.repertoireSkills.sum + :#{#delta.repertoireSkills.sum}, " +
+            "r.repertoireSkills.min = CASE WHEN r.repertoireSkills.min IS NULL OR r.repertoireSkills.min > :#{#delta.repertoireSkills.min} " +
+            "THEN :#{#delta.repertoireSkills.min} ELSE r.repertoireSkills.min END, " +
+            "r.repertoireSkills.max = CASE WHEN r.repertoireSkills.max IS NULL OR r.repertoireSkills.max < :#{#delta.repertoireSkills.max} " +
+            "THEN :#{#delta.repertoireSkills.max} ELSE r.repertoireSkills.max END, " +
+            "r.practiceHabits.count = r.practiceHabits.count + :#{#delta.practiceHabits.count}, " +
+            "r.practiceHabits.sum = r.practiceHabits.sum + :#{#delta.practiceHabits.sum}, " +
+            "r.practiceHabits.min = CASE WHEN r.practiceHabits.min IS NULL OR r.practiceHabits.min > :#{#delta.practiceHabits.min} " +
+            "THEN :#{#delta.practiceHabits.min} ELSE r.practiceHabits.min END, " +
+            "r.practiceHabits.max = CASE WHEN r.practiceHabits.max IS NULL OR r.practiceHabits.max < :#{#delta.practiceHabits.max} " +
+            "THEN :#{#delta.practiceHabits.max} ELSE r.practiceHabits.max END " +
+            "WHERE r.granularity = :#{#delta.granularity} AND r.bucketStart = :#{#delta.bucketStart} " +
+            "AND r.studentId = :#{#delta.studentId} AND r.reportType = :#{#delta.reportType}")
+    int addToBucket(@Param("delta") ProgressRollup delta);
+
+    // Insert an empty bucket with the key of delta unless it exists; 0 when it does. A bucket
+    // inserted by a concurrent transaction is waited for rather than failing this one
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "progress_rollups"))
+    @Query(value = "INSERT INTO progress_rollups (id, created_at, updated_at, version, granularity, bucket_start, " +
+            "student_id, report_type, overall_count, overall_sum, technical_count, technical_sum, theory_count, " +
+            "theory_sum, repertoire_count, repertoire_sum, practice_count, practice_sum) " +
+            "VALUES (nextval('progress_rollup_seq'), LOCALTIMESTAMP, LOCALTIMESTAMP, 0, :#{#delta.granularity}, " +
+            ":#{#delta.bucketStart}, :#{#delta.studentId}, " +
+            ":#{T(com.pianoteacher.model.RollupReportTypeConverter).code(#delta.reportType)}, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertBucketIfAbsent(@Param("delta") ProgressRollup delta);
+
+    // Trend buckets in date order; buckets emptied by deletes are kept and skipped here
+    @Query("SELECT r FROM ProgressRollup r WHERE r.granularity = :granularity AND r.studentId = :studentId " +
+            "AND r.reportType = :reportType AND r.overall.count > 0 ORDER BY r.bucketStart")
+    List<ProgressRollup> findTrend(@Param("granularity") String granularity,
+                                   @Param("studentId") Long studentId,
+                                   @Param("reportType") String reportType);
+
+    // Per student totals
+    @Query("SELECT r FROM ProgressRollup r WHERE r.granularity = :granularity AND r.studentId <> :allStudents " +
+            "AND r.reportType = :reportType AND r.overall.count > 0 ORDER BY r.studentId")
+    List<ProgressRollup> findStudentTotals(@Param("granularity") String granularity,
+                                           @Param("allStudents") Long allStudents,
+                                           @Param("reportType") String reportType);
+
+    // Per report type totals
+    @Query("SELECT r FROM ProgressRollup r WHERE r.granularity = :granularity AND r.studentId = :studentId " +
+            "AND r.reportType <> :allTypes AND r.overall.count > 0 ORDER BY r.reportType")
+    List<ProgressRollup> findReportTypeTotals(@Param("granularity") String granularity,
+                                              @Param("studentId") Long studentId,
+                                              @Param("allTypes") String allTypes);
+}
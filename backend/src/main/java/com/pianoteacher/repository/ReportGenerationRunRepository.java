@@ -0,0 +1,31 @@
+package com.pianoteacher.repository;
+
+import com.pianoteacher.model.ReportGenerationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportGenerationRunRepository extends JpaRepository<ReportGenerationRun, Long> {
+
+    // Find by status
+    List<ReportGenerationRun> findByStatus(String status);
+
+    // Runs for a period, newest first
+    List<ReportGenerationRun> findByReportTypeAndReportPeriodOrderByIdDesc(String reportType, String reportPeriod);
+
+    // Advance the counters with a committed chunk
+    @Modifying
+    @Query("UPDATE ReportGenerationRun r SET r.processedStudents = r.processedStudents + :processed, " +
+           "r.createdReports = r.createdReports + :created, r.existingReports = r.existingReports + :existing, " +
+           "r.inactiveStudents = r.inactiveStudents + :inactive WHERE r.id = :id")
+    int addProgress(@Param("id") Long id,
+                    @Param("processed") int processed,
+                    @Param("created") int created,
+                    @Param("existing") int existing,
+                    @Param("inactive") int inactive);
+}
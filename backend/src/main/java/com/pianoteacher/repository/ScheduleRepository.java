@@ -1,68 +1,136 @@
 package com.pianoteacher.repository;
 
+import com.pianoteacher.dto.ScheduleSummaryDTO;
 import com.pianoteacher.model.Schedule;
 import com.pianoteacher.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
+    // List views select the summary columns only, never the @Lob notes
+    String SUMMARY_SELECT = "SELECT new com.pianoteacher.dto.ScheduleSummaryDTO(s.id, st.id, st.name, s.startTime, " +
+            "s.endTime, l.name, s.seriesId) FROM Schedule s JOIN s.student st JOIN s.place l ";
+
+    // Entity reads load the student and its pricing in the same query, so serializing a list never goes back per row
+    @Override
+    @EntityGraph(Schedule.WITH_STUDENT)
+    List<Schedule> findAll();
+
     // Find schedules by student
+    @EntityGraph(Schedule.WITH_STUDENT)
     List<Schedule> findByStudent(Student student);
+    @EntityGraph(Schedule.WITH_STUDENT)
     List<Schedule> findByStudentId(Long studentId);
 
     // Find schedules by date range
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.startTime >= :startDate AND s.startTime <= :endDate")
     List<Schedule> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                    @Param("endDate") LocalDateTime endDate);
 
     // Find schedules by student and date range
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.student.id = :studentId AND s.startTime >= :startDate AND s.startTime <= :endDate")
     List<Schedule> findByStudentAndDateRange(@Param("studentId") Long studentId,
                                              @Param("startDate") LocalDateTime startDate,
                                              @Param("endDate") LocalDateTime endDate);
 
-    // Find schedules by location
-    List<Schedule> findByLocation(String location);
-    List<Schedule> findByLocationContainingIgnoreCase(String location);
+    // Find schedules starting in a half-open [from, to) range, ordered for calendar display
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.student st LEFT JOIN FETCH st.pricing JOIN FETCH s.place " +
+           "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime")
+    List<Schedule> findStartingInRange(@Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.student st LEFT JOIN FETCH st.pricing JOIN FETCH s.place WHERE st.id = :studentId " +
+           "AND s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime")
+    List<Schedule> findByStudentStartingInRange(@Param("studentId") Long studentId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Find schedules by location id, see LocationDictionary for resolving names
+    @EntityGraph(Schedule.WITH_STUDENT)
+    List<Schedule> findByPlaceIdIn(Collection<Long> locationIds);
 
     // Find schedules by status (calculated based on current time)
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.startTime > :now")
     List<Schedule> findUpcomingSchedules(@Param("now") LocalDateTime now);
 
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.startTime <= :now AND s.endTime >= :now")
     List<Schedule> findOngoingSchedules(@Param("now") LocalDateTime now);
 
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.endTime < :now")
     List<Schedule> findCompletedSchedules(@Param("now") LocalDateTime now);
 
     // Find overlapping schedules for a student
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.student.id = :studentId AND " +
            "((s.startTime < :endTime AND s.endTime > :startTime))")
     List<Schedule> findOverlappingSchedules(@Param("studentId") Long studentId,
                                            @Param("startTime") LocalDateTime startTime,
                                            @Param("endTime") LocalDateTime endTime);
 
-    // Count schedules by student
-    @Query("SELECT s.student.id, COUNT(s) FROM Schedule s GROUP BY s.student.id")
-    List<Object[]> countSchedulesByStudent();
-
-    // Count schedules by location
-    @Query("SELECT s.location, COUNT(s) FROM Schedule s GROUP BY s.location")
-    List<Object[]> countSchedulesByLocation();
+    // Booked intervals for a student (id, start, end) without loading entities
+    @Query("SELECT s.id, s.startTime, s.endTime FROM Schedule s WHERE s.student.id = :studentId")
+    List<Object[]> findIntervalsByStudentId(@Param("studentId") Long studentId);
+
+    // Booked intervals for a student overlapping [from, to), ordered by start time
+    @Query("SELECT s.id, s.startTime, s.endTime FROM Schedule s WHERE s.student.id = :studentId " +
+           "AND s.startTime < :to AND s.endTime > :from ORDER BY s.startTime")
+    List<Object[]> findIntervalsByStudentInRange(@Param("studentId") Long studentId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    // Materialized occurrences of a schedule series
+    @EntityGraph(Schedule.WITH_STUDENT)
+    @Query("SELECT s FROM Schedule s WHERE s.seriesId = :seriesId AND s.startTime >= :from AND s.startTime < :to")
+    List<Schedule> findBySeriesIdInRange(@Param("seriesId") Long seriesId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.id FROM Schedule s WHERE s.seriesId = :seriesId")
+    List<Long> findIdsBySeriesId(@Param("seriesId") Long seriesId);
+
+    @Modifying
+    @Query("DELETE FROM Schedule s WHERE s.seriesId = :seriesId")
+    int deleteBySeriesId(@Param("seriesId") Long seriesId);
+
+    // Lessons started in [from, to) per student
+    @Query("SELECT s.student.id, COUNT(s) FROM Schedule s WHERE s.student.id IN :studentIds " +
+           "AND s.startTime >= :from AND s.startTime < :to GROUP BY s.student.id")
+    List<Object[]> countLessonsByStudentInRange(@Param("studentIds") Collection<Long> studentIds,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Columns of every lesson for ScheduleSnapshot, in snapshot order
+    @Query("SELECT s.id, s.student.id, s.startTime, s.endTime, s.place.id FROM Schedule s ORDER BY s.startTime, s.id")
+    List<Object[]> findSnapshotRows();
 
     // Find schedules in the next N days
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.startTime >= :now AND s.startTime <= :futureDate")
     List<Schedule> findSchedulesInNextDays(@Param("now") LocalDateTime now,
                                           @Param("futureDate") LocalDateTime futureDate);
 
     // Find schedules by student in the next N days
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.student.id = :studentId AND s.startTime >= :now AND s.startTime <= :futureDate")
     List<Schedule> findStudentSchedulesInNextDays(@Param("studentId") Long studentId,
                                                   @Param("now") LocalDateTime now,
@@ -79,7 +147,43 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
                               @Param("endTime") LocalDateTime endTime);
 
     // Find schedules created within a date range
+    @EntityGraph(Schedule.WITH_STUDENT)
     @Query("SELECT s FROM Schedule s WHERE s.createdAt BETWEEN :startDate AND :endDate")
     List<Schedule> findSchedulesByCreationDateRange(@Param("startDate") LocalDateTime startDate,
                                                    @Param("endDate") LocalDateTime endDate);
+
+    // Summaries for list views
+    @Query(SUMMARY_SELECT + "ORDER BY s.startTime, s.id")
+    List<ScheduleSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = :studentId ORDER BY s.startTime, s.id")
+    List<ScheduleSummaryDTO> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    // Keyset pagination by id
+    @EntityGraph(Schedule.WITH_STUDENT)
+    List<Schedule> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    @EntityGraph(Schedule.WITH_STUDENT)
+    List<Schedule> findByStudentIdAndIdGreaterThanOrderByIdAsc(Long studentId, Long afterId, Pageable pageable);
+    @EntityGraph(Schedule.WITH_STUDENT)
+    @Query("SELECT s FROM Schedule s WHERE s.startTime >= :startDate AND s.startTime <= :endDate " +
+            "AND s.id > :afterId ORDER BY s.id")
+    List<Schedule> findByDateRangeAfterId(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate,
+                                          @Param("afterId") Long afterId, Pageable pageable);
+    @EntityGraph(Schedule.WITH_STUDENT)
+    @Query("SELECT s FROM Schedule s WHERE s.student.id = :studentId AND s.startTime >= :startDate " +
+            "AND s.startTime <= :endDate AND s.id > :afterId ORDER BY s.id")
+    List<Schedule> findByStudentAndDateRangeAfterId(@Param("studentId") Long studentId,
+                                                    @Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate,
+                                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    // Stream all rows in id order, fetched from the driver in batches
+    @EntityGraph(Schedule.WITH_STUDENT)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Schedule s ORDER BY s.id")
+    Stream<Schedule> streamAllOrderedById();
 }
@@ -0,0 +1,33 @@
+package com.pianoteacher.repository;
+
+import com.pianoteacher.model.ScheduleSeries;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScheduleSeriesRepository extends JpaRepository<ScheduleSeries, Long> {
+
+    // Find series by student
+    @EntityGraph(ScheduleSeries.WITH_STUDENT)
+    List<ScheduleSeries> findByStudentId(Long studentId);
+
+    // Series active in [from, to) that still have unmaterialized occurrences, with student and exceptions loaded
+    @Query("SELECT DISTINCT ss FROM ScheduleSeries ss JOIN FETCH ss.student LEFT JOIN FETCH ss.exceptionDates " +
+           "WHERE ss.startDate < :to AND ss.endDate >= :from " +
+           "AND (ss.materializedThrough IS NULL OR ss.materializedThrough < ss.endDate)")
+    List<ScheduleSeries> findUnmaterializedInRange(@Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    @Query("SELECT DISTINCT ss FROM ScheduleSeries ss JOIN FETCH ss.student LEFT JOIN FETCH ss.exceptionDates " +
+           "WHERE ss.student.id = :studentId AND ss.startDate < :to AND ss.endDate >= :from " +
+           "AND (ss.materializedThrough IS NULL OR ss.materializedThrough < ss.endDate)")
+    List<ScheduleSeries> findUnmaterializedByStudentInRange(@Param("studentId") Long studentId,
+                                                            @Param("from") LocalDate from,
+                                                            @Param("to") LocalDate to);
+}
@@ -1,18 +1,36 @@
 package com.pianoteacher.repository;
 
+import com.pianoteacher.dto.StudentSummaryDTO;
 import com.pianoteacher.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    // Entity reads load the pricing in the same query, so serializing a list never goes back per row
+    @Override
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findAll();
+
+    @Override
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findAllById(Iterable<Long> ids);
+
     // Find by name (case-insensitive)
+    @EntityGraph(Student.WITH_PRICING)
     List<Student> findByNameContainingIgnoreCase(String name);
 
     // Find by email
@@ -22,36 +40,47 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmailIgnoreCase(String email);
 
     // Find by age range
+    @EntityGraph(Student.WITH_PRICING)
     List<Student> findByAgeBetween(Integer minAge, Integer maxAge);
 
     // Find by grade
+    @EntityGraph(Student.WITH_PRICING)
     List<Student> findByGrade(String grade);
 
     // Find by grade (case-insensitive)
+    @EntityGraph(Student.WITH_PRICING)
     List<Student> findByGradeIgnoreCase(String grade);
 
     // Find by phone
     Optional<Student> findByPhone(String phone);
 
     // Custom query to find students with pricing information
+    @EntityGraph(Student.WITH_PRICING)
     @Query("SELECT s FROM Student s WHERE s.pricing IS NOT NULL")
     List<Student> findStudentsWithPricing();
 
     // Custom query to find students without pricing information
+    @EntityGraph(Student.WITH_PRICING)
     @Query("SELECT s FROM Student s WHERE s.pricing IS NULL")
     List<Student> findStudentsWithoutPricing();
 
-    // Search students by name or email
-    @Query("SELECT s FROM Student s WHERE " +
-           "LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(s.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Student> searchStudents(@Param("searchTerm") String searchTerm);
+    // Summaries for list views, kept in the query cache until the students table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.pianoteacher.dto.StudentSummaryDTO(s.id, s.name, s.age, s.grade, s.email, s.phone) " +
+           "FROM Student s ORDER BY s.name, s.id")
+    List<StudentSummaryDTO> findAllSummaries();
+
+    // Fields used to build the student name/email search index
+    @Query("SELECT s.id, s.name, s.email, s.grade FROM Student s")
+    List<Object[]> findSearchableFields();
 
     // Count students by grade
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s.grade, COUNT(s) FROM Student s WHERE s.grade IS NOT NULL GROUP BY s.grade")
     List<Object[]> countStudentsByGrade();
 
     // Find students created within a date range
+    @EntityGraph(Student.WITH_PRICING)
     @Query("SELECT s FROM Student s WHERE s.createdAt BETWEEN :startDate AND :endDate")
     List<Student> findStudentsByDateRange(@Param("startDate") java.time.LocalDateTime startDate,
                                           @Param("endDate") java.time.LocalDateTime endDate);
@@ -63,4 +92,44 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Check if phone exists (excluding current student)
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Student s WHERE s.phone = :phone AND s.id != :studentId")
     boolean existsByPhoneAndIdNot(@Param("phone") String phone, @Param("studentId") Long studentId);
+
+    // Existing keys for bulk import checks
+    @Query("SELECT LOWER(s.email) FROM Student s WHERE s.email IS NOT NULL AND s.email <> ''")
+    List<String> findAllEmailsLowerCase();
+
+    @Query("SELECT s.phone FROM Student s WHERE s.phone IS NOT NULL AND s.phone <> ''")
+    List<String> findAllPhones();
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Existence check through the second-level cache; existsById always runs a count query
+    default boolean existsCachedById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    // Whole roster in id order, for batch jobs
+    @Query("SELECT s.id FROM Student s ORDER BY s.id")
+    List<Long> findAllIds();
+
+    // Keyset pagination by id
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findByNameContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String name, Long afterId, Pageable pageable);
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findByGradeIgnoreCaseAndIdGreaterThanOrderByIdAsc(String grade, Long afterId, Pageable pageable);
+    @EntityGraph(Student.WITH_PRICING)
+    List<Student> findByCreatedAtBetweenAndIdGreaterThanOrderByIdAsc(java.time.LocalDateTime startDate,
+                                                                     java.time.LocalDateTime endDate,
+                                                                     Long afterId, Pageable pageable);
+
+    // Stream all rows in id order, fetched from the driver in batches
+    @EntityGraph(Student.WITH_PRICING)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAllOrderedById();
 }
@@ -0,0 +1,88 @@
+package com.pianoteacher.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Defers changes to the in-memory read models until the surrounding transaction
+ * commits, so a rolled back write never reaches them. Outside a transaction a change
+ * is applied at once.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable change) {
+        run(change, () -> {
+        });
+    }
+
+    // onRollback runs instead of the change when the transaction does not commit
+    static void run(Runnable change, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Collects the changes a transaction makes for one owner into a single batch and
+     * applies it once after commit, however many rows the transaction writes. Batches
+     * with a lower order are applied first.
+     */
+    static <B> void batch(Object owner, Supplier<B> newBatch, Consumer<B> addChange, Consumer<B> apply, int order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            B batch = newBatch.get();
+            addChange.accept(batch);
+            apply.accept(batch);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        B batch = (B) TransactionSynchronizationManager.getResource(owner);
+        if (batch == null) {
+            B transactionBatch = newBatch.get();
+            TransactionSynchronizationManager.bindResource(owner, transactionBatch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return order;
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply.accept(transactionBatch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+                }
+            });
+            batch = transactionBatch;
+        }
+        addChange.accept(batch);
+    }
+
+    // The batch collected for owner by the current transaction so far, or null
+    @SuppressWarnings("unchecked")
+    static <B> B pendingBatch(Object owner) {
+        return (B) TransactionSynchronizationManager.getResource(owner);
+    }
+}
@@ -0,0 +1,118 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.AuthTokenDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies stateless bearer tokens. A token is
+ * {@code base64url(username \n authorities \n expiresAt) . base64url(HMAC-SHA256)},
+ * so verifying it costs one HMAC instead of a BCrypt hash. If no secret is
+ * configured a random one is generated, which invalidates tokens on restart.
+ */
+@Service
+public class AuthTokenService {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    private final long ttlSeconds;
+
+    @Autowired
+    public AuthTokenService(@Value("${app.auth.token-secret:}") String secret,
+                            @Value("${app.auth.token-ttl-minutes:60}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.ttlSeconds = ttlMinutes * 60;
+    }
+
+    public AuthTokenDTO issueToken(Authentication authentication) {
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = authentication.getName() + "\n" + authorities + "\n" + expiresAt.getEpochSecond();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+        return new AuthTokenDTO(token, TOKEN_TYPE, expiresAt);
+    }
+
+    public Optional<Authentication> verifyToken(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", -1);
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (Instant.now().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String authority : parts[1].split(",")) {
+            if (!authority.isEmpty()) {
+                authorities.add(new SimpleGrantedAuthority(authority));
+            }
+        }
+        return Optional.of(UsernamePasswordAuthenticationToken.authenticated(parts[0], null, authorities));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac instances are not thread-safe, so each call gets its own
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
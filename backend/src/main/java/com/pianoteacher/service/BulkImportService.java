@@ -0,0 +1,373 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.BulkImportResultDTO;
+import com.pianoteacher.dto.LessonContentDTO;
+import com.pianoteacher.dto.ScheduleDTO;
+import com.pianoteacher.dto.StudentDTO;
+import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.Pricing;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bulk creation of students, schedules and lesson content from JSON or CSV.
+ *
+ * Each import runs in one transaction and is all-or-nothing: every row is validated
+ * before anything is written, and the first invalid row aborts the import with its
+ * row number. Rows are persisted through the entity manager and flushed and cleared
+ * every {@code batchSize} rows, so Hibernate sends them as JDBC batches and the
+ * persistence context never holds more than one batch.
+ */
+@Service
+@Transactional
+public class BulkImportService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+    private final ScheduleConflictIndex conflictIndex;
+    private final LessonSearchIndex lessonSearchIndex;
+    private final StudentSearchIndex studentSearchIndex;
+    private final LocationDictionary locationDictionary;
+    private final int defaultBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkImportService(StudentRepository studentRepository, ScheduleConflictIndex conflictIndex,
+                             LessonSearchIndex lessonSearchIndex, StudentSearchIndex studentSearchIndex,
+                             LocationDictionary locationDictionary,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int defaultBatchSize) {
+        this.studentRepository = studentRepository;
+        this.conflictIndex = conflictIndex;
+        this.lessonSearchIndex = lessonSearchIndex;
+        this.studentSearchIndex = studentSearchIndex;
+        this.locationDictionary = locationDictionary;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    // Student import
+    public BulkImportResultDTO importStudents(List<StudentDTO> rows, Integer batchSize) {
+        int size = resolveBatchSize(batchSize);
+        Set<String> emails = new HashSet<>(studentRepository.findAllEmailsLowerCase());
+        Set<String> phones = new HashSet<>(studentRepository.findAllPhones());
+
+        List<Student> students = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            Student student = toStudent(rows.get(i));
+            validateRow(rowNumber, () -> {
+                student.validate();
+                if (student.getPricing() != null) {
+                    student.getPricing().validate();
+                }
+            });
+            if (hasText(student.getEmail()) && !emails.add(student.getEmail().toLowerCase())) {
+                throw rowError(rowNumber, "Student with email " + student.getEmail() + " already exists");
+            }
+            if (hasText(student.getPhone()) && !phones.add(student.getPhone())) {
+                throw rowError(rowNumber, "Student with phone " + student.getPhone() + " already exists");
+            }
+            students.add(student);
+        }
+
+        // Pricing is cascaded from Student, so it is inserted in the same batches
+        BulkImportResultDTO result = persistInBatches("students", students, size, student -> student);
+        for (Student student : students) {
+            studentSearchIndex.index(student.getId(), student.getName(), student.getEmail(), student.getGrade());
+        }
+        return result;
+    }
+
+    public BulkImportResultDTO importStudentsCsv(String csv, Integer batchSize) {
+        List<Map<String, String>> records = CsvParser.parse(csv);
+        List<StudentDTO> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            int rowNumber = i + 1;
+            StudentDTO dto = new StudentDTO();
+            dto.setName(record.get("name"));
+            dto.setAge(parseInteger(record, "age", rowNumber));
+            dto.setGrade(record.get("grade"));
+            dto.setEmail(record.get("email"));
+            dto.setPhone(record.get("phone"));
+            dto.setNotes(record.get("notes"));
+            BigDecimal hourlyRate = parseDecimal(record, "hourlyRate", rowNumber);
+            if (hourlyRate != null) {
+                StudentDTO.PricingDTO pricing = new StudentDTO.PricingDTO(hourlyRate, parseInteger(record, "lessonDuration", rowNumber));
+                pricing.setPaymentTerms(record.get("paymentTerms"));
+                dto.setPricing(pricing);
+            }
+            rows.add(dto);
+        }
+        return importStudents(rows, batchSize);
+    }
+
+    // Schedule import
+    public BulkImportResultDTO importSchedules(List<ScheduleDTO> rows, Integer batchSize) {
+        int size = resolveBatchSize(batchSize);
+        Set<Long> existingStudents = findExistingStudentIds(rows, ScheduleDTO::getStudentId);
+
+        // Validate every row and check it against stored schedules before anything is written;
+        // this also loads each student's intervals into the conflict index up front
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            ScheduleDTO row = rows.get(i);
+            validateRow(rowNumber, () -> toSchedule(row, new Student()).validate());
+            requireStudent(rowNumber, row.getStudentId(), existingStudents);
+            if (conflictIndex.hasConflict(row.getStudentId(), row.getStartTime(), row.getEndTime())) {
+                throw rowError(rowNumber, "Schedule conflicts with existing schedule(s)");
+            }
+        }
+
+        BatchCounter counter = new BatchCounter(size);
+        for (int i = 0; i < rows.size(); i++) {
+            ScheduleDTO row = rows.get(i);
+            // Catch overlaps between rows of the same import
+            if (conflictIndex.hasConflict(row.getStudentId(), row.getStartTime(), row.getEndTime())) {
+                throw rowError(i + 1, "Schedule conflicts with another schedule in this import");
+            }
+            Schedule schedule = toSchedule(row, entityManager.getReference(Student.class, row.getStudentId()));
+            schedule.setPlace(locationDictionary.intern(row.getLocation()));
+            entityManager.persist(schedule);
+            conflictIndex.add(row.getStudentId(), schedule.getId(), schedule.getStartTime(), schedule.getEndTime());
+            counter.increment();
+        }
+        return counter.finish("schedules");
+    }
+
+    public BulkImportResultDTO importSchedulesCsv(String csv, Integer batchSize) {
+        List<Map<String, String>> records = CsvParser.parse(csv);
+        List<ScheduleDTO> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            int rowNumber = i + 1;
+            ScheduleDTO dto = new ScheduleDTO(
+                    parseLong(record, "studentId", rowNumber),
+                    parseDateTime(record, "startTime", rowNumber),
+                    parseDateTime(record, "endTime", rowNumber),
+                    record.get("location"));
+            dto.setNotes(record.get("notes"));
+            rows.add(dto);
+        }
+        return importSchedules(rows, batchSize);
+    }
+
+    // Lesson content import
+    public BulkImportResultDTO importLessonContent(List<LessonContentDTO> rows, Integer batchSize) {
+        int size = resolveBatchSize(batchSize);
+        Set<Long> existingStudents = findExistingStudentIds(rows, LessonContentDTO::getStudentId);
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            LessonContentDTO row = rows.get(i);
+            validateRow(rowNumber, () -> toLessonContent(row, new Student()).validate());
+            requireStudent(rowNumber, row.getStudentId(), existingStudents);
+        }
+
+        List<LessonContent> imported = new ArrayList<>(rows.size());
+        BulkImportResultDTO result = persistInBatches("lessonContent", rows, size, row -> {
+            LessonContent lessonContent = toLessonContent(row, entityManager.getReference(Student.class, row.getStudentId()));
+            imported.add(lessonContent);
+            return lessonContent;
+        });
+        // Ids are assigned on persist, so the detached entities can be indexed
+        for (LessonContent lessonContent : imported) {
+            lessonSearchIndex.index(lessonContent.getId(), lessonContent.getStudent().getId(),
+                    lessonContent.getTitle(), lessonContent.getDescription());
+        }
+        return result;
+    }
+
+    public BulkImportResultDTO importLessonContentCsv(String csv, Integer batchSize) {
+        List<Map<String, String>> records = CsvParser.parse(csv);
+        List<LessonContentDTO> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            int rowNumber = i + 1;
+            LessonContentDTO dto = new LessonContentDTO(
+                    parseLong(record, "studentId", rowNumber),
+                    record.get("title"),
+                    record.get("contentType"),
+                    parseInteger(record, "difficultyLevel", rowNumber),
+                    parseInteger(record, "estimatedDuration", rowNumber));
+            dto.setDescription(record.get("description"));
+            dto.setNotes(record.get("notes"));
+            dto.setCompleted(Boolean.parseBoolean(record.get("completed")));
+            dto.setCompletionDate(parseDateTime(record, "completionDate", rowNumber));
+            rows.add(dto);
+        }
+        return importLessonContent(rows, batchSize);
+    }
+
+    // Batch writing
+    private <R, E> BulkImportResultDTO persistInBatches(String entityType, List<R> rows, int batchSize, Function<R, E> toEntity) {
+        BatchCounter counter = new BatchCounter(batchSize);
+        for (R row : rows) {
+            entityManager.persist(toEntity.apply(row));
+            counter.increment();
+        }
+        return counter.finish(entityType);
+    }
+
+    // Flushes and clears the persistence context every batchSize persisted rows
+    private final class BatchCounter {
+
+        private final int batchSize;
+        private int imported;
+        private int batches;
+
+        BatchCounter(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        void increment() {
+            imported++;
+            if (imported % batchSize == 0) {
+                flushBatch();
+            }
+        }
+
+        BulkImportResultDTO finish(String entityType) {
+            if (imported % batchSize != 0) {
+                flushBatch();
+            }
+            return new BulkImportResultDTO(entityType, imported, batchSize, batches);
+        }
+
+        private void flushBatch() {
+            entityManager.flush();
+            entityManager.clear();
+            batches++;
+        }
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        return size;
+    }
+
+    // Row conversion and validation
+    private Student toStudent(StudentDTO row) {
+        Student student = new Student(row.getName(), row.getAge(), row.getGrade());
+        student.setEmail(row.getEmail());
+        student.setPhone(row.getPhone());
+        student.setNotes(row.getNotes());
+        if (row.getPricing() != null) {
+            Pricing pricing = new Pricing(row.getPricing().getHourlyRate(), row.getPricing().getLessonDuration());
+            pricing.setPaymentTerms(row.getPricing().getPaymentTerms());
+            student.setPricing(pricing);
+        }
+        return student;
+    }
+
+    private Schedule toSchedule(ScheduleDTO row, Student student) {
+        Schedule schedule = new Schedule(student, row.getStartTime(), row.getEndTime(), row.getLocation());
+        schedule.setNotes(row.getNotes());
+        return schedule;
+    }
+
+    private LessonContent toLessonContent(LessonContentDTO row, Student student) {
+        LessonContent lessonContent = new LessonContent();
+        lessonContent.setStudent(student);
+        lessonContent.setTitle(row.getTitle());
+        lessonContent.setDescription(row.getDescription());
+        lessonContent.setContentType(row.getContentType());
+        lessonContent.setDifficultyLevel(row.getDifficultyLevel());
+        lessonContent.setEstimatedDuration(row.getEstimatedDuration());
+        lessonContent.setNotes(row.getNotes());
+        lessonContent.setCompleted(Boolean.TRUE.equals(row.getCompleted()));
+        lessonContent.setCompletionDate(row.getCompletionDate());
+        return lessonContent;
+    }
+
+    private <R> Set<Long> findExistingStudentIds(List<R> rows, Function<R, Long> studentIdOf) {
+        Set<Long> requested = new HashSet<>();
+        for (R row : rows) {
+            Long studentId = studentIdOf.apply(row);
+            if (studentId != null) {
+                requested.add(studentId);
+            }
+        }
+        return requested.isEmpty() ? Set.of() : new HashSet<>(studentRepository.findExistingIds(requested));
+    }
+
+    private void requireStudent(int rowNumber, Long studentId, Set<Long> existingStudents) {
+        if (studentId == null) {
+            throw rowError(rowNumber, "Student ID is required");
+        }
+        if (!existingStudents.contains(studentId)) {
+            throw rowError(rowNumber, "Student not found with id: " + studentId);
+        }
+    }
+
+    private void validateRow(int rowNumber, Runnable validation) {
+        try {
+            validation.run();
+        } catch (IllegalArgumentException e) {
+            throw rowError(rowNumber, e.getMessage());
+        }
+    }
+
+    private IllegalArgumentException rowError(int rowNumber, String message) {
+        return new IllegalArgumentException("Row " + rowNumber + ": " + message);
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // CSV value parsing
+    private Integer parseInteger(Map<String, String> record, String column, int rowNumber) {
+        String value = record.get(column);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw rowError(rowNumber, "Invalid number for " + column + ": " + value);
+        }
+    }
+
+    private Long parseLong(Map<String, String> record, String column, int rowNumber) {
+        String value = record.get(column);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw rowError(rowNumber, "Invalid number for " + column + ": " + value);
+        }
+    }
+
+    private BigDecimal parseDecimal(Map<String, String> record, String column, int rowNumber) {
+        String value = record.get(column);
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw rowError(rowNumber, "Invalid number for " + column + ": " + value);
+        }
+    }
+
+    private LocalDateTime parseDateTime(Map<String, String> record, String column, int rowNumber) {
+        String value = record.get(column);
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw rowError(rowNumber, "Invalid date-time for " + column + " (expected yyyy-MM-ddTHH:mm:ss): " + value);
+        }
+    }
+}
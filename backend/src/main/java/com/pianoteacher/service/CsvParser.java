@@ -0,0 +1,95 @@
+package com.pianoteacher.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 CSV reader for bulk imports. The first record is the header;
+ * every following record becomes a map from header name to value. Quoted fields
+ * may contain commas, line breaks and doubled quotes. Empty values map to null.
+ */
+final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    static List<Map<String, String>> parse(String csv) {
+        List<List<String>> records = readRecords(csv != null ? csv : "");
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            header.set(i, header.get(i).trim());
+        }
+
+        List<Map<String, String>> rows = new ArrayList<>(records.size() - 1);
+        for (int r = 1; r < records.size(); r++) {
+            List<String> record = records.get(r);
+            if (record.size() > header.size()) {
+                throw new IllegalArgumentException("Row " + r + ": expected at most " + header.size() + " columns but found " + record.size());
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                String value = record.get(i).trim();
+                row.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean recordHasContent = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                recordHasContent = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                recordHasContent = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                // Blank lines are skipped rather than read as empty records
+                if (recordHasContent || field.length() > 0) {
+                    record.add(field.toString());
+                    records.add(record);
+                    record = new ArrayList<>();
+                }
+                field.setLength(0);
+                recordHasContent = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV input");
+        }
+        if (recordHasContent || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,129 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.repository.ProgressReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read model holding the id of the latest progress report per student and per
+ * student and report type, so the class overview does not need a correlated
+ * {@code MAX(id)} subquery for every report row.
+ *
+ * "Latest" means the highest id, matching the queries this replaces. The ids are
+ * loaded with one narrow query the first time they are needed and then kept up to
+ * date by the write paths in {@link ProgressReportService}. New reports only ever
+ * raise a maximum, so they are merged in place; a delete or an update that moves a
+ * current latest report to another student or type drops the whole model, which is
+ * rebuilt on the next read. Changes are applied after commit, so a rolled back
+ * transaction leaves the model untouched.
+ *
+ * The model is kept in memory rather than in a projection table because it is two
+ * ids per student and cheap to rebuild. A table would add a second row write to every
+ * report save, and need locking so two reports racing to be a student's latest do
+ * not overwrite each other.
+ */
+@Component
+public class LatestProgressReportIndex {
+
+    private final ProgressReportRepository progressReportRepository;
+    private final Object lock = new Object();
+    private volatile LatestReports latestReports;
+    // Bumped on every change so a load that raced with a commit is not installed
+    private long version;
+
+    @Autowired
+    public LatestProgressReportIndex(ProgressReportRepository progressReportRepository) {
+        this.progressReportRepository = progressReportRepository;
+    }
+
+    // Lookups
+    public List<Long> getLatestReportIds() {
+        return List.copyOf(current().byStudent.values());
+    }
+
+    public List<Long> getLatestReportIdsByType() {
+        return List.copyOf(current().byStudentAndType.values());
+    }
+
+    // Read model maintenance
+    public void reportSaved(Long studentId, String reportType, Long reportId) {
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                version++;
+                LatestReports reports = latestReports;
+                if (reports != null) {
+                    reports.offer(studentId, reportType, reportId);
+                }
+            }
+        });
+    }
+
+    public void reportRemoved(Long studentId, String reportType, Long reportId) {
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                version++;
+                LatestReports reports = latestReports;
+                if (reports != null && reports.isLatest(studentId, reportType, reportId)) {
+                    latestReports = null;
+                }
+            }
+        });
+    }
+
+    public void invalidate() {
+        synchronized (lock) {
+            version++;
+            latestReports = null;
+        }
+    }
+
+    private LatestReports current() {
+        LatestReports reports = latestReports;
+        if (reports != null) {
+            return reports;
+        }
+        long loadVersion;
+        synchronized (lock) {
+            loadVersion = version;
+        }
+        LatestReports loaded = load();
+        synchronized (lock) {
+            if (version == loadVersion && latestReports == null) {
+                latestReports = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private LatestReports load() {
+        LatestReports reports = new LatestReports();
+        for (Object[] row : progressReportRepository.findReportKeys()) {
+            reports.offer((Long) row[1], ((ReportType) row[2]).name(), (Long) row[0]);
+        }
+        return reports;
+    }
+
+    private record StudentReportType(Long studentId, String reportType) {
+    }
+
+    private static final class LatestReports {
+
+        private final Map<Long, Long> byStudent = new ConcurrentHashMap<>();
+        private final Map<StudentReportType, Long> byStudentAndType = new ConcurrentHashMap<>();
+
+        void offer(Long studentId, String reportType, Long reportId) {
+            byStudent.merge(studentId, reportId, Math::max);
+            byStudentAndType.merge(new StudentReportType(studentId, reportType), reportId, Math::max);
+        }
+
+        boolean isLatest(Long studentId, String reportType, Long reportId) {
+            return reportId.equals(byStudent.get(studentId))
+                    || reportId.equals(byStudentAndType.get(new StudentReportType(studentId, reportType)));
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package com.pianoteacher.service;
 
+import com.pianoteacher.dto.CursorPageDTO;
+import com.pianoteacher.dto.LessonContentSummaryDTO;
+import com.pianoteacher.dto.LessonStatsDTO;
 import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.LessonContent.ContentType;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.repository.LessonContentRepository;
 import com.pianoteacher.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -18,11 +32,17 @@ public class LessonContentService {
 
     private final LessonContentRepository lessonContentRepository;
     private final StudentRepository studentRepository;
+    private final LessonSearchIndex lessonSearchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public LessonContentService(LessonContentRepository lessonContentRepository, StudentRepository studentRepository) {
+    public LessonContentService(LessonContentRepository lessonContentRepository, StudentRepository studentRepository,
+                                LessonSearchIndex lessonSearchIndex) {
         this.lessonContentRepository = lessonContentRepository;
         this.studentRepository = studentRepository;
+        this.lessonSearchIndex = lessonSearchIndex;
     }
 
     // LessonContent CRUD operations
@@ -30,18 +50,20 @@ public class LessonContentService {
         lessonContent.validate();
         
         // Check if student exists
-        if (!studentRepository.existsById(lessonContent.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(lessonContent.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + lessonContent.getStudent().getId());
         }
         
-        return lessonContentRepository.save(lessonContent);
+        LessonContent savedContent = lessonContentRepository.save(lessonContent);
+        indexForSearch(savedContent);
+        return savedContent;
     }
 
     public LessonContent updateLessonContent(Long id, LessonContent lessonContentDetails) {
         LessonContent existingContent = getLessonContentById(id);
         
         // Check if student exists
-        if (!studentRepository.existsById(lessonContentDetails.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(lessonContentDetails.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + lessonContentDetails.getStudent().getId());
         }
         
@@ -57,12 +79,15 @@ public class LessonContentService {
         existingContent.setCompletionDate(lessonContentDetails.getCompletionDate());
         
         existingContent.validate();
-        return lessonContentRepository.save(existingContent);
+        LessonContent savedContent = lessonContentRepository.save(existingContent);
+        indexForSearch(savedContent);
+        return savedContent;
     }
 
     public void deleteLessonContent(Long id) {
         LessonContent lessonContent = getLessonContentById(id);
         lessonContentRepository.delete(lessonContent);
+        lessonSearchIndex.remove(id);
     }
 
     public LessonContent getLessonContentById(Long id) {
@@ -70,99 +95,198 @@ public class LessonContentService {
                 .orElseThrow(() -> new IllegalArgumentException("Lesson content not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getAllLessonContent() {
         return lessonContentRepository.findAll();
     }
 
+    // List summaries without notes
+    @Transactional(readOnly = true)
+    public List<LessonContentSummaryDTO> getLessonContentSummaries() {
+        return lessonContentRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LessonContentSummaryDTO> getLessonContentSummariesByStudent(Long studentId) {
+        return lessonContentRepository.findSummariesByStudentId(studentId);
+    }
+
+    // Keyset pagination and streaming
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LessonContent> getLessonContentPage(Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<LessonContent> rows = lessonContentRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, LessonContent::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LessonContent> getLessonContentPageByStudent(Long studentId, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<LessonContent> rows = lessonContentRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(
+                studentId, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, LessonContent::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllLessonContent(Consumer<LessonContent> consumer) {
+        try (Stream<LessonContent> lessonContentStream = lessonContentRepository.streamAllOrderedById()) {
+            lessonContentStream.forEach(lessonContent -> {
+                consumer.accept(lessonContent);
+                // Detach each row once written so the persistence context stays small
+                entityManager.detach(lessonContent);
+            });
+        }
+    }
+
     // LessonContent query operations
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudent(Long studentId) {
         return lessonContentRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudent(Student student) {
         return lessonContentRepository.findByStudent(student);
     }
 
+    // Unknown content types match no content
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByContentType(String contentType) {
-        return lessonContentRepository.findByContentType(contentType);
+        return ContentType.fromName(contentType)
+                .map(lessonContentRepository::findByContentType)
+                .orElse(List.of());
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByDifficultyLevel(Integer difficultyLevel) {
         return lessonContentRepository.findByDifficultyLevel(difficultyLevel);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getCompletedLessonContent() {
         return lessonContentRepository.findByCompleted(true);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getIncompleteLessonContent() {
         return lessonContentRepository.findByCompleted(false);
     }
 
     // Combined query operations
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndContentType(Long studentId, String contentType) {
-        return lessonContentRepository.findByStudentIdAndContentType(studentId, contentType);
+        return ContentType.fromName(contentType)
+                .map(type -> lessonContentRepository.findByStudentIdAndContentType(studentId, type))
+                .orElse(List.of());
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndDifficultyLevel(Long studentId, Integer difficultyLevel) {
         return lessonContentRepository.findByStudentIdAndDifficultyLevel(studentId, difficultyLevel);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndCompletionStatus(Long studentId, Boolean completed) {
         return lessonContentRepository.findByStudentIdAndCompleted(studentId, completed);
     }
 
     // Advanced query operations
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByDifficultyRange(Integer minLevel, Integer maxLevel) {
         return lessonContentRepository.findByDifficultyRange(minLevel, maxLevel);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndDifficultyRange(Long studentId, Integer minLevel, Integer maxLevel) {
         return lessonContentRepository.findByStudentIdAndDifficultyRange(studentId, minLevel, maxLevel);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByDurationRange(Integer minDuration, Integer maxDuration) {
         return lessonContentRepository.findByDurationRange(minDuration, maxDuration);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndDurationRange(Long studentId, Integer minDuration, Integer maxDuration) {
         return lessonContentRepository.findByStudentIdAndDurationRange(studentId, minDuration, maxDuration);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByCompletionDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return lessonContentRepository.findByCompletionDateRange(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndCompletionDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
         return lessonContentRepository.findByStudentIdAndCompletionDateRange(studentId, startDate, endDate);
     }
 
     // Search operations
-    public List<LessonContent> searchLessonContent(String searchTerm) {
-        return lessonContentRepository.searchByTitleOrDescription(searchTerm);
+    @Transactional(readOnly = true)
+    public Page<LessonContent> searchLessonContent(String searchTerm, int page, int size) {
+        return searchLessonContent(searchTerm, null, page, size);
     }
 
-    public List<LessonContent> searchLessonContentByStudent(Long studentId, String searchTerm) {
-        return lessonContentRepository.searchByStudentAndTitleOrDescription(studentId, searchTerm);
+    @Transactional(readOnly = true)
+    public Page<LessonContent> searchLessonContentByStudent(Long studentId, String searchTerm, int page, int size) {
+        return searchLessonContent(searchTerm, studentId, page, size);
+    }
+
+    // Ranks with the in-memory index, then loads only the requested page
+    private Page<LessonContent> searchLessonContent(String searchTerm, Long studentId, int page, int size) {
+        CursorPageDTO.validatePageSize(size);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        List<Long> rankedIds = lessonSearchIndex.search(searchTerm, studentId);
+        int from = (int) Math.min((long) page * size, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, Math.min(from + size, rankedIds.size()));
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), rankedIds.size());
+        }
+
+        Map<Long, LessonContent> byId = new HashMap<>();
+        for (LessonContent lessonContent : lessonContentRepository.findWithStudentByIdIn(pageIds)) {
+            byId.put(lessonContent.getId(), lessonContent);
+        }
+        List<LessonContent> results = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            LessonContent lessonContent = byId.get(id);
+            if (lessonContent != null) {
+                results.add(lessonContent);
+            }
+        }
+        return new PageImpl<>(results, PageRequest.of(page, size), rankedIds.size());
+    }
+
+    private void indexForSearch(LessonContent lessonContent) {
+        lessonSearchIndex.index(lessonContent.getId(), lessonContent.getStudent().getId(),
+                lessonContent.getTitle(), lessonContent.getDescription());
     }
 
     // Progress tracking operations
+    @Transactional(readOnly = true)
     public List<LessonContent> getUncompletedLessonContentByStudent(Long studentId) {
         return lessonContentRepository.findUncompletedByStudent(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getRecentlyCompletedLessonContent() {
         return lessonContentRepository.findRecentlyCompleted();
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getRecentlyCompletedLessonContentByStudent(Long studentId) {
         return lessonContentRepository.findRecentlyCompletedByStudent(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByCreationDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return lessonContentRepository.findByCreationDateRange(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<LessonContent> getLessonContentByStudentAndCreationDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
         return lessonContentRepository.findByStudentIdAndCreationDateRange(studentId, startDate, endDate);
     }
@@ -181,26 +305,34 @@ public class LessonContentService {
     }
 
     // Statistics operations
-    public Object[] getStudentCompletionStats(Long studentId) {
+    @Transactional(readOnly = true)
+    public LessonStatsDTO getStudentCompletionStats(Long studentId) {
         return lessonContentRepository.getStudentCompletionStats(studentId);
     }
 
-    public Object[] getOverallCompletionStats() {
+    @Transactional(readOnly = true)
+    public LessonStatsDTO getOverallCompletionStats() {
         return lessonContentRepository.getOverallCompletionStats();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countByContentType() {
-        return lessonContentRepository.countByContentType();
+        return lessonContentRepository.countByContentType().stream()
+                .map(row -> new Object[]{((ContentType) row[0]).name(), row[1]})
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countByDifficultyLevel() {
         return lessonContentRepository.countByDifficultyLevel();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countByStudent() {
         return lessonContentRepository.countByStudent();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countByCompletionStatus() {
         return lessonContentRepository.countByCompletionStatus();
     }
@@ -210,39 +342,28 @@ public class LessonContentService {
         return lessonContentRepository.existsById(id);
     }
 
+    @Transactional(readOnly = true)
     public long getTotalLessonContentCount() {
         return lessonContentRepository.count();
     }
 
+    @Transactional(readOnly = true)
     public long getCompletedLessonContentCount() {
-        return lessonContentRepository.findByCompleted(true).size();
+        return lessonContentRepository.countByCompleted(true);
     }
 
+    @Transactional(readOnly = true)
     public long getIncompleteLessonContentCount() {
-        return lessonContentRepository.findByCompleted(false).size();
+        return lessonContentRepository.countIncomplete();
     }
 
+    @Transactional(readOnly = true)
     public double getCompletionRate() {
-        Object[] stats = getOverallCompletionStats();
-        if (stats != null && stats.length >= 2) {
-            Long total = (Long) stats[0];
-            Long completed = (Long) stats[1];
-            if (total > 0) {
-                return (double) completed / total * 100;
-            }
-        }
-        return 0.0;
+        return getOverallCompletionStats().completionRate();
     }
 
+    @Transactional(readOnly = true)
     public double getStudentCompletionRate(Long studentId) {
-        Object[] stats = getStudentCompletionStats(studentId);
-        if (stats != null && stats.length >= 2) {
-            Long total = (Long) stats[0];
-            Long completed = (Long) stats[1];
-            if (total > 0) {
-                return (double) completed / total * 100;
-            }
-        }
-        return 0.0;
+        return getStudentCompletionStats(studentId).completionRate();
     }
 }
@@ -0,0 +1,244 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.LessonContentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over lesson content titles and descriptions, so searches
+ * do not scan the lesson_content table with {@code LIKE %term%}.
+ *
+ * Text is lower-cased, stripped of accents and split into words; CJK text, which has
+ * no spaces, is indexed one character at a time. Every word of a query must match a
+ * word of the lesson, either exactly, as a prefix ("son" finds "sonatina"), or within
+ * one or two typos for longer words. Matches are ranked by match kind, by field (title
+ * words count more than description words) and by how rare the word is.
+ *
+ * The index is built when the application starts and kept up to date by the write
+ * paths in {@link LessonContentService} and {@link BulkImportService}. Changes are
+ * applied after commit, so rolled back writes never become searchable.
+ */
+@Component
+public class LessonSearchIndex {
+
+    static final double TITLE_WEIGHT = 3.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double FUZZY_MATCH = 0.3;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final LessonContentRepository lessonContentRepository;
+    private final RebuildableIndex<Index> index = new RebuildableIndex<>(new Index());
+
+    @Autowired
+    public LessonSearchIndex(LessonContentRepository lessonContentRepository) {
+        this.lessonContentRepository = lessonContentRepository;
+    }
+
+    // Search operations
+    public List<Long> search(String query, Long studentId) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return index.read(current -> current.search(terms, studentId));
+    }
+
+    public int size() {
+        return index.read(current -> current.documents.size());
+    }
+
+    // Index maintenance
+    public void index(Long lessonContentId, Long studentId, String title, String description) {
+        AfterCommit.run(() -> index.update(target -> target.add(lessonContentId, studentId, title, description)));
+    }
+
+    public void remove(Long lessonContentId) {
+        AfterCommit.run(() -> index.update(target -> target.remove(lessonContentId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.rebuild(() -> {
+            Index rebuilt = new Index();
+            for (Object[] row : lessonContentRepository.findSearchableText()) {
+                rebuilt.add((Long) row[0], (Long) row[1], (String) row[2], (String) row[3]);
+            }
+            return rebuilt;
+        });
+    }
+
+    // Text analysis
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isIdeographic(codePoint)) {
+                flush(word, tokens);
+                tokens.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(codePoint);
+            } else {
+                flush(word, tokens);
+            }
+        }
+        flush(word, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    // Levenshtein distance, giving up as soon as it must exceed maxEdits
+    static boolean withinEdits(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private record Document(Long studentId, Set<String> terms) {
+    }
+
+    /**
+     * Postings keyed by term, sorted so that all terms sharing a prefix form one
+     * contiguous range. Not thread-safe; guarded by {@link RebuildableIndex}.
+     */
+    private static final class Index {
+
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+
+        void add(Long id, Long studentId, String title, String description) {
+            remove(id);
+            Map<String, Double> weights = new HashMap<>();
+            for (String term : tokenize(title)) {
+                weights.merge(term, TITLE_WEIGHT, Double::sum);
+            }
+            for (String term : tokenize(description)) {
+                weights.merge(term, DESCRIPTION_WEIGHT, Double::sum);
+            }
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+            documents.put(id, new Document(studentId, weights.keySet()));
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Double> docs = postings.get(term);
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        List<Long> search(List<String> terms, Long studentId) {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term, studentId);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query word must match
+                    Map<Long, Double> combined = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double termScore = termScores.get(entry.getKey());
+                        if (termScore != null) {
+                            combined.put(entry.getKey(), entry.getValue() + termScore);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        }
+
+        // Best score per lesson for one query word over its exact, prefix and fuzzy matches
+        private Map<Long, Double> scoreTerm(String term, Long studentId) {
+            Map<Long, Double> scores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Double>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                collect(entry.getValue(), entry.getKey().equals(term) ? EXACT_MATCH : PREFIX_MATCH, studentId, scores);
+            }
+            if (term.length() >= MIN_FUZZY_LENGTH) {
+                int maxEdits = term.length() >= 8 ? 2 : 1;
+                for (Map.Entry<String, Map<Long, Double>> entry : postings.entrySet()) {
+                    String candidate = entry.getKey();
+                    if (!candidate.startsWith(term) && withinEdits(term, candidate, maxEdits)) {
+                        collect(entry.getValue(), FUZZY_MATCH, studentId, scores);
+                    }
+                }
+            }
+            return scores;
+        }
+
+        private void collect(Map<Long, Double> docs, double matchWeight, Long studentId, Map<Long, Double> scores) {
+            double idf = Math.log(1.0 + (double) documents.size() / docs.size());
+            for (Map.Entry<Long, Double> doc : docs.entrySet()) {
+                if (studentId != null && !studentId.equals(documents.get(doc.getKey()).studentId())) {
+                    continue;
+                }
+                scores.merge(doc.getKey(), doc.getValue() * matchWeight * idf, Math::max);
+            }
+        }
+    }
+}
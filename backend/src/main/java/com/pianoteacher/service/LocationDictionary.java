@@ -0,0 +1,130 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Location;
+import com.pianoteacher.repository.LocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory name to id dictionary over the {@code locations} table, so schedule
+ * writes and location filters resolve a name without a query.
+ *
+ * {@link #intern(String)} returns the location for a name, creating it on first use
+ * in the caller's transaction; a concurrent insert of the same name is waited for and
+ * re-read. A new location joins the dictionary when that transaction commits.
+ * Locations are never deleted, so cached entries never go stale; names created by
+ * another instance are found by a query on first lookup.
+ */
+@Component
+public class LocationDictionary {
+
+    private final LocationRepository locationRepository;
+    private final Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LocationDictionary(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Location location : locationRepository.findAll()) {
+            put(location.getId(), location.getName());
+        }
+    }
+
+    // Dictionary operations
+    public Location intern(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Location is required");
+        }
+        String key = Location.normalize(name);
+        Long id = idsByKey.get(key);
+        if (id == null) {
+            Location created = created().get(key);
+            id = created != null ? created.getId() : findOrCreate(name, key);
+        }
+        return locationRepository.getReferenceById(id);
+    }
+
+    // Id of an existing location, matched case-insensitively
+    public Optional<Long> findId(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String key = Location.normalize(name);
+        Long id = idsByKey.get(key);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Location created = created().get(key);
+        if (created != null) {
+            return Optional.of(created.getId());
+        }
+        Optional<Location> stored = locationRepository.findByNameKey(key);
+        stored.ifPresent(location -> put(location.getId(), location.getName()));
+        return stored.map(Location::getId);
+    }
+
+    // Ids of the locations whose name contains the term, ignoring case
+    public List<Long> findIdsContaining(String term) {
+        String folded = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        List<Long> ids = new ArrayList<>();
+        namesById.forEach((id, name) -> {
+            if (name.toLowerCase(Locale.ROOT).contains(folded)) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    public String name(Long id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            name = locationRepository.findById(id)
+                    .map(Location::getName)
+                    .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
+            if (!created().containsKey(Location.normalize(name))) {
+                put(id, name);
+            }
+        }
+        return name;
+    }
+
+    private Long findOrCreate(String name, String key) {
+        Optional<Location> stored = locationRepository.findByNameKey(key);
+        if (stored.isEmpty() && locationRepository.insertIfAbsent(new Location(name)) > 0) {
+            // Other requests cannot see the row until this transaction commits
+            Location location = locationRepository.findByNameKey(key).orElseThrow();
+            AfterCommit.<Map<String, Location>>batch(this, HashMap::new, created -> created.put(key, location),
+                    created -> created.values().forEach(each -> put(each.getId(), each.getName())), 0);
+            return location.getId();
+        }
+        // Committed, possibly by a concurrent request between our lookup and insert
+        Location location = stored.isPresent() ? stored.get() : locationRepository.findByNameKey(key).orElseThrow();
+        put(location.getId(), location.getName());
+        return location.getId();
+    }
+
+    // Locations inserted by the current transaction and not yet in the dictionary
+    private Map<String, Location> created() {
+        Map<String, Location> created = AfterCommit.pendingBatch(this);
+        return created != null ? created : Map.of();
+    }
+
+    private void put(Long id, String name) {
+        namesById.put(id, name);
+        idsByKey.put(Location.normalize(name), id);
+    }
+}
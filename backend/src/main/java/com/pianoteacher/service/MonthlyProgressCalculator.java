@@ -0,0 +1,159 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.LessonContent.ContentType;
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.repository.LessonContentRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scores a month of progress from what a student actually did in it: the lesson
+ * content they completed and the lessons they had.
+ *
+ * Content counts toward a month when it was open at some point in it (created before
+ * the month ends and not completed before it starts), and counts as done when it was
+ * completed within the month. A skill score is the difficulty-weighted share of its
+ * content that was done, so a level 8 piece weighs more than a level 2 exercise:
+ * technique from EXERCISE and TECHNIQUE, theory from THEORY, repertoire from
+ * REPERTOIRE and SONG. Practice habits average the ASSIGNMENT share with attendance,
+ * which is lessons held against one a week. Overall progress is the average of the
+ * skill scores the student has. A student with no content and no lessons in the
+ * month gets no scores.
+ *
+ * Any number of students is scored with two grouped queries.
+ */
+@Component
+public class MonthlyProgressCalculator {
+
+    private static final double DAYS_PER_WEEK = 7.0;
+
+    private static final Map<ContentType, Skill> SKILL_BY_CONTENT_TYPE = new EnumMap<>(Map.of(
+            ContentType.EXERCISE, Skill.TECHNICAL,
+            ContentType.TECHNIQUE, Skill.TECHNICAL,
+            ContentType.THEORY, Skill.THEORY,
+            ContentType.REPERTOIRE, Skill.REPERTOIRE,
+            ContentType.SONG, Skill.REPERTOIRE,
+            ContentType.ASSIGNMENT, Skill.PRACTICE));
+
+    private final LessonContentRepository lessonContentRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    @Autowired
+    public MonthlyProgressCalculator(LessonContentRepository lessonContentRepository, ScheduleRepository scheduleRepository) {
+        this.lessonContentRepository = lessonContentRepository;
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    public static YearMonth parsePeriod(String period) {
+        return ProgressReport.parseMonth(period).orElseThrow(
+                () -> new IllegalArgumentException("Report period must be a month in the format YYYY-MM: " + period));
+    }
+
+    /**
+     * Scores for the given students, keyed by student id. Students without activity
+     * in the month are left out. A month still in progress is scored up to now.
+     */
+    public Map<Long, MonthlyScores> calculate(Collection<Long> studentIds, YearMonth period) {
+        LocalDateTime from = period.atDay(1).atStartOfDay();
+        LocalDateTime to = period.plusMonths(1).atDay(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.isBefore(to) ? now : to;
+        if (!until.isAfter(from)) {
+            throw new IllegalArgumentException("Report period " + period + " has not started yet");
+        }
+        double weeks = Duration.between(from, until).toMinutes() / (DAYS_PER_WEEK * 24 * 60);
+
+        Map<Long, long[][]> difficultyByStudent = new HashMap<>();
+        for (Object[] row : lessonContentRepository.sumDifficultyByStudentAndType(studentIds, from, to)) {
+            Skill skill = SKILL_BY_CONTENT_TYPE.get((ContentType) row[1]);
+            if (skill == null) {
+                continue;
+            }
+            long[][] difficulty = difficultyByStudent.computeIfAbsent((Long) row[0], id -> new long[2][Skill.values().length]);
+            difficulty[0][skill.ordinal()] += ((Number) row[2]).longValue();
+            difficulty[1][skill.ordinal()] += ((Number) row[3]).longValue();
+        }
+        Map<Long, Long> lessonsByStudent = new HashMap<>();
+        for (Object[] row : scheduleRepository.countLessonsByStudentInRange(studentIds, from, until)) {
+            lessonsByStudent.put((Long) row[0], (Long) row[1]);
+        }
+
+        Map<Long, MonthlyScores> scores = new HashMap<>();
+        for (Long studentId : studentIds) {
+            long[][] difficulty = difficultyByStudent.get(studentId);
+            long lessons = lessonsByStudent.getOrDefault(studentId, 0L);
+            MonthlyScores studentScores = score(
+                    difficulty != null ? difficulty[0] : new long[Skill.values().length],
+                    difficulty != null ? difficulty[1] : new long[Skill.values().length],
+                    lessons, weeks);
+            if (studentScores != null) {
+                scores.put(studentId, studentScores);
+            }
+        }
+        return scores;
+    }
+
+    // Open and completed difficulty per skill, in the order technical, theory, repertoire, practice
+    static MonthlyScores score(long[] openDifficulty, long[] completedDifficulty, long lessons, double weeks) {
+        Double[] shares = new Double[Skill.values().length];
+        boolean active = lessons > 0;
+        for (Skill skill : Skill.values()) {
+            int i = skill.ordinal();
+            if (openDifficulty[i] > 0) {
+                shares[i] = 100.0 * completedDifficulty[i] / openDifficulty[i];
+                active = true;
+            }
+        }
+        if (!active) {
+            return null;
+        }
+        double attendance = Math.min(100.0, 100.0 * lessons / Math.max(weeks, 1.0));
+        Double assignments = shares[Skill.PRACTICE.ordinal()];
+        double practice = assignments != null ? (assignments + attendance) / 2 : attendance;
+
+        Double technical = shares[Skill.TECHNICAL.ordinal()];
+        Double theory = shares[Skill.THEORY.ordinal()];
+        Double repertoire = shares[Skill.REPERTOIRE.ordinal()];
+        double sum = practice;
+        int count = 1;
+        for (Double share : new Double[]{technical, theory, repertoire}) {
+            if (share != null) {
+                sum += share;
+                count++;
+            }
+        }
+        return new MonthlyScores(round(sum / count), round(technical), round(theory), round(repertoire), round(practice));
+    }
+
+    private static Double round(Double score) {
+        return score != null ? Math.round(score * 10) / 10.0 : null;
+    }
+
+    private enum Skill {
+        TECHNICAL,
+        THEORY,
+        REPERTOIRE,
+        PRACTICE
+    }
+
+    public record MonthlyScores(Double overallProgress, Double technicalSkills, Double theoryKnowledge,
+                                Double repertoireSkills, Double practiceHabits) {
+
+        public void applyTo(ProgressReport report) {
+            report.setOverallProgress(overallProgress);
+            report.setTechnicalSkills(technicalSkills);
+            report.setTheoryKnowledge(theoryKnowledge);
+            report.setRepertoireSkills(repertoireSkills);
+            report.setPracticeHabits(practiceHabits);
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.pianoteacher.service;
 
+import com.pianoteacher.dto.CursorPageDTO;
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
 import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.model.ProgressRollup;
+import com.pianoteacher.model.ProgressRollup.Granularity;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.repository.ProgressReportRepository;
 import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.MonthlyProgressCalculator.MonthlyScores;
+import com.pianoteacher.service.ProgressRollupService.ReportScores;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -18,11 +31,22 @@ public class ProgressReportService {
 
     private final ProgressReportRepository progressReportRepository;
     private final StudentRepository studentRepository;
+    private final LatestProgressReportIndex latestReportIndex;
+    private final ProgressRollupService progressRollupService;
+    private final MonthlyProgressCalculator monthlyProgressCalculator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ProgressReportService(ProgressReportRepository progressReportRepository, StudentRepository studentRepository) {
+    public ProgressReportService(ProgressReportRepository progressReportRepository, StudentRepository studentRepository,
+                                 LatestProgressReportIndex latestReportIndex, ProgressRollupService progressRollupService,
+                                 MonthlyProgressCalculator monthlyProgressCalculator) {
         this.progressReportRepository = progressReportRepository;
         this.studentRepository = studentRepository;
+        this.latestReportIndex = latestReportIndex;
+        this.progressRollupService = progressRollupService;
+        this.monthlyProgressCalculator = monthlyProgressCalculator;
     }
 
     // ProgressReport CRUD operations
@@ -30,7 +54,7 @@ public class ProgressReportService {
         progressReport.validate();
         
         // Check if student exists
-        if (!studentRepository.existsById(progressReport.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(progressReport.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + progressReport.getStudent().getId());
         }
         
@@ -39,14 +63,20 @@ public class ProgressReportService {
             progressReport.setReportDate(LocalDateTime.now());
         }
         
-        return progressReportRepository.save(progressReport);
+        ProgressReport savedReport = progressReportRepository.save(progressReport);
+        latestReportIndex.reportSaved(savedReport.getStudent().getId(), savedReport.getReportType(), savedReport.getId());
+        progressRollupService.reportSaved(savedReport);
+        return savedReport;
     }
 
     public ProgressReport updateProgressReport(Long id, ProgressReport progressReportDetails) {
         ProgressReport existingReport = getProgressReportById(id);
+        Long previousStudentId = existingReport.getStudent().getId();
+        String previousReportType = existingReport.getReportType();
+        ReportScores previousScores = ReportScores.of(existingReport);
         
         // Check if student exists
-        if (!studentRepository.existsById(progressReportDetails.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(progressReportDetails.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + progressReportDetails.getStudent().getId());
         }
         
@@ -67,12 +97,21 @@ public class ProgressReportService {
         existingReport.setReportDate(progressReportDetails.getReportDate());
         
         existingReport.validate();
-        return progressReportRepository.save(existingReport);
+        ProgressReport savedReport = progressReportRepository.save(existingReport);
+        if (!previousStudentId.equals(savedReport.getStudent().getId())
+                || !previousReportType.equals(savedReport.getReportType())) {
+            latestReportIndex.reportRemoved(previousStudentId, previousReportType, id);
+            latestReportIndex.reportSaved(savedReport.getStudent().getId(), savedReport.getReportType(), id);
+        }
+        progressRollupService.reportUpdated(previousScores, ReportScores.of(savedReport));
+        return savedReport;
     }
 
     public void deleteProgressReport(Long id) {
         ProgressReport progressReport = getProgressReportById(id);
         progressReportRepository.delete(progressReport);
+        latestReportIndex.reportRemoved(progressReport.getStudent().getId(), progressReport.getReportType(), id);
+        progressRollupService.reportRemoved(ReportScores.of(progressReport));
     }
 
     public ProgressReport getProgressReportById(Long id) {
@@ -80,137 +119,276 @@ public class ProgressReportService {
                 .orElseThrow(() -> new IllegalArgumentException("Progress report not found with id: " + id));
     }
 
-    public List<ProgressReport> getAllProgressReports() {
-        return progressReportRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getAllProgressReports() {
+        return progressReportRepository.findAllSummaries();
+    }
+
+    // Keyset pagination and streaming
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressReport> getProgressReportsPage(Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<ProgressReport> rows = progressReportRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, ProgressReport::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressReport> getProgressReportsPageByStudent(Long studentId, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<ProgressReport> rows = progressReportRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(
+                studentId, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, ProgressReport::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllProgressReports(Consumer<ProgressReport> consumer) {
+        try (Stream<ProgressReport> progressReportStream = progressReportRepository.streamAllOrderedById()) {
+            progressReportStream.forEach(progressReport -> {
+                consumer.accept(progressReport);
+                // Detach each row once written so the persistence context stays small
+                entityManager.detach(progressReport);
+            });
+        }
     }
 
     // ProgressReport query operations
-    public List<ProgressReport> getProgressReportsByStudent(Long studentId) {
-        return progressReportRepository.findByStudentId(studentId);
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudent(Long studentId) {
+        return progressReportRepository.findSummariesByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<ProgressReport> getProgressReportsByStudent(Student student) {
         return progressReportRepository.findByStudent(student);
     }
 
-    public List<ProgressReport> getProgressReportsByReportType(String reportType) {
-        return progressReportRepository.findByReportType(reportType);
+    // Unknown report types and malformed periods match no reports
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByReportType(String reportType) {
+        return ReportType.fromName(reportType)
+                .map(progressReportRepository::findSummariesByReportType)
+                .orElse(List.of());
     }
 
-    public List<ProgressReport> getProgressReportsByReportPeriod(String reportPeriod) {
-        return progressReportRepository.findByReportPeriod(reportPeriod);
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByReportPeriod(String reportPeriod) {
+        return ProgressReport.parsePeriod(reportPeriod)
+                .map(progressReportRepository::findSummariesByReportPeriod)
+                .orElse(List.of());
     }
 
-    // Combined query operations
-    public List<ProgressReport> getProgressReportsByStudentAndType(Long studentId, String reportType) {
-        return progressReportRepository.findByStudentIdAndReportType(studentId, reportType);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressReportSummaryDTO> getProgressReportsByReportTypePage(String reportType, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        Optional<ReportType> type = ReportType.fromName(reportType);
+        List<ProgressReportSummaryDTO> rows = type.isEmpty() ? List.of()
+                : progressReportRepository.findSummariesByReportTypeAfterId(
+                        type.get(), afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, ProgressReportSummaryDTO::id);
     }
 
-    public List<ProgressReport> getProgressReportsByStudentAndPeriod(Long studentId, String reportPeriod) {
-        return progressReportRepository.findByStudentIdAndReportPeriod(studentId, reportPeriod);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressReportSummaryDTO> getProgressReportsByReportPeriodPage(String reportPeriod, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        Optional<YearMonth> period = ProgressReport.parsePeriod(reportPeriod);
+        List<ProgressReportSummaryDTO> rows = period.isEmpty() ? List.of()
+                : progressReportRepository.findSummariesByReportPeriodAfterId(
+                        period.get(), afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, ProgressReportSummaryDTO::id);
     }
 
-    public List<ProgressReport> getProgressReportsByStudentTypeAndPeriod(Long studentId, String reportType, String reportPeriod) {
-        return progressReportRepository.findByStudentIdAndReportTypeAndReportPeriod(studentId, reportType, reportPeriod);
+    // Combined query operations
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudentAndType(Long studentId, String reportType) {
+        return ReportType.fromName(reportType)
+                .map(type -> progressReportRepository.findSummariesByStudentIdAndReportType(studentId, type))
+                .orElse(List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudentAndPeriod(Long studentId, String reportPeriod) {
+        return ProgressReport.parsePeriod(reportPeriod)
+                .map(period -> progressReportRepository.findSummariesByStudentIdAndReportPeriod(studentId, period))
+                .orElse(List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudentTypeAndPeriod(Long studentId, String reportType, String reportPeriod) {
+        Optional<ReportType> type = ReportType.fromName(reportType);
+        Optional<YearMonth> period = ProgressReport.parsePeriod(reportPeriod);
+        if (type.isEmpty() || period.isEmpty()) {
+            return List.of();
+        }
+        return progressReportRepository.findSummariesByStudentIdAndReportTypeAndReportPeriod(studentId, type.get(), period.get());
     }
 
     // Advanced query operations
-    public List<ProgressReport> getProgressReportsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return progressReportRepository.findByReportDateRange(startDate, endDate);
     }
 
-    public List<ProgressReport> getProgressReportsByStudentAndDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressReportSummaryDTO> getProgressReportsByDateRangePage(LocalDateTime startDate, LocalDateTime endDate,
+                                                                                     Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<ProgressReportSummaryDTO> rows = progressReportRepository.findByReportDateRangeAfterId(
+                startDate, endDate, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, ProgressReportSummaryDTO::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudentAndDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
         return progressReportRepository.findByStudentIdAndReportDateRange(studentId, startDate, endDate);
     }
 
-    public List<ProgressReport> getProgressReportsByProgressRange(Double minProgress, Double maxProgress) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByProgressRange(Double minProgress, Double maxProgress) {
         return progressReportRepository.findByOverallProgressRange(minProgress, maxProgress);
     }
 
-    public List<ProgressReport> getProgressReportsByStudentAndProgressRange(Long studentId, Double minProgress, Double maxProgress) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getProgressReportsByStudentAndProgressRange(Long studentId, Double minProgress, Double maxProgress) {
         return progressReportRepository.findByStudentIdAndOverallProgressRange(studentId, minProgress, maxProgress);
     }
 
-    // Latest report operations
-    public List<ProgressReport> getLatestReportsForAllStudents() {
-        return progressReportRepository.findLatestReportsForAllStudents();
+    // Latest report operations; the two served by the index stay off the replica, because
+    // a lagging replica would load the index without the newest reports and keep it that way
+    public List<ProgressReportSummaryDTO> getLatestReportsForAllStudents() {
+        return findReportsByIds(latestReportIndex.getLatestReportIds());
     }
 
-    public List<ProgressReport> getLatestReportsByStudent(Long studentId) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getLatestReportsByStudent(Long studentId) {
         return progressReportRepository.findLatestReportsByStudent(studentId);
     }
 
-    public List<ProgressReport> getLatestReportsByStudentAndType(Long studentId, String reportType) {
-        return progressReportRepository.findLatestReportsByStudentAndType(studentId, reportType);
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getLatestReportsByStudentAndType(Long studentId, String reportType) {
+        return ReportType.fromName(reportType)
+                .map(type -> progressReportRepository.findLatestReportsByStudentAndType(studentId, type))
+                .orElse(List.of());
     }
 
     // Performance analysis operations
-    public List<ProgressReport> getHighPerformingReports(Double threshold) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getHighPerformingReports(Double threshold) {
         return progressReportRepository.findHighPerformingReports(threshold);
     }
 
-    public List<ProgressReport> getLowPerformingReports(Double threshold) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getLowPerformingReports(Double threshold) {
         return progressReportRepository.findLowPerformingReports(threshold);
     }
 
-    public List<ProgressReport> getHighPerformingReportsByStudent(Long studentId, Double threshold) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getHighPerformingReportsByStudent(Long studentId, Double threshold) {
         return progressReportRepository.findHighPerformingReportsByStudent(studentId, threshold);
     }
 
-    public List<ProgressReport> getLowPerformingReportsByStudent(Long studentId, Double threshold) {
+    @Transactional(readOnly = true)
+    public List<ProgressReportSummaryDTO> getLowPerformingReportsByStudent(Long studentId, Double threshold) {
         return progressReportRepository.findLowPerformingReportsByStudent(studentId, threshold);
     }
 
     // Statistics operations
+    @Transactional(readOnly = true)
     public List<Object[]> countReportsByStudent() {
-        return progressReportRepository.countReportsByStudent();
+        return progressRollupService.getTotalsByStudent().stream()
+                .map(rollup -> new Object[]{rollup.getStudentId(), rollup.getOverall().getCount()})
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countReportsByType() {
-        return progressReportRepository.countReportsByType();
+        return progressRollupService.getTotalsByReportType().stream()
+                .map(rollup -> new Object[]{rollup.getReportType(), rollup.getOverall().getCount()})
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> countReportsByPeriod() {
-        return progressReportRepository.countReportsByPeriod();
+        return progressReportRepository.countReportsByPeriod().stream()
+                .map(row -> new Object[]{row[0].toString(), row[1]})
+                .toList();
     }
 
+    // Averages, trends and performance statistics are read from the progress rollups
+    @Transactional(readOnly = true)
     public List<Object[]> getAverageProgressByStudent() {
-        return progressReportRepository.getAverageProgressByStudent();
+        return progressRollupService.getTotalsByStudent().stream()
+                .map(rollup -> new Object[]{rollup.getStudentId(), rollup.getOverall().getAverage()})
+                .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> getAverageProgressByReportType() {
-        return progressReportRepository.getAverageProgressByReportType();
+        return progressRollupService.getTotalsByReportType().stream()
+                .map(rollup -> new Object[]{rollup.getReportType(), rollup.getOverall().getAverage()})
+                .toList();
     }
 
-    public List<Object[]> getProgressTrendForStudent(Long studentId) {
-        return progressReportRepository.getProgressTrendForStudent(studentId);
+    // Bucket start, average progress and report count per day, week or month
+    @Transactional(readOnly = true)
+    public List<Object[]> getProgressTrendForStudent(Long studentId, Granularity granularity) {
+        return toTrend(progressRollupService.getTrendForStudent(studentId, granularity));
     }
 
-    public List<Object[]> getOverallProgressTrend() {
-        return progressReportRepository.getOverallProgressTrend();
+    @Transactional(readOnly = true)
+    public List<Object[]> getOverallProgressTrend(Granularity granularity) {
+        return toTrend(progressRollupService.getTrend(granularity));
     }
 
+    @Transactional(readOnly = true)
     public Object[] getOverallSkillAverages() {
-        return progressReportRepository.getOverallSkillAverages();
+        return toSkillAverages(progressRollupService.getTotals(null));
     }
 
+    @Transactional(readOnly = true)
     public Object[] getSkillAveragesForStudent(Long studentId) {
-        return progressReportRepository.getSkillAveragesForStudent(studentId);
+        return toSkillAverages(progressRollupService.getTotals(studentId));
     }
 
+    @Transactional(readOnly = true)
     public Object[] getOverallPerformanceStatistics() {
-        return progressReportRepository.getOverallPerformanceStatistics();
+        return toPerformanceStatistics(progressRollupService.getTotals(null));
     }
 
+    @Transactional(readOnly = true)
     public Object[] getPerformanceStatisticsForStudent(Long studentId) {
-        return progressReportRepository.getPerformanceStatisticsForStudent(studentId);
+        return toPerformanceStatistics(progressRollupService.getTotals(studentId));
+    }
+
+    private static List<Object[]> toTrend(List<ProgressRollup> rollups) {
+        return rollups.stream()
+                .map(rollup -> new Object[]{rollup.getBucketStart().atStartOfDay(), rollup.getOverall().getAverage(),
+                        rollup.getOverall().getCount()})
+                .toList();
+    }
+
+    // Same shape as AVG over the reports: all null when no report has every skill
+    private static Object[] toSkillAverages(Optional<ProgressRollup> totals) {
+        return totals.map(rollup -> new Object[]{rollup.getTechnicalSkills().getAverage(),
+                        rollup.getTheoryKnowledge().getAverage(), rollup.getRepertoireSkills().getAverage(),
+                        rollup.getPracticeHabits().getAverage()})
+                .orElseGet(() -> new Object[]{null, null, null, null});
+    }
+
+    // Count, average, minimum and maximum overall progress
+    private static Object[] toPerformanceStatistics(Optional<ProgressRollup> totals) {
+        return totals.map(rollup -> new Object[]{rollup.getOverall().getCount(), rollup.getOverall().getAverage(),
+                        rollup.getOverall().getMin(), rollup.getOverall().getMax()})
+                .orElseGet(() -> new Object[]{0L, null, null, null});
     }
 
     // Date range operations
+    @Transactional(readOnly = true)
     public List<ProgressReport> getProgressReportsByCreationDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return progressReportRepository.findByCreationDateRange(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<ProgressReport> getProgressReportsByStudentAndCreationDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
         return progressReportRepository.findByStudentIdAndCreationDateRange(studentId, startDate, endDate);
     }
@@ -220,19 +398,29 @@ public class ProgressReportService {
         return progressReportRepository.existsById(id);
     }
 
+    @Transactional(readOnly = true)
     public long getTotalProgressReportCount() {
         return progressReportRepository.count();
     }
 
     public boolean existsByStudentAndTypeAndPeriod(Long studentId, String reportType, String reportPeriod) {
-        return progressReportRepository.existsByStudentAndTypeAndPeriod(studentId, reportType, reportPeriod);
+        Optional<ReportType> type = ReportType.fromName(reportType);
+        Optional<YearMonth> period = ProgressReport.parsePeriod(reportPeriod);
+        return type.isPresent() && period.isPresent()
+                && progressReportRepository.existsByStudentAndTypeAndPeriod(studentId, type.get(), period.get());
     }
 
-    public List<ProgressReport> getMostRecentReportsByType() {
-        return progressReportRepository.findMostRecentReportsByType();
+    // Not read-only, like getLatestReportsForAllStudents
+    public List<ProgressReportSummaryDTO> getMostRecentReportsByType() {
+        return findReportsByIds(latestReportIndex.getLatestReportIdsByType());
+    }
+
+    private List<ProgressReportSummaryDTO> findReportsByIds(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : progressReportRepository.findSummariesByIdIn(ids);
     }
 
     // Analytics operations
+    @Transactional(readOnly = true)
     public double getAverageOverallProgress() {
         Object[] stats = getOverallPerformanceStatistics();
         if (stats != null && stats.length >= 2) {
@@ -241,6 +429,7 @@ public class ProgressReportService {
         return 0.0;
     }
 
+    @Transactional(readOnly = true)
     public double getAverageProgressForStudent(Long studentId) {
         Object[] stats = getPerformanceStatisticsForStudent(studentId);
         if (stats != null && stats.length >= 2) {
@@ -249,6 +438,7 @@ public class ProgressReportService {
         return 0.0;
     }
 
+    @Transactional(readOnly = true)
     public double getHighestOverallProgress() {
         Object[] stats = getOverallPerformanceStatistics();
         if (stats != null && stats.length >= 4) {
@@ -257,6 +447,7 @@ public class ProgressReportService {
         return 0.0;
     }
 
+    @Transactional(readOnly = true)
     public double getLowestOverallProgress() {
         Object[] stats = getOverallPerformanceStatistics();
         if (stats != null && stats.length >= 3) {
@@ -265,65 +456,53 @@ public class ProgressReportService {
         return 0.0;
     }
 
+    @Transactional(readOnly = true)
     public long getHighPerformingStudentCount(Double threshold) {
         return getHighPerformingReports(threshold).stream()
-                .map(report -> report.getStudent().getId())
+                .map(ProgressReportSummaryDTO::studentId)
                 .distinct()
                 .count();
     }
 
+    @Transactional(readOnly = true)
     public long getLowPerformingStudentCount(Double threshold) {
         return getLowPerformingReports(threshold).stream()
-                .map(report -> report.getStudent().getId())
+                .map(ProgressReportSummaryDTO::studentId)
                 .distinct()
                 .count();
     }
 
     // Report generation operations
     public ProgressReport generateMonthlyReport(Long studentId, String period) {
-        // Check if report already exists
-        if (existsByStudentAndTypeAndPeriod(studentId, "MONTHLY", period)) {
-            throw new IllegalArgumentException("Monthly report already exists for student " + studentId + " and period " + period);
-        }
-
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + studentId));
-
-        // This is a simplified report generation - in a real application,
-        // you would calculate progress based on lesson content completion,
-        // practice logs, assessments, etc.
-        ProgressReport report = new ProgressReport();
-        report.setStudent(student);
-        report.setReportType("MONTHLY");
-        report.setReportPeriod(period);
-        report.setOverallProgress(75.0); // Placeholder - would be calculated
-        report.setTechnicalSkills(80.0);
-        report.setTheoryKnowledge(70.0);
-        report.setRepertoireSkills(75.0);
-        report.setPracticeHabits(85.0);
-        report.setReportDate(LocalDateTime.now());
-
-        return createProgressReport(report);
+        return generateReport(studentId, ReportType.MONTHLY, period);
     }
 
+    // Scored over the period's month from the student's lessons, like the monthly report
     public ProgressReport generateAssessmentReport(Long studentId, String period) {
+        return generateReport(studentId, ReportType.ASSESSMENT, period);
+    }
+
+    private ProgressReport generateReport(Long studentId, ReportType reportType, String period) {
+        YearMonth month = MonthlyProgressCalculator.parsePeriod(period);
+
         // Check if report already exists
-        if (existsByStudentAndTypeAndPeriod(studentId, "ASSESSMENT", period)) {
-            throw new IllegalArgumentException("Assessment report already exists for student " + studentId + " and period " + period);
+        if (existsByStudentAndTypeAndPeriod(studentId, reportType.name(), period)) {
+            throw new IllegalArgumentException(reportType.getDisplayName() + " report already exists for student " + studentId + " and period " + period);
         }
 
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + studentId));
 
+        MonthlyScores scores = monthlyProgressCalculator.calculate(List.of(studentId), month).get(studentId);
+        if (scores == null) {
+            throw new IllegalArgumentException("No lesson activity for student " + studentId + " in period " + period);
+        }
+
         ProgressReport report = new ProgressReport();
         report.setStudent(student);
-        report.setReportType("ASSESSMENT");
+        report.setReportType(reportType.name());
         report.setReportPeriod(period);
-        report.setOverallProgress(85.0); // Placeholder - would be calculated
-        report.setTechnicalSkills(90.0);
-        report.setTheoryKnowledge(80.0);
-        report.setRepertoireSkills(85.0);
-        report.setPracticeHabits(88.0);
+        scores.applyTo(report);
         report.setReportDate(LocalDateTime.now());
 
         return createProgressReport(report);
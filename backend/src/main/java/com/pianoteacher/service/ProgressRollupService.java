@@ -0,0 +1,269 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.model.ProgressRollup;
+import com.pianoteacher.model.ProgressRollup.Granularity;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ProgressRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static com.pianoteacher.model.ProgressRollup.ALL_STUDENTS;
+import static com.pianoteacher.model.ProgressRollup.ALL_TIME;
+import static com.pianoteacher.model.ProgressRollup.ALL_TYPES;
+
+/**
+ * Keeps the {@link ProgressRollup} buckets in step with the progress reports and
+ * reads statistics from them. Reports are added with relative updates, so writes
+ * sharing a bucket only queue on its row; {@link #rebuild()} recomputes every bucket.
+ */
+@Service
+@Transactional
+public class ProgressRollupService {
+
+    private static final List<Granularity> TIME_BUCKETS = List.of(Granularity.DAY, Granularity.WEEK, Granularity.MONTH);
+
+    private final ProgressRollupRepository rollupRepository;
+    private final ProgressReportRepository progressReportRepository;
+
+    @Autowired
+    public ProgressRollupService(ProgressRollupRepository rollupRepository, ProgressReportRepository progressReportRepository) {
+        this.rollupRepository = rollupRepository;
+        this.progressReportRepository = progressReportRepository;
+    }
+
+    // Rollup maintenance
+    public void reportSaved(ProgressReport report) {
+        reportUpdated(null, ReportScores.of(report));
+    }
+
+    // Reports inserted by report generation: only the students' own buckets are updated, so
+    // parallel chunks never wait on each other; the returned scores go to addToSharedBuckets
+    public List<ReportScores> reportsSavedToStudentBuckets(List<ProgressReport> reports) {
+        List<ReportScores> added = reports.stream().map(ReportScores::of).toList();
+        addAll(added, key -> key.studentId() != ALL_STUDENTS);
+        return added;
+    }
+
+    // The buckets for all students, summed over every report first so each is updated once
+    public void addToSharedBuckets(List<ReportScores> added) {
+        addAll(added, key -> key.studentId() == ALL_STUDENTS);
+    }
+
+    public void reportRemoved(ReportScores removed) {
+        reportUpdated(removed, null);
+    }
+
+    public void reportUpdated(ReportScores before, ReportScores after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Set<RollupKey> removeFrom = before != null ? new HashSet<>(before.keys()) : Set.of();
+        Set<RollupKey> addTo = after != null ? new HashSet<>(after.keys()) : Set.of();
+        // In key order, so two writes cannot deadlock on each other's rows
+        Set<RollupKey> keys = new TreeSet<>(removeFrom);
+        keys.addAll(addTo);
+
+        for (RollupKey key : keys) {
+            Optional<ProgressRollup> locked = removeFrom.contains(key) ? lockBucket(key) : Optional.empty();
+            if (locked.isEmpty()) {
+                if (addTo.contains(key)) {
+                    ProgressRollup delta = key.newRollup();
+                    after.addTo(delta);
+                    add(delta);
+                }
+                continue;
+            }
+            ProgressRollup rollup = locked.get();
+            if (!before.removeFrom(rollup)) {
+                // A recomputed bucket already reflects the report as it is now
+                recompute(key, rollup);
+            } else if (addTo.contains(key)) {
+                after.addTo(rollup);
+            }
+            rollupRepository.save(rollup);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && progressReportRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        rollupRepository.deleteAllInBatch();
+        Map<RollupKey, ProgressRollup> rollups = new HashMap<>();
+        for (ProgressReportSummaryDTO report : progressReportRepository.findAllSummaries()) {
+            ReportScores scores = ReportScores.of(report);
+            for (RollupKey key : scores.keys()) {
+                scores.addTo(rollups.computeIfAbsent(key, RollupKey::newRollup));
+            }
+        }
+        rollupRepository.saveAll(rollups.values());
+    }
+
+    // Rollup reads
+    @Transactional(readOnly = true)
+    public List<ProgressRollup> getTrend(Granularity granularity) {
+        return rollupRepository.findTrend(granularity.name(), ALL_STUDENTS, ALL_TYPES);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressRollup> getTrendForStudent(Long studentId, Granularity granularity) {
+        return rollupRepository.findTrend(granularity.name(), studentId, ALL_TYPES);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressRollup> getTotalsByStudent() {
+        return rollupRepository.findStudentTotals(Granularity.ALL.name(), ALL_STUDENTS, ALL_TYPES);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressRollup> getTotalsByReportType() {
+        return rollupRepository.findReportTypeTotals(Granularity.ALL.name(), ALL_STUDENTS, ALL_TYPES);
+    }
+
+    // All students when studentId is null
+    @Transactional(readOnly = true)
+    public Optional<ProgressRollup> getTotals(Long studentId) {
+        return rollupRepository.findByGranularityAndBucketStartAndStudentIdAndReportType(
+                        Granularity.ALL.name(), ALL_TIME, studentId != null ? studentId : ALL_STUDENTS, ALL_TYPES)
+                .filter(rollup -> !rollup.isEmpty());
+    }
+
+    private Optional<ProgressRollup> lockBucket(RollupKey key) {
+        return rollupRepository.findForUpdate(key.granularity().name(), key.bucketStart(), key.studentId(), key.reportType());
+    }
+
+    private void addAll(List<ReportScores> added, Predicate<RollupKey> buckets) {
+        Map<RollupKey, ProgressRollup> deltas = new TreeMap<>();
+        for (ReportScores scores : added) {
+            for (RollupKey key : scores.keys()) {
+                if (buckets.test(key)) {
+                    scores.addTo(deltas.computeIfAbsent(key, RollupKey::newRollup));
+                }
+            }
+        }
+        deltas.values().forEach(this::add);
+    }
+
+    // Adds the reports summed in delta to the bucket, inserting the bucket first if it is new
+    // in this transaction; a bucket a concurrent write inserted first is kept and added to
+    private void add(ProgressRollup delta) {
+        if (rollupRepository.addToBucket(delta) == 0) {
+            rollupRepository.insertBucketIfAbsent(delta);
+            rollupRepository.addToBucket(delta);
+        }
+    }
+
+    private void recompute(RollupKey key, ProgressRollup rollup) {
+        // Flush the report change first so the bucket query sees it
+        progressReportRepository.flush();
+        rollup.reset();
+        for (ProgressReportSummaryDTO report : findReports(key)) {
+            ReportScores.of(report).addTo(rollup);
+        }
+    }
+
+    private List<ProgressReportSummaryDTO> findReports(RollupKey key) {
+        if (key.granularity() == Granularity.ALL) {
+            if (key.studentId() != ALL_STUDENTS) {
+                return progressReportRepository.findSummariesByStudentId(key.studentId());
+            }
+            if (!ALL_TYPES.equals(key.reportType())) {
+                return progressReportRepository.findSummariesByReportType(ReportType.valueOf(key.reportType()));
+            }
+            return progressReportRepository.findAllSummaries();
+        }
+        LocalDateTime from = key.bucketStart().atStartOfDay();
+        LocalDateTime to = key.granularity().bucketEnd(key.bucketStart()).atStartOfDay();
+        return key.studentId() == ALL_STUDENTS
+                ? progressReportRepository.findSummariesReportedBetween(from, to)
+                : progressReportRepository.findSummariesByStudentIdReportedBetween(key.studentId(), from, to);
+    }
+
+    /**
+     * The fields of a report the rollups are built from. Taken before an update
+     * changes the report, so its old buckets can be corrected.
+     */
+    public record ReportScores(Long studentId, String reportType, LocalDateTime reportDate, Double overallProgress,
+                               Double technicalSkills, Double theoryKnowledge, Double repertoireSkills,
+                               Double practiceHabits) {
+
+        public static ReportScores of(ProgressReport report) {
+            return new ReportScores(report.getStudent().getId(), report.getReportType(), report.getReportDate(),
+                    report.getOverallProgress(), report.getTechnicalSkills(), report.getTheoryKnowledge(),
+                    report.getRepertoireSkills(), report.getPracticeHabits());
+        }
+
+        static ReportScores of(ProgressReportSummaryDTO report) {
+            return new ReportScores(report.studentId(), report.reportType(), report.reportDate(),
+                    report.overallProgress(), report.technicalSkills(), report.theoryKnowledge(),
+                    report.repertoireSkills(), report.practiceHabits());
+        }
+
+        // Day, week and month buckets (when dated) for all students and the student, then the all-time buckets
+        List<RollupKey> keys() {
+            List<RollupKey> keys = new ArrayList<>();
+            if (reportDate != null) {
+                LocalDate date = reportDate.toLocalDate();
+                for (Granularity granularity : TIME_BUCKETS) {
+                    keys.add(new RollupKey(granularity, granularity.bucketStart(date), ALL_STUDENTS, ALL_TYPES));
+                    keys.add(new RollupKey(granularity, granularity.bucketStart(date), studentId, ALL_TYPES));
+                }
+            }
+            keys.add(new RollupKey(Granularity.ALL, ALL_TIME, ALL_STUDENTS, ALL_TYPES));
+            keys.add(new RollupKey(Granularity.ALL, ALL_TIME, studentId, ALL_TYPES));
+            keys.add(new RollupKey(Granularity.ALL, ALL_TIME, ALL_STUDENTS, reportType));
+            return keys;
+        }
+
+        void addTo(ProgressRollup rollup) {
+            rollup.add(overallProgress, technicalSkills, theoryKnowledge, repertoireSkills, practiceHabits);
+        }
+
+        boolean removeFrom(ProgressRollup rollup) {
+            return rollup.remove(overallProgress, technicalSkills, theoryKnowledge, repertoireSkills, practiceHabits);
+        }
+    }
+
+    record RollupKey(Granularity granularity, LocalDate bucketStart, Long studentId, String reportType)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::granularity)
+                .thenComparing(RollupKey::bucketStart)
+                .thenComparing(RollupKey::studentId)
+                .thenComparing(RollupKey::reportType);
+
+        ProgressRollup newRollup() {
+            return new ProgressRollup(granularity, bucketStart, studentId, reportType);
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pianoteacher.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds an in-memory index that is loaded whole from the database and then kept up to
+ * date by committed changes.
+ *
+ * A rebuild loads a new index while the current one keeps serving. Changes applied
+ * during the load are recorded and replayed onto the new index before it is swapped
+ * in, so they must be idempotent: the load may already have seen them. If the load
+ * fails, the current index stays.
+ */
+final class RebuildableIndex<I> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    private volatile I current;
+    // Changes applied while a rebuild is loading
+    private List<UnaryOperator<I>> pendingChanges;
+
+    RebuildableIndex(I empty) {
+        this.current = empty;
+    }
+
+    // The current index, for an index that is replaced on change rather than edited
+    I current() {
+        return current;
+    }
+
+    // Reads an index that is edited in place, excluding concurrent changes
+    <R> R read(Function<I, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Edits the index in place
+    void update(Consumer<I> change) {
+        apply(index -> {
+            change.accept(index);
+            return index;
+        });
+    }
+
+    // Replaces the index with the one the change returns
+    void apply(UnaryOperator<I> change) {
+        lock.writeLock().lock();
+        try {
+            current = change.apply(current);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void rebuild(Supplier<I> loader) {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            I rebuilt;
+            try {
+                rebuilt = loader.get();
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (UnaryOperator<I> change : pendingChanges) {
+                    rebuilt = change.apply(rebuilt);
+                }
+                pendingChanges = null;
+                current = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
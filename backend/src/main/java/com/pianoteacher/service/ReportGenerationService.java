@@ -0,0 +1,216 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.model.ReportGenerationRun;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ReportGenerationRunRepository;
+import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.MonthlyProgressCalculator.MonthlyScores;
+import com.pianoteacher.service.ProgressRollupService.ReportScores;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates the monthly progress report for every student on the roster in the
+ * background, in parallel chunks of one transaction each. Students that already have
+ * the report are skipped, so starting a period again resumes it.
+ */
+@Service
+public class ReportGenerationService {
+
+    public static final String REPORT_TYPE = "MONTHLY";
+
+    private final ReportGenerationRunRepository runRepository;
+    private final StudentRepository studentRepository;
+    private final ProgressReportRepository progressReportRepository;
+    private final MonthlyProgressCalculator monthlyProgressCalculator;
+    private final ProgressRollupService progressRollupService;
+    private final LatestProgressReportIndex latestReportIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Set<String> activePeriods = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ReportGenerationService(ReportGenerationRunRepository runRepository, StudentRepository studentRepository,
+                                   ProgressReportRepository progressReportRepository,
+                                   MonthlyProgressCalculator monthlyProgressCalculator,
+                                   ProgressRollupService progressRollupService,
+                                   LatestProgressReportIndex latestReportIndex,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                   @Value("${app.reports.generation.chunk-size:500}") int chunkSize,
+                                   @Value("${app.reports.generation.parallelism:4}") int parallelism) {
+        this.runRepository = runRepository;
+        this.studentRepository = studentRepository;
+        this.progressReportRepository = progressReportRepository;
+        this.monthlyProgressCalculator = monthlyProgressCalculator;
+        this.progressRollupService = progressRollupService;
+        this.latestReportIndex = latestReportIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // Run operations
+    public ReportGenerationRun startMonthlyRun(String period) {
+        YearMonth month = MonthlyProgressCalculator.parsePeriod(period);
+        if (!month.atDay(1).atStartOfDay().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Report period " + period + " has not started yet");
+        }
+        String reportPeriod = month.toString();
+        if (!activePeriods.add(reportPeriod)) {
+            throw new IllegalArgumentException("Monthly reports for period " + reportPeriod + " are already being generated");
+        }
+        try {
+            List<Long> studentIds = studentRepository.findAllIds();
+            ReportGenerationRun run = runRepository.save(new ReportGenerationRun(REPORT_TYPE, reportPeriod, studentIds.size()));
+            taskExecutor.execute(() -> execute(run.getId(), month, studentIds));
+            return run;
+        } catch (RuntimeException e) {
+            activePeriods.remove(reportPeriod);
+            throw e;
+        }
+    }
+
+    public Optional<ReportGenerationRun> getRun(Long id) {
+        return runRepository.findById(id);
+    }
+
+    public List<ReportGenerationRun> getRunsForPeriod(String period) {
+        return runRepository.findByReportTypeAndReportPeriodOrderByIdDesc(REPORT_TYPE,
+                MonthlyProgressCalculator.parsePeriod(period).toString());
+    }
+
+    // Runs left RUNNING by a previous process will never finish
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedRuns() {
+        List<ReportGenerationRun> interrupted = runRepository.findByStatus(ReportGenerationRun.Status.RUNNING.name());
+        for (ReportGenerationRun run : interrupted) {
+            run.fail("Interrupted by application shutdown");
+            runRepository.save(run);
+        }
+        if (!interrupted.isEmpty()) {
+            progressRollupService.rebuild();
+        }
+    }
+
+    private void execute(Long runId, YearMonth period, List<Long> studentIds) {
+        try {
+            List<List<Long>> chunks = new ArrayList<>();
+            for (int from = 0; from < studentIds.size(); from += chunkSize) {
+                chunks.add(studentIds.subList(from, Math.min(from + chunkSize, studentIds.size())));
+            }
+            AtomicInteger nextChunk = new AtomicInteger();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Queue<ReportScores> committed = new ConcurrentLinkedQueue<>();
+            Runnable worker = () -> {
+                int index;
+                while (failure.get() == null && (index = nextChunk.getAndIncrement()) < chunks.size()) {
+                    try {
+                        committed.addAll(processChunk(runId, period, chunks.get(index)));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+
+            // This thread is one of the workers
+            List<CompletableFuture<Void>> helpers = new ArrayList<>();
+            for (int i = 1; i < Math.min(parallelism, chunks.size()); i++) {
+                helpers.add(CompletableFuture.runAsync(worker, taskExecutor));
+            }
+            worker.run();
+            CompletableFuture.allOf(helpers.toArray(new CompletableFuture[0])).join();
+            progressRollupService.addToSharedBuckets(List.copyOf(committed));
+
+            Throwable error = failure.get();
+            finish(runId, error == null ? null : String.valueOf(error.getMessage()));
+        } catch (RuntimeException e) {
+            finish(runId, String.valueOf(e.getMessage()));
+        } finally {
+            activePeriods.remove(period.toString());
+        }
+    }
+
+    // Returns the scores of the reports the chunk committed, for the shared rollup buckets
+    private List<ReportScores> processChunk(Long runId, YearMonth period, List<Long> studentIds) {
+        return transactionTemplate.execute(status -> {
+            String reportPeriod = period.toString();
+            Set<Long> existing = new HashSet<>(
+                    progressReportRepository.findStudentIdsWithReport(studentIds, ReportType.valueOf(REPORT_TYPE), period));
+            List<Long> pending = studentIds.stream().filter(id -> !existing.contains(id)).toList();
+            Map<Long, MonthlyScores> scores = pending.isEmpty()
+                    ? Map.of()
+                    : monthlyProgressCalculator.calculate(pending, period);
+
+            LocalDateTime reportDate = LocalDateTime.now();
+            List<ProgressReport> reports = new ArrayList<>(scores.size());
+            for (Long studentId : pending) {
+                MonthlyScores studentScores = scores.get(studentId);
+                if (studentScores == null) {
+                    continue;
+                }
+                ProgressReport report = new ProgressReport();
+                report.setStudent(entityManager.getReference(Student.class, studentId));
+                report.setReportType(REPORT_TYPE);
+                report.setReportPeriod(reportPeriod);
+                report.setReportDate(reportDate);
+                studentScores.applyTo(report);
+                report.validate();
+                entityManager.persist(report);
+                reports.add(report);
+            }
+            entityManager.flush();
+            for (ProgressReport report : reports) {
+                latestReportIndex.reportSaved(report.getStudent().getId(), REPORT_TYPE, report.getId());
+            }
+            List<ReportScores> added = progressRollupService.reportsSavedToStudentBuckets(reports);
+            runRepository.addProgress(runId, studentIds.size(), reports.size(), existing.size(),
+                    pending.size() - reports.size());
+            return added;
+        });
+    }
+
+    private void finish(Long runId, String errorMessage) {
+        transactionTemplate.executeWithoutResult(status -> runRepository.findById(runId).ifPresent(run -> {
+            if (errorMessage == null) {
+                run.complete();
+            } else {
+                run.fail(errorMessage);
+            }
+            runRepository.save(run);
+        }));
+    }
+}
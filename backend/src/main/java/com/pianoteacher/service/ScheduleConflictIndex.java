@@ -0,0 +1,195 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of booked intervals per student, used to answer schedule
+ * conflict checks without querying the database.
+ *
+ * Each student's bookings are kept in arrays sorted by start time together with
+ * a running maximum of end times, so an overlap test is a binary search followed
+ * by a short backward scan. A student's intervals are loaded from the database
+ * the first time they are needed and then kept up to date by the write paths in
+ * {@link ScheduleService}. If a transaction that changed the index rolls back,
+ * the affected student is evicted and reloaded on the next check.
+ */
+@Component
+public class ScheduleConflictIndex {
+
+    private final ScheduleRepository scheduleRepository;
+    private final Map<Long, StudentIntervals> intervalsByStudent = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScheduleConflictIndex(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    // Conflict checks
+    public boolean hasConflict(Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
+        return hasConflict(studentId, startTime, endTime, null);
+    }
+
+    public boolean hasConflict(Long studentId, LocalDateTime startTime, LocalDateTime endTime, Long excludeScheduleId) {
+        long exclude = excludeScheduleId != null ? excludeScheduleId : Long.MIN_VALUE;
+        return intervalsFor(studentId).overlaps(toEpochSecond(startTime), toEpochSecond(endTime), exclude);
+    }
+
+    // Index maintenance
+    public void add(Long studentId, Long scheduleId, LocalDateTime startTime, LocalDateTime endTime) {
+        long start = toEpochSecond(startTime);
+        long end = toEpochSecond(endTime);
+        applyAndTrack(studentId, intervals -> intervals.add(scheduleId, start, end));
+    }
+
+    public void remove(Long studentId, Long scheduleId) {
+        applyAndTrack(studentId, intervals -> intervals.remove(scheduleId));
+    }
+
+    public void evict(Long studentId) {
+        intervalsByStudent.remove(studentId);
+    }
+
+    public void clear() {
+        intervalsByStudent.clear();
+    }
+
+    private StudentIntervals intervalsFor(Long studentId) {
+        return intervalsByStudent.computeIfAbsent(studentId, this::load);
+    }
+
+    private StudentIntervals load(Long studentId) {
+        List<Object[]> rows = scheduleRepository.findIntervalsByStudentId(studentId);
+        StudentIntervals intervals = new StudentIntervals(Math.max(rows.size(), 8));
+        for (Object[] row : rows) {
+            intervals.add((Long) row[0], toEpochSecond((LocalDateTime) row[1]), toEpochSecond((LocalDateTime) row[2]));
+        }
+        return intervals;
+    }
+
+    // Applies a change now so later checks in the same transaction see it, re-applies it
+    // after commit in case a concurrent load missed the uncommitted row, and drops the
+    // student's entry if the transaction does not commit. Changes are idempotent, so the
+    // second apply is harmless outside a transaction.
+    private void applyAndTrack(Long studentId, Consumer<StudentIntervals> change) {
+        applyIfLoaded(studentId, change);
+        AfterCommit.run(() -> applyIfLoaded(studentId, change), () -> evict(studentId));
+    }
+
+    private void applyIfLoaded(Long studentId, Consumer<StudentIntervals> change) {
+        StudentIntervals intervals = intervalsByStudent.get(studentId);
+        if (intervals != null) {
+            change.accept(intervals);
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Bookings of a single student, sorted by start time. {@code maxEnds[i]} holds
+     * the largest end time among entries {@code 0..i}, which lets the overlap scan
+     * stop as soon as no earlier booking can reach the requested start.
+     */
+    static final class StudentIntervals {
+
+        private long[] ids;
+        private long[] starts;
+        private long[] ends;
+        private long[] maxEnds;
+        private int size;
+
+        StudentIntervals(int capacity) {
+            ids = new long[capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+            maxEnds = new long[capacity];
+        }
+
+        synchronized boolean overlaps(long start, long end, long excludeId) {
+            // Walk back from the last booking that starts before the requested end
+            for (int i = firstStartAtOrAfter(end) - 1; i >= 0 && maxEnds[i] > start; i--) {
+                if (ends[i] > start && ids[i] != excludeId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long id, long start, long end) {
+            removeInternal(id);
+            if (size == starts.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+            }
+            int position = firstStartAtOrAfter(start);
+            int tail = size - position;
+            System.arraycopy(ids, position, ids, position + 1, tail);
+            System.arraycopy(starts, position, starts, position + 1, tail);
+            System.arraycopy(ends, position, ends, position + 1, tail);
+            ids[position] = id;
+            starts[position] = start;
+            ends[position] = end;
+            size++;
+            recomputeMaxEnds(position);
+        }
+
+        synchronized void remove(long id) {
+            removeInternal(id);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void removeInternal(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    int tail = size - i - 1;
+                    System.arraycopy(ids, i + 1, ids, i, tail);
+                    System.arraycopy(starts, i + 1, starts, i, tail);
+                    System.arraycopy(ends, i + 1, ends, i, tail);
+                    size--;
+                    recomputeMaxEnds(i);
+                    return;
+                }
+            }
+        }
+
+        // Index of the first booking whose start is >= value
+        private int firstStartAtOrAfter(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void recomputeMaxEnds(int from) {
+            long max = from > 0 ? maxEnds[from - 1] : Long.MIN_VALUE;
+            for (int i = from; i < size; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+    }
+}
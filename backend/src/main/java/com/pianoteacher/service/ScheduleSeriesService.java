@@ -0,0 +1,245 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.ScheduleSeries;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.ScheduleSeriesRepository;
+import com.pianoteacher.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Recurring schedule series. A series is stored as a rule and expanded on read;
+ * {@link #materialize} turns its occurrences into {@link Schedule} rows in JDBC
+ * batches. Conflicts for a whole series are found with one range query and a single
+ * sweep over the student's bookings rather than one overlap query per occurrence.
+ * The bookings include the occurrences of the student's other series that are not
+ * materialized yet, which single schedules are checked against too.
+ */
+@Service
+@Transactional
+public class ScheduleSeriesService {
+
+    private static final Comparator<Object[]> BY_START = Comparator.comparing(booking -> (LocalDateTime) booking[1]);
+
+    private final ScheduleSeriesRepository scheduleSeriesRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final StudentRepository studentRepository;
+    private final ScheduleConflictIndex conflictIndex;
+    private final TableChangeTracker changeTracker;
+    private final ScheduleSnapshot snapshot;
+    private final LocationDictionary locationDictionary;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ScheduleSeriesService(ScheduleSeriesRepository scheduleSeriesRepository, ScheduleRepository scheduleRepository,
+                                 StudentRepository studentRepository, ScheduleConflictIndex conflictIndex,
+                                 TableChangeTracker changeTracker, ScheduleSnapshot snapshot,
+                                 LocationDictionary locationDictionary,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.scheduleSeriesRepository = scheduleSeriesRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.studentRepository = studentRepository;
+        this.conflictIndex = conflictIndex;
+        this.changeTracker = changeTracker;
+        this.snapshot = snapshot;
+        this.locationDictionary = locationDictionary;
+        this.batchSize = batchSize;
+    }
+
+    // Series CRUD operations
+    public ScheduleSeries createSeries(ScheduleSeries series) {
+        series.validate();
+
+        // Check if student exists
+        if (!studentRepository.existsCachedById(series.getStudent().getId())) {
+            throw new IllegalArgumentException("Student not found with id: " + series.getStudent().getId());
+        }
+
+        requireNoConflicts(series, series.occurrenceDates(series.getStartDate(), series.getEndDate().plusDays(1)));
+        return scheduleSeriesRepository.save(series);
+    }
+
+    public ScheduleSeries getSeriesById(Long id) {
+        return scheduleSeriesRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Schedule series not found with id: " + id));
+    }
+
+    public List<ScheduleSeries> getSeriesByStudent(Long studentId) {
+        return scheduleSeriesRepository.findByStudentId(studentId);
+    }
+
+    public ScheduleSeries addException(Long id, LocalDate date) {
+        ScheduleSeries series = getSeriesById(id);
+        if (!series.isOccurrenceDate(date)) {
+            throw new IllegalArgumentException(date + " is not an occurrence of schedule series " + id);
+        }
+        series.getExceptionDates().add(date);
+
+        // Drop the occurrence if it has already been materialized
+        Long studentId = series.getStudent().getId();
+        for (Schedule occurrence : scheduleRepository.findBySeriesIdInRange(id, date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            scheduleRepository.delete(occurrence);
+            conflictIndex.remove(studentId, occurrence.getId());
+        }
+        return scheduleSeriesRepository.save(series);
+    }
+
+    public void deleteSeries(Long id) {
+        ScheduleSeries series = getSeriesById(id);
+        Long studentId = series.getStudent().getId();
+
+        List<Long> occurrenceIds = scheduleRepository.findIdsBySeriesId(id);
+        scheduleRepository.deleteBySeriesId(id);
+        // Bulk delete skips entity callbacks, so report it to the change tracker and snapshot directly
+        changeTracker.changed(Schedule.class);
+        for (Long occurrenceId : occurrenceIds) {
+            conflictIndex.remove(studentId, occurrenceId);
+            snapshot.removed(occurrenceId);
+        }
+        scheduleSeriesRepository.delete(series);
+    }
+
+    // Materialization
+    public ScheduleSeries materialize(Long id, LocalDate through) {
+        ScheduleSeries series = getSeriesById(id);
+        LocalDate from = series.getMaterializedThrough() != null
+                ? series.getMaterializedThrough().plusDays(1)
+                : series.getStartDate();
+        LocalDate until = through.isAfter(series.getEndDate()) ? series.getEndDate() : through;
+        if (until.isBefore(from)) {
+            return series;
+        }
+
+        List<LocalDate> dates = series.occurrenceDates(from, until.plusDays(1));
+        // Re-check against bookings made since the series was created
+        requireNoConflicts(series, dates);
+
+        series.setMaterializedThrough(until);
+        scheduleSeriesRepository.saveAndFlush(series);
+
+        Long studentId = series.getStudent().getId();
+        for (int i = 0; i < dates.size(); i++) {
+            Schedule occurrence = toOccurrence(series, dates.get(i), entityManager.getReference(Student.class, studentId));
+            occurrence.setPlace(locationDictionary.intern(series.getLocation()));
+            entityManager.persist(occurrence);
+            conflictIndex.add(studentId, occurrence.getId(), occurrence.getStartTime(), occurrence.getEndTime());
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return getSeriesById(id);
+    }
+
+    // Lazy expansion for calendar reads
+    public List<Schedule> expandOccurrences(LocalDate from, LocalDate to, Long studentId) {
+        List<ScheduleSeries> seriesList = studentId != null
+                ? scheduleSeriesRepository.findUnmaterializedByStudentInRange(studentId, from, to)
+                : scheduleSeriesRepository.findUnmaterializedInRange(from, to);
+
+        // Unsaved Schedule instances (no id) for occurrences past each series' materialized range
+        List<Schedule> occurrences = new ArrayList<>();
+        for (ScheduleSeries series : seriesList) {
+            LocalDate start = from;
+            if (series.getMaterializedThrough() != null && !series.getMaterializedThrough().isBefore(from)) {
+                start = series.getMaterializedThrough().plusDays(1);
+            }
+            for (LocalDate date : series.occurrenceDates(start, to)) {
+                occurrences.add(toOccurrence(series, date, series.getStudent()));
+            }
+        }
+        return occurrences;
+    }
+
+    // Conflict detection
+    private void requireNoConflicts(ScheduleSeries series, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        Long studentId = series.getStudent().getId();
+        LocalDateTime windowStart = dates.get(0).atTime(series.getStartTime());
+        LocalDateTime windowEnd = dates.get(dates.size() - 1).atTime(series.getStartTime()).plusMinutes(series.getDurationMinutes());
+        List<Object[]> bookings = new ArrayList<>(scheduleRepository.findIntervalsByStudentInRange(studentId, windowStart, windowEnd));
+        bookings.addAll(findOccurrenceIntervals(studentId, windowStart, windowEnd, series.getId()));
+        bookings.sort(BY_START);
+
+        SortedSet<LocalDate> conflicts = findConflictingDates(dates, series.getStartTime(), series.getDurationMinutes(), bookings);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("Schedule series conflicts with existing schedule(s) on: " + conflicts);
+        }
+    }
+
+    // Whether [startTime, endTime) overlaps an occurrence of the student's series that is not materialized yet
+    public boolean hasOccurrenceConflict(Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
+        int durationMinutes = (int) ChronoUnit.MINUTES.between(startTime, endTime);
+        return !findConflictingDates(List.of(startTime.toLocalDate()), startTime.toLocalTime(), durationMinutes,
+                findOccurrenceIntervals(studentId, startTime, endTime, null)).isEmpty();
+    }
+
+    // Unmaterialized occurrences of the student's series, other than excludeSeriesId, overlapping
+    // [from, to) as [null, start, end] rows ordered by start, the shape of the stored bookings
+    private List<Object[]> findOccurrenceIntervals(Long studentId, LocalDateTime from, LocalDateTime to, Long excludeSeriesId) {
+        List<Object[]> intervals = new ArrayList<>();
+        // From the day before, as an occurrence can run past midnight into the range
+        for (Schedule occurrence : expandOccurrences(from.toLocalDate().minusDays(1), to.toLocalDate().plusDays(1), studentId)) {
+            if (!occurrence.getSeriesId().equals(excludeSeriesId)
+                    && occurrence.getStartTime().isBefore(to) && occurrence.getEndTime().isAfter(from)) {
+                intervals.add(new Object[]{null, occurrence.getStartTime(), occurrence.getEndTime()});
+            }
+        }
+        intervals.sort(BY_START);
+        return intervals;
+    }
+
+    /**
+     * Sweeps occurrences (ascending dates) against bookings ({@code [id, start, end]}
+     * rows ordered by start). An occurrence that ends before a booking starts cannot
+     * overlap that booking or any later one, so the occurrence cursor only moves forward.
+     */
+    static SortedSet<LocalDate> findConflictingDates(List<LocalDate> dates, LocalTime startTime, int durationMinutes,
+                                                     List<Object[]> bookings) {
+        SortedSet<LocalDate> conflicts = new TreeSet<>();
+        int first = 0;
+        for (Object[] booking : bookings) {
+            LocalDateTime bookedStart = (LocalDateTime) booking[1];
+            LocalDateTime bookedEnd = (LocalDateTime) booking[2];
+            while (first < dates.size()
+                    && !dates.get(first).atTime(startTime).plusMinutes(durationMinutes).isAfter(bookedStart)) {
+                first++;
+            }
+            for (int k = first; k < dates.size() && dates.get(k).atTime(startTime).isBefore(bookedEnd); k++) {
+                conflicts.add(dates.get(k));
+            }
+        }
+        return conflicts;
+    }
+
+    private Schedule toOccurrence(ScheduleSeries series, LocalDate date, Student student) {
+        LocalDateTime start = date.atTime(series.getStartTime());
+        Schedule occurrence = new Schedule(student, start, start.plusMinutes(series.getDurationMinutes()), series.getLocation());
+        occurrence.setNotes(series.getNotes());
+        occurrence.setSeriesId(series.getId());
+        return occurrence;
+    }
+}
@@ -2,32 +2,57 @@ package com.pianoteacher.service;
 
 import com.pianoteacher.model.Schedule;
 import com.pianoteacher.model.Student;
+import com.pianoteacher.dto.CursorPageDTO;
+import com.pianoteacher.dto.ScheduleSummaryDTO;
 import com.pianoteacher.dto.TimeSlotSuggestionDTO;
+import com.pianoteacher.dto.UtilizationDTO;
 import com.pianoteacher.repository.ScheduleRepository;
 import com.pianoteacher.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ScheduleService {
 
+    public static final int MAX_CALENDAR_DAYS = 62;
+
     private final ScheduleRepository scheduleRepository;
     private final StudentRepository studentRepository;
     private final StudentService studentService;
+    private final ScheduleConflictIndex conflictIndex;
+    private final ScheduleSeriesService scheduleSeriesService;
+    private final ScheduleSnapshot snapshot;
+    private final LocationDictionary locationDictionary;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ScheduleService(ScheduleRepository scheduleRepository, StudentRepository studentRepository, StudentService studentService) {
+    public ScheduleService(ScheduleRepository scheduleRepository, StudentRepository studentRepository, StudentService studentService,
+                           ScheduleConflictIndex conflictIndex, ScheduleSeriesService scheduleSeriesService,
+                           ScheduleSnapshot snapshot, LocationDictionary locationDictionary) {
         this.scheduleRepository = scheduleRepository;
         this.studentRepository = studentRepository;
         this.studentService = studentService;
+        this.conflictIndex = conflictIndex;
+        this.scheduleSeriesService = scheduleSeriesService;
+        this.snapshot = snapshot;
+        this.locationDictionary = locationDictionary;
     }
 
     // Schedule CRUD operations
@@ -35,59 +60,56 @@ public class ScheduleService {
         schedule.validate();
         
         // Check if student exists
-        if (!studentRepository.existsById(schedule.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(schedule.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + schedule.getStudent().getId());
         }
         
         // Check for overlapping schedules
-        List<Schedule> overlappingSchedules = scheduleRepository.findOverlappingSchedules(
-            schedule.getStudent().getId(),
-            schedule.getStartTime(),
-            schedule.getEndTime()
-        );
-        
-        if (!overlappingSchedules.isEmpty()) {
+        if (hasConflict(schedule.getStudent().getId(), schedule.getStartTime(), schedule.getEndTime(), null)) {
             throw new IllegalArgumentException("Schedule conflicts with existing schedule(s)");
         }
         
-        return scheduleRepository.save(schedule);
+        schedule.setPlace(locationDictionary.intern(schedule.getLocation()));
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        conflictIndex.add(savedSchedule.getStudent().getId(), savedSchedule.getId(),
+                savedSchedule.getStartTime(), savedSchedule.getEndTime());
+        return savedSchedule;
     }
 
     public Schedule updateSchedule(Long id, Schedule scheduleDetails) {
         Schedule existingSchedule = getScheduleById(id);
         
         // Check if student exists
-        if (!studentRepository.existsById(scheduleDetails.getStudent().getId())) {
+        if (!studentRepository.existsCachedById(scheduleDetails.getStudent().getId())) {
             throw new IllegalArgumentException("Student not found with id: " + scheduleDetails.getStudent().getId());
         }
         
         // Check for overlapping schedules (excluding current schedule)
-        List<Schedule> overlappingSchedules = scheduleRepository.findOverlappingSchedules(
-            scheduleDetails.getStudent().getId(),
-            scheduleDetails.getStartTime(),
-            scheduleDetails.getEndTime()
-        );
-        
-        overlappingSchedules.removeIf(s -> s.getId().equals(id));
-        
-        if (!overlappingSchedules.isEmpty()) {
+        if (hasConflict(scheduleDetails.getStudent().getId(), scheduleDetails.getStartTime(),
+                scheduleDetails.getEndTime(), id)) {
             throw new IllegalArgumentException("Schedule conflicts with existing schedule(s)");
         }
         
+        Long previousStudentId = existingSchedule.getStudent().getId();
+        
         // Update schedule details
         existingSchedule.setStudent(scheduleDetails.getStudent());
         existingSchedule.setStartTime(scheduleDetails.getStartTime());
         existingSchedule.setEndTime(scheduleDetails.getEndTime());
-        existingSchedule.setLocation(scheduleDetails.getLocation());
+        existingSchedule.setPlace(locationDictionary.intern(scheduleDetails.getLocation()));
         existingSchedule.setNotes(scheduleDetails.getNotes());
         
         existingSchedule.validate();
-        return scheduleRepository.save(existingSchedule);
+        Schedule savedSchedule = scheduleRepository.save(existingSchedule);
+        conflictIndex.remove(previousStudentId, id);
+        conflictIndex.add(savedSchedule.getStudent().getId(), id, savedSchedule.getStartTime(), savedSchedule.getEndTime());
+        return savedSchedule;
     }
 
     public void deleteSchedule(Long id) {
         Schedule schedule = getScheduleById(id);
         scheduleRepository.delete(schedule);
+        conflictIndex.remove(schedule.getStudent().getId(), id);
     }
 
     public Schedule getScheduleById(Long id) {
@@ -95,65 +117,168 @@ public class ScheduleService {
                 .orElseThrow(() -> new IllegalArgumentException("Schedule not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getAllSchedules() {
         return scheduleRepository.findAll();
     }
 
+    // List summaries without notes
+    @Transactional(readOnly = true)
+    public List<ScheduleSummaryDTO> getScheduleSummaries() {
+        return scheduleRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduleSummaryDTO> getScheduleSummariesByStudent(Long studentId) {
+        return scheduleRepository.findSummariesByStudentId(studentId);
+    }
+
+    // Keyset pagination and streaming
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Schedule> getSchedulesPage(Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Schedule> rows = scheduleRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Schedule::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Schedule> getSchedulesPageByStudent(Long studentId, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Schedule> rows = scheduleRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(
+                studentId, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Schedule::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllSchedules(Consumer<Schedule> consumer) {
+        try (Stream<Schedule> scheduleStream = scheduleRepository.streamAllOrderedById()) {
+            scheduleStream.forEach(schedule -> {
+                consumer.accept(schedule);
+                // Detach each row once written so the persistence context stays small
+                entityManager.detach(schedule);
+            });
+        }
+    }
+
     // Schedule query operations
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByStudent(Long studentId) {
         return scheduleRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByStudent(Student student) {
         return scheduleRepository.findByStudent(student);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return scheduleRepository.findByDateRange(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByStudentAndDateRange(Long studentId, LocalDateTime startDate, LocalDateTime endDate) {
         return scheduleRepository.findByStudentAndDateRange(studentId, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Schedule> getSchedulesByDateRangePage(LocalDateTime startDate, LocalDateTime endDate,
+                                                               Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Schedule> rows = scheduleRepository.findByDateRangeAfterId(
+                startDate, endDate, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Schedule::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Schedule> getSchedulesByStudentAndDateRangePage(Long studentId, LocalDateTime startDate,
+                                                                         LocalDateTime endDate, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Schedule> rows = scheduleRepository.findByStudentAndDateRangeAfterId(
+                studentId, startDate, endDate, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Schedule::getId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByLocation(String location) {
-        return scheduleRepository.findByLocationContainingIgnoreCase(location);
+        // Match the names in the dictionary, then filter schedules by location id
+        List<Long> locationIds = locationDictionary.findIdsContaining(location);
+        return locationIds.isEmpty() ? List.of() : scheduleRepository.findByPlaceIdIn(locationIds);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByDate(LocalDateTime date) {
-        // Simplified implementation - find all schedules and filter by date
-        return scheduleRepository.findAll().stream()
-                .filter(s -> s.getStartTime().toLocalDate().equals(date.toLocalDate()))
-                .collect(Collectors.toList());
+        return getSchedulesForDay(date.toLocalDate());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Schedule> getSchedulesForDay(LocalDate day) {
+        return getCalendar(day, 1, null).get(day);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByStudentAndDate(Long studentId, LocalDateTime date) {
-        // Simplified implementation - find all schedules and filter
-        return scheduleRepository.findByStudentId(studentId).stream()
-                .filter(s -> s.getStartTime().toLocalDate().equals(date.toLocalDate()))
-                .collect(Collectors.toList());
+        LocalDate day = date.toLocalDate();
+        return scheduleRepository.findByStudentStartingInRange(studentId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    // Calendar view: one range query for the whole window, bucketed by day
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<Schedule>> getCalendar(LocalDate startDate, int days, Long studentId) {
+        if (days < 1 || days > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar must span between 1 and " + MAX_CALENDAR_DAYS + " days");
+        }
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = startDate.plusDays(days).atStartOfDay();
+        List<Schedule> schedules = studentId != null
+                ? scheduleRepository.findByStudentStartingInRange(studentId, from, to)
+                : scheduleRepository.findStartingInRange(from, to);
+
+        Map<LocalDate, List<Schedule>> calendar = new LinkedHashMap<>();
+        for (int i = 0; i < days; i++) {
+            calendar.put(startDate.plusDays(i), new ArrayList<>());
+        }
+        for (Schedule schedule : schedules) {
+            calendar.get(schedule.getStartTime().toLocalDate()).add(schedule);
+        }
+
+        // Recurring series occurrences that have not been materialized yet
+        List<Schedule> occurrences = scheduleSeriesService.expandOccurrences(startDate, startDate.plusDays(days), studentId);
+        if (!occurrences.isEmpty()) {
+            for (Schedule occurrence : occurrences) {
+                calendar.get(occurrence.getStartTime().toLocalDate()).add(occurrence);
+            }
+            calendar.values().forEach(daySchedules -> daySchedules.sort(Comparator.comparing(Schedule::getStartTime)));
+        }
+        return calendar;
     }
 
     // Schedule status operations
+    @Transactional(readOnly = true)
     public List<Schedule> getUpcomingSchedules() {
         return scheduleRepository.findUpcomingSchedules(LocalDateTime.now());
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getOngoingSchedules() {
         return scheduleRepository.findOngoingSchedules(LocalDateTime.now());
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getCompletedSchedules() {
         return scheduleRepository.findCompletedSchedules(LocalDateTime.now());
     }
 
     // Advanced query operations
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesInNextDays(int days) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime futureDate = now.plusDays(days);
         return scheduleRepository.findSchedulesInNextDays(now, futureDate);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getStudentSchedulesInNextDays(Long studentId, int days) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime futureDate = now.plusDays(days);
@@ -169,18 +294,109 @@ public class ScheduleService {
         return scheduleRepository.existsById(id);
     }
 
+    // Statistics, answered from the in-memory snapshot
     public List<Object[]> countSchedulesByStudent() {
-        return scheduleRepository.countSchedulesByStudent();
+        return snapshot.countByStudent();
     }
 
     public List<Object[]> countSchedulesByLocation() {
-        return scheduleRepository.countSchedulesByLocation();
+        List<Object[]> counts = snapshot.countByLocation();
+        for (Object[] row : counts) {
+            row[0] = locationDictionary.name((Long) row[0]);
+        }
+        return counts;
+    }
+
+    // Lessons starting in [from, to) by weekday (Monday first) and hour, optionally at one location
+    public int[][] countSchedulesByWeekdayAndHour(LocalDateTime from, LocalDateTime to, String location) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (location == null) {
+            return snapshot.countByWeekdayAndHour(from, to, null);
+        }
+        return locationDictionary.findId(location)
+                .map(locationId -> snapshot.countByWeekdayAndHour(from, to, locationId))
+                .orElseGet(() -> new int[7][24]);
+    }
+
+    private static final int PEAK_HOURS = 5;
+
+    // Booked minutes against teaching hours over [startDate, endDate], optionally at one location
+    public UtilizationDTO getUtilization(LocalDate startDate, LocalDate endDate, int bucketMinutes, String location) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (bucketMinutes != 15 && bucketMinutes != 30 && bucketMinutes != 60) {
+            throw new IllegalArgumentException("Bucket size must be 15, 30 or 60 minutes");
+        }
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        long[][] booked = location == null
+                ? snapshot.bookedMinutes(from, to, null, bucketMinutes)
+                : locationDictionary.findId(location)
+                        .map(locationId -> snapshot.bookedMinutes(from, to, locationId, bucketMinutes))
+                        .orElseGet(() -> new long[7][24 * 60 / bucketMinutes]);
+
+        // How often each weekday occurs in the range
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        long[] weekdayCounts = new long[7];
+        for (int day = 0; day < 7; day++) {
+            weekdayCounts[(startDate.getDayOfWeek().ordinal() + day) % 7] = days / 7 + (day < days % 7 ? 1 : 0);
+        }
+
+        int bucketsPerHour = 60 / bucketMinutes;
+        List<UtilizationDTO.Bucket> buckets = new ArrayList<>(7 * 24 * bucketsPerHour);
+        List<UtilizationDTO.Bucket> hours = new ArrayList<>(7 * 24);
+        long bookedTotal = 0;
+        long capacityTotal = 0;
+        long bookedInCapacity = 0;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int hour = 0; hour < 24; hour++) {
+                // Teaching hours are whole hours, so every bucket in the hour is either all capacity or none
+                long bucketCapacity = hour >= TEACHING_START_HOUR && hour < TEACHING_END_HOUR
+                        ? weekdayCounts[day.ordinal()] * bucketMinutes : 0;
+                long hourBooked = 0;
+                for (int part = 0; part < bucketsPerHour; part++) {
+                    long bucketBooked = booked[day.ordinal()][hour * bucketsPerHour + part];
+                    buckets.add(toBucket(day, LocalTime.of(hour, part * bucketMinutes), bucketBooked, bucketCapacity));
+                    hourBooked += bucketBooked;
+                    bookedInCapacity += Math.min(bucketBooked, bucketCapacity);
+                }
+                long hourCapacity = bucketCapacity * bucketsPerHour;
+                hours.add(toBucket(day, LocalTime.of(hour, 0), hourBooked, hourCapacity));
+                bookedTotal += hourBooked;
+                capacityTotal += hourCapacity;
+            }
+        }
+
+        List<UtilizationDTO.Bucket> peakHours = hours.stream()
+                .filter(hour -> hour.bookedMinutes() > 0)
+                .sorted(Comparator.comparingLong(UtilizationDTO.Bucket::bookedMinutes).reversed())
+                .limit(PEAK_HOURS)
+                .toList();
+        return new UtilizationDTO(startDate, endDate, location, bucketMinutes, bookedTotal, capacityTotal,
+                capacityTotal - bookedInCapacity, percentage(bookedInCapacity, capacityTotal), buckets, peakHours);
+    }
+
+    private static UtilizationDTO.Bucket toBucket(DayOfWeek day, LocalTime startTime, long booked, long capacity) {
+        return new UtilizationDTO.Bucket(day, startTime, booked, capacity, Math.max(0, capacity - booked),
+                percentage(Math.min(booked, capacity), capacity));
+    }
+
+    private static double percentage(long part, long whole) {
+        return whole > 0 ? Math.round(part * 1000.0 / whole) / 10.0 : 0.0;
     }
 
     // Conflict checking
     public boolean hasScheduleConflict(Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Schedule> overlappingSchedules = scheduleRepository.findOverlappingSchedules(studentId, startTime, endTime);
-        return !overlappingSchedules.isEmpty();
+        return hasConflict(studentId, startTime, endTime, null);
+    }
+
+    // Stored schedules from the conflict index, then the series occurrences not materialized yet
+    private boolean hasConflict(Long studentId, LocalDateTime startTime, LocalDateTime endTime, Long excludeScheduleId) {
+        return conflictIndex.hasConflict(studentId, startTime, endTime, excludeScheduleId)
+                || scheduleSeriesService.hasOccurrenceConflict(studentId, startTime, endTime);
     }
 
     public List<Schedule> findConflictingSchedules(Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
@@ -192,15 +408,7 @@ public class ScheduleService {
         Schedule schedule = getScheduleById(id);
         
         // Check for conflicts with new time
-        List<Schedule> conflictingSchedules = scheduleRepository.findOverlappingSchedules(
-            schedule.getStudent().getId(),
-            newStartTime,
-            newEndTime
-        );
-        
-        conflictingSchedules.removeIf(s -> s.getId().equals(id));
-        
-        if (!conflictingSchedules.isEmpty()) {
+        if (hasConflict(schedule.getStudent().getId(), newStartTime, newEndTime, id)) {
             throw new IllegalArgumentException("Cannot reschedule: conflicts with existing schedule(s)");
         }
         
@@ -208,13 +416,16 @@ public class ScheduleService {
         schedule.setEndTime(newEndTime);
         schedule.validate();
         
-        return scheduleRepository.save(schedule);
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        conflictIndex.add(savedSchedule.getStudent().getId(), id, newStartTime, newEndTime);
+        return savedSchedule;
     }
 
     public Schedule changeScheduleLocation(Long id, String newLocation) {
         Schedule schedule = getScheduleById(id);
         schedule.setLocation(newLocation);
         schedule.validate();
+        schedule.setPlace(locationDictionary.intern(newLocation));
         return scheduleRepository.save(schedule);
     }
 
@@ -225,6 +436,12 @@ public class ScheduleService {
     }
 
     // Scheduling suggestion algorithm
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int TEACHING_START_HOUR = 8;
+    private static final int TEACHING_END_HOUR = 20;
+    private static final long SECONDS_PER_HOUR = 3600L;
+
+    @Transactional(readOnly = true)
     public List<TimeSlotSuggestionDTO> getSchedulingSuggestions(Long studentId, LocalDateTime startDate, LocalDateTime endDate, int duration) {
         // Validate inputs
         if (duration < 30 || duration > 240) {
@@ -242,127 +459,147 @@ public class ScheduleService {
         // Get student information
         Student student = studentService.getStudentById(studentId);
         
-        // Get existing schedules for the student
-        List<Schedule> existingSchedules = getSchedulesByStudentAndDateRange(studentId, startDate, endDate);
+        // Get existing lessons for the student as {starts, ends} in epoch minutes, ordered by start
+        long[][] existingLessons = snapshot.intervalsForStudent(studentId, startDate, endDate);
         
-        // Generate potential time slots
-        List<TimeSlotSuggestionDTO> suggestions = generateTimeSlots(startDate, endDate, duration, existingSchedules);
+        // Analyze historical patterns once into day/hour histograms
+        int[] dayFrequency = new int[7];
+        int[] hourFrequency = new int[24];
+        for (long start : existingLessons[0]) {
+            dayFrequency[ScheduleSnapshot.weekday(start)]++;
+            hourFrequency[ScheduleSnapshot.hour(start)]++;
+        }
         
-        // Analyze historical patterns and adjust confidence scores
-        suggestions = adjustConfidenceBasedOnPatterns(suggestions, studentId, existingSchedules);
+        // Walk the free gaps between merged busy intervals, keeping only the best slots
+        long[][] busyIntervals = mergeBusyIntervals(existingLessons[0], existingLessons[1]);
+        PriorityQueue<SlotCandidate> topSlots = findTopFreeSlots(startDate, endDate, duration, busyIntervals, dayFrequency, hourFrequency);
         
-        // Sort by confidence score (highest first)
-        suggestions.sort((a, b) -> Double.compare(b.getConfidence(), a.getConfidence()));
+        // Sort by confidence score (highest first), earliest slot first on ties
+        List<SlotCandidate> ranked = new ArrayList<>(topSlots);
+        ranked.sort(Comparator.comparingDouble(SlotCandidate::confidence).reversed()
+                .thenComparingLong(SlotCandidate::startEpochSecond));
         
-        // Limit to top suggestions
-        return suggestions.stream().limit(20).collect(Collectors.toList());
+        List<TimeSlotSuggestionDTO> suggestions = new ArrayList<>(ranked.size());
+        for (SlotCandidate candidate : ranked) {
+            suggestions.add(toSuggestion(candidate, duration, dayFrequency, hourFrequency));
+        }
+        return suggestions;
+    }
+    
+    // Merges overlapping lessons, already ordered by start, into {starts, ends} in epoch seconds
+    private long[][] mergeBusyIntervals(long[] lessonStarts, long[] lessonEnds) {
+        int count = lessonStarts.length;
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        int merged = 0;
+        for (int i = 0; i < count; i++) {
+            long start = lessonStarts[i] * 60;
+            long end = lessonEnds[i] * 60;
+            if (merged > 0 && start < ends[merged - 1]) {
+                ends[merged - 1] = Math.max(ends[merged - 1], end);
+            } else {
+                starts[merged] = start;
+                ends[merged] = end;
+                merged++;
+            }
+        }
+        return new long[][]{Arrays.copyOf(starts, merged), Arrays.copyOf(ends, merged)};
     }
     
-    private List<TimeSlotSuggestionDTO> generateTimeSlots(LocalDateTime startDate, LocalDateTime endDate, int duration, List<Schedule> existingSchedules) {
-        List<TimeSlotSuggestionDTO> suggestions = new ArrayList<>();
+    private PriorityQueue<SlotCandidate> findTopFreeSlots(LocalDateTime startDate, LocalDateTime endDate, int duration,
+                                                          long[][] busyIntervals, int[] dayFrequency, int[] hourFrequency) {
+        long[] busyStarts = busyIntervals[0];
+        long[] busyEnds = busyIntervals[1];
+        long windowStart = startDate.toEpochSecond(ZoneOffset.UTC);
+        long windowEnd = endDate.toEpochSecond(ZoneOffset.UTC);
+        long durationSeconds = duration * 60L;
         
-        // Define reasonable teaching hours (8 AM - 8 PM)
-        LocalTime teachingStart = LocalTime.of(8, 0);
-        LocalTime teachingEnd = LocalTime.of(20, 0);
+        // Confidence depends only on weekday and hour, so score each combination once
+        double[][] slotConfidence = new double[7][24];
+        for (int day = 0; day < 7; day++) {
+            for (int hour = TEACHING_START_HOUR; hour < TEACHING_END_HOUR; hour++) {
+                slotConfidence[day][hour] = calculateSlotConfidence(hour, dayFrequency[day], hourFrequency[hour]);
+            }
+        }
         
-        LocalDateTime current = startDate.with(teachingStart);
+        // Min-heap on confidence; among equal scores the later slot is evicted first
+        PriorityQueue<SlotCandidate> topSlots = new PriorityQueue<>(MAX_SUGGESTIONS + 1,
+                Comparator.comparingDouble(SlotCandidate::confidence)
+                        .thenComparing(Comparator.comparingLong(SlotCandidate::startEpochSecond).reversed()));
         
-        while (current.isBefore(endDate)) {
+        int busyIndex = 0;
+        for (LocalDate date = startDate.toLocalDate();
+             date.atTime(TEACHING_START_HOUR, 0).isBefore(endDate);
+             date = date.plusDays(1)) {
             // Skip weekends (Saturday and Sunday)
-            if (current.getDayOfWeek() != DayOfWeek.SATURDAY && current.getDayOfWeek() != DayOfWeek.SUNDAY) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            
+            long teachingStart = date.atTime(TEACHING_START_HOUR, 0).toEpochSecond(ZoneOffset.UTC);
+            long teachingEnd = date.atTime(TEACHING_END_HOUR, 0).toEpochSecond(ZoneOffset.UTC);
+            int dayIndex = dayOfWeek.getValue() - 1;
+            
+            // Generate slots for each hour within teaching hours
+            for (long slotStart = teachingStart; slotStart + durationSeconds <= teachingEnd; slotStart += SECONDS_PER_HOUR) {
+                long slotEnd = slotStart + durationSeconds;
+                if (slotStart < windowStart || slotEnd > windowEnd) {
+                    continue;
+                }
                 
-                // Generate slots for each hour within teaching hours
-                LocalDateTime slotStart = current.with(teachingStart);
-                LocalDateTime slotEnd = slotStart.plusMinutes(duration);
+                // Slots only move forward, so busy intervals that already ended are never revisited
+                while (busyIndex < busyEnds.length && busyEnds[busyIndex] <= slotStart) {
+                    busyIndex++;
+                }
+                if (busyIndex < busyStarts.length && busyStarts[busyIndex] < slotEnd) {
+                    continue;
+                }
                 
-                while (slotEnd.isBefore(current.with(teachingEnd)) || slotEnd.isEqual(current.with(teachingEnd))) {
-                    // Check if this slot conflicts with existing schedules
-                    boolean hasConflict = false;
-                    for (Schedule existing : existingSchedules) {
-                        if (isTimeSlotConflicting(slotStart, slotEnd, existing.getStartTime(), existing.getEndTime())) {
-                            hasConflict = true;
-                            break;
-                        }
-                    }
-                    
-                    if (!hasConflict) {
-                        TimeSlotSuggestionDTO suggestion = new TimeSlotSuggestionDTO();
-                        suggestion.setStartTime(slotStart);
-                        suggestion.setEndTime(slotEnd);
-                        suggestion.setDuration(duration);
-                        suggestion.setConfidence(0.5); // Base confidence
-                        suggestion.setReason("Available time slot with no conflicts");
-                        suggestions.add(suggestion);
-                    }
-                    
-                    // Move to next hour
-                    slotStart = slotStart.plusHours(1);
-                    slotEnd = slotStart.plusMinutes(duration);
+                int hour = TEACHING_START_HOUR + (int) ((slotStart - teachingStart) / SECONDS_PER_HOUR);
+                double confidence = slotConfidence[dayIndex][hour];
+                if (topSlots.size() < MAX_SUGGESTIONS) {
+                    topSlots.add(new SlotCandidate(slotStart, confidence, dayIndex, hour));
+                } else if (confidence > topSlots.peek().confidence()) {
+                    topSlots.poll();
+                    topSlots.add(new SlotCandidate(slotStart, confidence, dayIndex, hour));
                 }
             }
-            
-            // Move to next day
-            current = current.plusDays(1);
         }
-        
-        return suggestions;
+        return topSlots;
     }
     
-    private boolean isTimeSlotConflicting(LocalDateTime newStart, LocalDateTime newEnd, LocalDateTime existingStart, LocalDateTime existingEnd) {
-        return newStart.isBefore(existingEnd) && newEnd.isAfter(existingStart);
+    private double calculateSlotConfidence(int hour, int dayCount, int hourCount) {
+        // Base confidence, decreased for very early or very late slots
+        double confidence = 0.5;
+        confidence += (hour < 10 || hour > 18) ? -0.2 : 0.1;
+        
+        // Increase confidence for historically preferred days and hours
+        confidence = Math.min(1.0, confidence + dayCount * 0.1 + hourCount * 0.1);
+        
+        // Ensure confidence is within valid range
+        return Math.max(0.0, Math.min(1.0, confidence));
     }
     
-    private List<TimeSlotSuggestionDTO> adjustConfidenceBasedOnPatterns(List<TimeSlotSuggestionDTO> suggestions, Long studentId, List<Schedule> existingSchedules) {
-        // Analyze historical patterns from existing schedules
-        Map<DayOfWeek, Integer> dayFrequency = new HashMap<>();
-        Map<Integer, Integer> hourFrequency = new HashMap<>();
-        
-        for (Schedule schedule : existingSchedules) {
-            DayOfWeek day = schedule.getStartTime().getDayOfWeek();
-            int hour = schedule.getStartTime().getHour();
-            
-            dayFrequency.put(day, dayFrequency.getOrDefault(day, 0) + 1);
-            hourFrequency.put(hour, hourFrequency.getOrDefault(hour, 0) + 1);
+    private TimeSlotSuggestionDTO toSuggestion(SlotCandidate candidate, int duration, int[] dayFrequency, int[] hourFrequency) {
+        StringBuilder reason = new StringBuilder("Available time slot with no conflicts");
+        if (dayFrequency[candidate.dayIndex()] > 0) {
+            reason.append(" (Matches preferred day pattern)");
         }
-        
-        // Adjust confidence based on patterns
-        for (TimeSlotSuggestionDTO suggestion : suggestions) {
-            DayOfWeek day = suggestion.getStartTime().getDayOfWeek();
-            int hour = suggestion.getStartTime().getHour();
-            
-            // Increase confidence for historically preferred days
-            double dayBonus = (dayFrequency.getOrDefault(day, 0) * 0.1);
-            
-            // Increase confidence for historically preferred hours
-            double hourBonus = (hourFrequency.getOrDefault(hour, 0) * 0.1);
-            
-            // Decrease confidence for very early or very late slots
-            if (hour < 10 || hour > 18) {
-                suggestion.setConfidence(suggestion.getConfidence() - 0.2);
-            } else {
-                suggestion.setConfidence(suggestion.getConfidence() + 0.1);
-            }
-            
-            // Apply pattern bonuses
-            suggestion.setConfidence(Math.min(1.0, suggestion.getConfidence() + dayBonus + hourBonus));
-            
-            // Update reason based on patterns
-            if (dayFrequency.getOrDefault(day, 0) > 0) {
-                String reason = suggestion.getReason();
-                reason += " (Matches preferred day pattern)";
-                suggestion.setReason(reason);
-            }
-            
-            if (hourFrequency.getOrDefault(hour, 0) > 0) {
-                String reason = suggestion.getReason();
-                reason += " (Matches preferred time pattern)";
-                suggestion.setReason(reason);
-            }
-            
-            // Ensure confidence is within valid range
-            suggestion.setConfidence(Math.max(0.0, Math.min(1.0, suggestion.getConfidence())));
+        if (hourFrequency[candidate.hour()] > 0) {
+            reason.append(" (Matches preferred time pattern)");
         }
         
-        return suggestions;
+        LocalDateTime slotStart = LocalDateTime.ofEpochSecond(candidate.startEpochSecond(), 0, ZoneOffset.UTC);
+        TimeSlotSuggestionDTO suggestion = new TimeSlotSuggestionDTO();
+        suggestion.setStartTime(slotStart);
+        suggestion.setEndTime(slotStart.plusMinutes(duration));
+        suggestion.setDuration(duration);
+        suggestion.setConfidence(candidate.confidence());
+        suggestion.setReason(reason.toString());
+        return suggestion;
+    }
+    
+    private record SlotCandidate(long startEpochSecond, double confidence, int dayIndex, int hour) {
     }
 }
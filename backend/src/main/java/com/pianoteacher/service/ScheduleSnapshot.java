@@ -0,0 +1,397 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar in-memory copy of the {@code schedules} table for analytics scans.
+ *
+ * Each lesson is one position across primitive arrays sorted by start time: start
+ * and end in epoch minutes, and the student and location as ordinals into small
+ * dictionaries. Counting by student or location, or counting and summing booked
+ * minutes by weekday and hour over a date range, is a loop over the arrays with no
+ * entity or boxed value per row.
+ *
+ * The columns are immutable and swapped as a whole, so readers never lock. Schedule
+ * writes are reported by {@link ScheduleSnapshotListener}; bulk JPQL deletes must call
+ * {@link #removed(Long)} themselves. Changes are buffered per transaction and merged
+ * into new columns once, after commit. The snapshot is loaded when the application
+ * starts and only sees writes made through this instance.
+ */
+@Component
+public class ScheduleSnapshot {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ScheduleRepository scheduleRepository;
+    private final RebuildableIndex<Columns> columns = new RebuildableIndex<>(Columns.EMPTY);
+
+    @Autowired
+    public ScheduleSnapshot(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    // Analytics operations
+    public int size() {
+        return columns.current().size;
+    }
+
+    // {studentId, lesson count} per student with lessons
+    public List<Object[]> countByStudent() {
+        Columns current = columns.current();
+        long[] counts = new long[current.studentIds.length];
+        for (int i = 0; i < current.size; i++) {
+            counts[current.students[i]]++;
+        }
+        List<Object[]> result = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                result.add(new Object[]{current.studentIds[ordinal], counts[ordinal]});
+            }
+        }
+        return result;
+    }
+
+    // {locationId, lesson count} per location with lessons
+    public List<Object[]> countByLocation() {
+        Columns current = columns.current();
+        long[] counts = new long[current.locationIds.length];
+        for (int i = 0; i < current.size; i++) {
+            counts[current.locations[i]]++;
+        }
+        List<Object[]> result = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                result.add(new Object[]{current.locationIds[ordinal], counts[ordinal]});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lessons starting in [from, to), optionally at one location, counted by weekday
+     * (Monday first) and hour of the start time.
+     */
+    public int[][] countByWeekdayAndHour(LocalDateTime from, LocalDateTime to, Long locationId) {
+        Columns current = columns.current();
+        int[][] counts = new int[7][24];
+        int locationOrdinal = -1;
+        if (locationId != null) {
+            Integer ordinal = current.locationOrdinals.get(locationId);
+            if (ordinal == null) {
+                return counts;
+            }
+            locationOrdinal = ordinal;
+        }
+        long toMinute = floorMinute(to);
+        for (int i = current.firstStartingAt(floorMinute(from)); i < current.size && current.starts[i] < toMinute; i++) {
+            if (locationOrdinal < 0 || current.locations[i] == locationOrdinal) {
+                long minute = current.starts[i];
+                counts[weekday(minute)][hour(minute)]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Minutes booked in [from, to), optionally at one location, by weekday (Monday
+     * first) and time-of-day bucket. Overlapping lessons count once, so this is the
+     * teacher's busy time; lessons straddling the range are clipped to it.
+     */
+    public long[][] bookedMinutes(LocalDateTime from, LocalDateTime to, Long locationId, int bucketMinutes) {
+        Columns current = columns.current();
+        long[][] booked = new long[7][MINUTES_PER_DAY / bucketMinutes];
+        int locationOrdinal = -1;
+        if (locationId != null) {
+            Integer ordinal = current.locationOrdinals.get(locationId);
+            if (ordinal == null) {
+                return booked;
+            }
+            locationOrdinal = ordinal;
+        }
+        long fromMinute = floorMinute(from);
+        long toMinute = floorMinute(to);
+        // Sweep the lessons in start order, merging overlaps into one busy interval at a time
+        long busyStart = 0;
+        long busyEnd = Long.MIN_VALUE;
+        for (int i = current.firstStartingAt(fromMinute - current.longestLesson); i < current.size && current.starts[i] < toMinute; i++) {
+            if (locationOrdinal >= 0 && current.locations[i] != locationOrdinal) {
+                continue;
+            }
+            long start = Math.max(current.starts[i], fromMinute);
+            long end = Math.min(current.ends[i], toMinute);
+            if (end <= start) {
+                continue;
+            }
+            if (start > busyEnd) {
+                addBooked(booked, busyStart, busyEnd, bucketMinutes);
+                busyStart = start;
+                busyEnd = end;
+            } else {
+                busyEnd = Math.max(busyEnd, end);
+            }
+        }
+        addBooked(booked, busyStart, busyEnd, bucketMinutes);
+        return booked;
+    }
+
+    /**
+     * The student's lessons starting between from and to inclusive, as {starts, ends}
+     * in epoch minutes ordered by start.
+     */
+    public long[][] intervalsForStudent(Long studentId, LocalDateTime from, LocalDateTime to) {
+        Columns current = columns.current();
+        Integer studentOrdinal = current.studentOrdinals.get(studentId);
+        if (studentOrdinal == null) {
+            return new long[][]{new long[0], new long[0]};
+        }
+        long toMinute = floorMinute(to);
+        long[] starts = new long[16];
+        long[] ends = new long[16];
+        int count = 0;
+        for (int i = current.firstStartingAt(floorMinute(from)); i < current.size && current.starts[i] <= toMinute; i++) {
+            if (current.students[i] == studentOrdinal) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = current.starts[i];
+                ends[count] = current.ends[i];
+                count++;
+            }
+        }
+        return new long[][]{Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)};
+    }
+
+    // Snapshot maintenance
+    public void saved(Long id, Long studentId, LocalDateTime startTime, LocalDateTime endTime, Long locationId) {
+        afterCommit(id, new Row(id, studentId, floorMinute(startTime), ceilMinute(endTime), locationId));
+    }
+
+    public void removed(Long id) {
+        afterCommit(id, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        columns.rebuild(() -> {
+            Map<Long, Row> rows = new LinkedHashMap<>();
+            for (Object[] row : scheduleRepository.findSnapshotRows()) {
+                Long id = (Long) row[0];
+                rows.put(id, new Row(id, (Long) row[1], floorMinute((LocalDateTime) row[2]),
+                        ceilMinute((LocalDateTime) row[3]), (Long) row[4]));
+            }
+            return Columns.EMPTY.apply(rows);
+        });
+    }
+
+    // One merge per transaction, however many lessons it writes; the last write of a lesson wins.
+    // Ahead of TableChangeTracker, so a new ETag is never served with the old snapshot.
+    private void afterCommit(Long id, Row row) {
+        AfterCommit.<Map<Long, Row>>batch(this, LinkedHashMap::new, changes -> changes.put(id, row),
+                changes -> columns.apply(current -> current.apply(changes)), Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    // Buckets divide the day, so an interval is split at bucket boundaries only
+    private static void addBooked(long[][] booked, long start, long end, int bucketMinutes) {
+        for (long minute = start; minute < end; ) {
+            long bucketEnd = Math.min(end, minute - Math.floorMod(minute, bucketMinutes) + bucketMinutes);
+            booked[weekday(minute)][(int) (Math.floorMod(minute, MINUTES_PER_DAY) / bucketMinutes)] += bucketEnd - minute;
+            minute = bucketEnd;
+        }
+    }
+
+    // Epoch-minute arithmetic; epoch day 0 was a Thursday
+    static int weekday(long epochMinute) {
+        return (int) Math.floorMod(Math.floorDiv(epochMinute, MINUTES_PER_DAY) + 3, 7);
+    }
+
+    static int hour(long epochMinute) {
+        return (int) (Math.floorMod(epochMinute, MINUTES_PER_DAY) / 60);
+    }
+
+    static long floorMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static long ceilMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC) + 59, 60);
+    }
+
+    // A lesson as stored in the columns; a null row in a change set removes the lesson
+    private record Row(long id, Long studentId, long start, long end, Long locationId) {
+    }
+
+    private static final Comparator<Row> ROW_ORDER = Comparator.comparingLong(Row::start).thenComparingLong(Row::id);
+
+    /**
+     * Immutable columns sorted by (start, id), plus the student and location
+     * dictionaries their ordinals point into. Dictionaries only grow, and a merge
+     * shares them with the columns it replaces until it adds an id.
+     */
+    private static final class Columns {
+
+        static final Columns EMPTY = new Columns(new long[0], new long[0], new long[0], new int[0], new int[0], 0, 0,
+                new long[0], new long[0], Map.of(), Map.of());
+
+        final long[] ids;
+        final long[] starts;
+        final long[] ends;
+        final int[] students;
+        final int[] locations;
+        final int size;
+        // Bounds how far before a range a lesson overlapping it can start; removals leave it
+        // as it was, which only widens the scan, until the next rebuild
+        final long longestLesson;
+        final long[] studentIds;
+        final long[] locationIds;
+        final Map<Long, Integer> studentOrdinals;
+        final Map<Long, Integer> locationOrdinals;
+
+        Columns(long[] ids, long[] starts, long[] ends, int[] students, int[] locations, int size, long longestLesson,
+                long[] studentIds, long[] locationIds, Map<Long, Integer> studentOrdinals,
+                Map<Long, Integer> locationOrdinals) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.students = students;
+            this.locations = locations;
+            this.size = size;
+            this.longestLesson = longestLesson;
+            this.studentIds = studentIds;
+            this.locationIds = locationIds;
+            this.studentOrdinals = studentOrdinals;
+            this.locationOrdinals = locationOrdinals;
+        }
+
+        // Index of the first lesson starting at or after the minute
+        int firstStartingAt(long minute) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Merges the sorted upserts into the columns, dropping every lesson the changes touch
+        Columns apply(Map<Long, Row> changes) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+            List<Row> upserts = new ArrayList<>(changes.size());
+            long longest = longestLesson;
+            for (Row row : changes.values()) {
+                if (row != null) {
+                    upserts.add(row);
+                    longest = Math.max(longest, row.end() - row.start());
+                }
+            }
+            upserts.sort(ROW_ORDER);
+
+            Dictionary studentDictionary = new Dictionary(studentIds, studentOrdinals);
+            Dictionary locationDictionary = new Dictionary(locationIds, locationOrdinals);
+
+            int capacity = size + upserts.size();
+            long[] mergedIds = new long[capacity];
+            long[] mergedStarts = new long[capacity];
+            long[] mergedEnds = new long[capacity];
+            int[] mergedStudents = new int[capacity];
+            int[] mergedLocations = new int[capacity];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < upserts.size()) {
+                if (i < size && changes.containsKey(ids[i])) {
+                    i++;
+                    continue;
+                }
+                boolean takeExisting = j == upserts.size()
+                        || (i < size && (starts[i] < upserts.get(j).start()
+                        || (starts[i] == upserts.get(j).start() && ids[i] < upserts.get(j).id())));
+                if (takeExisting) {
+                    mergedIds[count] = ids[i];
+                    mergedStarts[count] = starts[i];
+                    mergedEnds[count] = ends[i];
+                    mergedStudents[count] = students[i];
+                    mergedLocations[count] = locations[i];
+                    i++;
+                } else {
+                    Row row = upserts.get(j);
+                    mergedIds[count] = row.id();
+                    mergedStarts[count] = row.start();
+                    mergedEnds[count] = row.end();
+                    mergedStudents[count] = studentDictionary.ordinal(row.studentId());
+                    mergedLocations[count] = locationDictionary.ordinal(row.locationId());
+                    j++;
+                }
+                count++;
+            }
+
+            return new Columns(mergedIds, mergedStarts, mergedEnds, mergedStudents, mergedLocations, count, longest,
+                    studentDictionary.ids(), locationDictionary.ids(), studentDictionary.ordinals(),
+                    locationDictionary.ordinals());
+        }
+    }
+
+    // One merge's view of a dictionary: the current ids and ordinals, copied on the first id added
+    private static final class Dictionary {
+
+        private final long[] ids;
+        private final Map<Long, Integer> ordinals;
+        private final List<Long> added = new ArrayList<>();
+        private Map<Long, Integer> grownOrdinals;
+
+        Dictionary(long[] ids, Map<Long, Integer> ordinals) {
+            this.ids = ids;
+            this.ordinals = ordinals;
+        }
+
+        int ordinal(Long id) {
+            Integer ordinal = ordinals().get(id);
+            if (ordinal == null) {
+                if (grownOrdinals == null) {
+                    grownOrdinals = new HashMap<>(ordinals);
+                }
+                ordinal = ids.length + added.size();
+                added.add(id);
+                grownOrdinals.put(id, ordinal);
+            }
+            return ordinal;
+        }
+
+        long[] ids() {
+            if (added.isEmpty()) {
+                return ids;
+            }
+            long[] all = Arrays.copyOf(ids, ids.length + added.size());
+            for (int k = 0; k < added.size(); k++) {
+                all[ids.length + k] = added.get(k);
+            }
+            return all;
+        }
+
+        Map<Long, Integer> ordinals() {
+            return grownOrdinals != null ? grownOrdinals : ordinals;
+        }
+    }
+}
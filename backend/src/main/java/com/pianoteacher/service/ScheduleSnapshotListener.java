@@ -0,0 +1,39 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Schedule;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that reports schedule writes to the {@link ScheduleSnapshot}.
+ * Registered on {@code Schedule}; Hibernate obtains the instance from the Spring context.
+ *
+ * The snapshot is looked up on first use: it depends on {@code ScheduleRepository}, and so
+ * on the entity manager factory that creates this listener.
+ */
+@Component
+public class ScheduleSnapshotListener {
+
+    private final ObjectProvider<ScheduleSnapshot> snapshot;
+
+    @Autowired
+    public ScheduleSnapshotListener(ObjectProvider<ScheduleSnapshot> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Schedule schedule) {
+        snapshot.getObject().saved(schedule.getId(), schedule.getStudent().getId(), schedule.getStartTime(),
+                schedule.getEndTime(), schedule.getPlace().getId());
+    }
+
+    @PostRemove
+    public void onRemove(Schedule schedule) {
+        snapshot.getObject().removed(schedule.getId());
+    }
+}
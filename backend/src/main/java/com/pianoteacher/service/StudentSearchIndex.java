@@ -0,0 +1,214 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.StudentSuggestionDTO;
+import com.pianoteacher.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory trigram index over case-folded student names and emails, answering
+ * substring searches and type-ahead lookups without a {@code LIKE '%term%'} scan.
+ *
+ * Every three-character window of a folded name or email points at the student.
+ * A query of three or more characters intersects the postings of its own trigrams
+ * and then confirms the substring on the few remaining candidates; shorter queries
+ * check the in-memory entries directly. Folding lower-cases and strips accents, so
+ * "zoe" also finds "Zoë".
+ *
+ * The index is built when the application starts and kept up to date by the write
+ * paths in {@link StudentService} and {@link BulkImportService} after commit.
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final StudentRepository studentRepository;
+    private final RebuildableIndex<Index> index = new RebuildableIndex<>(new Index());
+
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    // Search operations
+    public List<Long> search(String term) {
+        String folded = fold(term);
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : index.read(current -> current.matching(folded))) {
+            ids.add(entry.id());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    // Best matches first: name prefix, then a later name word, then email prefix, then anywhere
+    public List<StudentSuggestionDTO> suggest(String term, int limit) {
+        String folded = fold(term);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return index.read(current -> current.matching(folded)).stream()
+                .sorted(Comparator.comparingInt((Entry entry) -> entry.rank(folded))
+                        .thenComparing(Entry::foldedName)
+                        .thenComparing(Entry::id))
+                .limit(limit)
+                .map(entry -> new StudentSuggestionDTO(entry.id(), entry.name(), entry.email(), entry.grade()))
+                .toList();
+    }
+
+    // Index maintenance
+    public void index(Long studentId, String name, String email, String grade) {
+        Entry entry = new Entry(studentId, name, email, grade, fold(name), fold(email));
+        AfterCommit.run(() -> index.update(target -> target.add(entry)));
+    }
+
+    public void remove(Long studentId) {
+        AfterCommit.run(() -> index.update(target -> target.remove(studentId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.rebuild(() -> {
+            Index rebuilt = new Index();
+            for (Object[] row : studentRepository.findSearchableFields()) {
+                String name = (String) row[1];
+                String email = (String) row[2];
+                rebuilt.add(new Entry((Long) row[0], name, email, (String) row[3], fold(name), fold(email)));
+            }
+            return rebuilt;
+        });
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private record Entry(Long id, String name, String email, String grade, String foldedName, String foldedEmail) {
+
+        boolean contains(String folded) {
+            return foldedName.contains(folded) || foldedEmail.contains(folded);
+        }
+
+        int rank(String folded) {
+            if (foldedName.startsWith(folded)) {
+                return 0;
+            }
+            if (foldedName.contains(" " + folded)) {
+                return 1;
+            }
+            if (foldedEmail.startsWith(folded)) {
+                return 2;
+            }
+            return 3;
+        }
+    }
+
+    /**
+     * Entries by id plus trigram postings. Not thread-safe; guarded by {@link RebuildableIndex}.
+     */
+    private static final class Index {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        void add(Entry entry) {
+            remove(entry.id());
+            entries.put(entry.id(), entry);
+            for (String gram : trigrams(entry)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.id());
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String gram : trigrams(entry)) {
+                Set<Long> ids = postings.get(gram);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        List<Entry> matching(String folded) {
+            // Every name contains the empty string, as with LIKE '%%'
+            if (folded.isEmpty()) {
+                return new ArrayList<>(entries.values());
+            }
+            List<Entry> matches = new ArrayList<>();
+            if (folded.length() < GRAM) {
+                for (Entry entry : entries.values()) {
+                    if (entry.contains(folded)) {
+                        matches.add(entry);
+                    }
+                }
+                return matches;
+            }
+
+            // Walk the rarest trigram and require every other one; then confirm the substring
+            List<Set<Long>> required = new ArrayList<>();
+            for (String gram : trigrams(folded)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return matches;
+                }
+                required.add(ids);
+            }
+            required.sort(Comparator.comparingInt(Set::size));
+            candidates:
+            for (Long id : required.get(0)) {
+                for (int i = 1; i < required.size(); i++) {
+                    if (!required.get(i).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                Entry entry = entries.get(id);
+                if (entry.contains(folded)) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }
+
+        private static Set<String> trigrams(Entry entry) {
+            Set<String> grams = trigrams(entry.foldedName());
+            grams.addAll(trigrams(entry.foldedEmail()));
+            return grams;
+        }
+
+        private static Set<String> trigrams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
@@ -1,29 +1,47 @@
 package com.pianoteacher.service;
 
+import com.pianoteacher.dto.CursorPageDTO;
+import com.pianoteacher.dto.StudentSuggestionDTO;
+import com.pianoteacher.dto.StudentSummaryDTO;
 import com.pianoteacher.model.Student;
 import com.pianoteacher.model.Pricing;
 import com.pianoteacher.repository.StudentRepository;
 import com.pianoteacher.repository.PricingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class StudentService {
 
+    public static final int MAX_AUTOCOMPLETE_RESULTS = 50;
+
     private final StudentRepository studentRepository;
     private final PricingRepository pricingRepository;
+    private final StudentSearchIndex studentSearchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository, PricingRepository pricingRepository) {
+    public StudentService(StudentRepository studentRepository, PricingRepository pricingRepository,
+                          StudentSearchIndex studentSearchIndex) {
         this.studentRepository = studentRepository;
         this.pricingRepository = pricingRepository;
+        this.studentSearchIndex = studentSearchIndex;
     }
 
     // Student CRUD operations
@@ -51,7 +69,9 @@ public class StudentService {
             student.setPricing(savedPricing);
         }
         
-        return studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+        indexForSearch(savedStudent);
+        return savedStudent;
     }
 
     public Student updateStudent(Long id, Student studentDetails) {
@@ -102,7 +122,9 @@ public class StudentService {
         }
         
         existingStudent.validate();
-        return studentRepository.save(existingStudent);
+        Student savedStudent = studentRepository.save(existingStudent);
+        indexForSearch(savedStudent);
+        return savedStudent;
     }
 
     public void deleteStudent(Long id) {
@@ -114,6 +136,7 @@ public class StudentService {
         }
         
         studentRepository.delete(student);
+        studentSearchIndex.remove(id);
     }
 
     public Student getStudentById(Long id) {
@@ -121,31 +144,111 @@ public class StudentService {
                 .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    // List summaries without notes or pricing
+    @Transactional(readOnly = true)
+    public List<StudentSummaryDTO> getStudentSummaries() {
+        return studentRepository.findAllSummaries();
+    }
+
+    // Keyset pagination and streaming
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Student> getStudentsPage(Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Student::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllStudents(Consumer<Student> consumer) {
+        try (Stream<Student> studentStream = studentRepository.streamAllOrderedById()) {
+            studentStream.forEach(student -> {
+                consumer.accept(student);
+                // Detach each row once written so the persistence context stays small
+                entityManager.detach(student);
+            });
+        }
+    }
+
     // Search and filter operations
+    @Transactional(readOnly = true)
     public List<Student> searchStudentsByName(String name) {
         return studentRepository.findByNameContainingIgnoreCase(name);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Student> searchStudentsByNamePage(String name, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Student> rows = studentRepository.findByNameContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                name, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Student::getId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Student> searchStudents(String searchTerm) {
-        return studentRepository.searchStudents(searchTerm);
+        List<Long> ids = studentSearchIndex.search(searchTerm);
+        return ids.isEmpty() ? List.of() : studentRepository.findAllById(ids);
     }
 
+    // The index returns ids in ascending order, so the page is cut from it before loading
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Student> searchStudentsPage(String searchTerm, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        long after = afterId != null ? afterId : 0L;
+        List<Long> ids = studentSearchIndex.search(searchTerm).stream()
+                .filter(id -> id > after)
+                .limit(size + 1L)
+                .toList();
+        List<Student> rows = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            rows.addAll(studentRepository.findAllById(ids));
+            rows.sort(Comparator.comparing(Student::getId));
+        }
+        return CursorPageDTO.fromRows(rows, size, Student::getId);
+    }
+
+    // Served entirely from the in-memory index, no database round trip
+    @Transactional(readOnly = true)
+    public List<StudentSuggestionDTO> autocompleteStudents(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_AUTOCOMPLETE_RESULTS);
+        }
+        return studentSearchIndex.suggest(prefix, limit);
+    }
+
+    private void indexForSearch(Student student) {
+        studentSearchIndex.index(student.getId(), student.getName(), student.getEmail(), student.getGrade());
+    }
+
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByAgeRange(Integer minAge, Integer maxAge) {
         return studentRepository.findByAgeBetween(minAge, maxAge);
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByGrade(String grade) {
         return studentRepository.findByGradeIgnoreCase(grade);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Student> getStudentsByGradePage(String grade, Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Student> rows = studentRepository.findByGradeIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                grade, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Student::getId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Student> getStudentsWithPricing() {
         return studentRepository.findStudentsWithPricing();
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getStudentsWithoutPricing() {
         return studentRepository.findStudentsWithoutPricing();
     }
@@ -183,21 +286,24 @@ public class StudentService {
     }
 
     // Statistics and reporting
+    @Transactional(readOnly = true)
     public List<Object[]> getStudentCountByGrade() {
         return studentRepository.countStudentsByGrade();
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getAverageHourlyRate() {
         return pricingRepository.findAverageHourlyRate();
     }
 
+    @Transactional(readOnly = true)
     public List<Object[]> getMostCommonLessonDurations() {
         return pricingRepository.findMostCommonLessonDurations();
     }
 
     // Utility methods
     public boolean studentExists(Long id) {
-        return studentRepository.existsById(id);
+        return studentRepository.existsCachedById(id);
     }
 
     public Optional<Student> getStudentByEmail(String email) {
@@ -208,7 +314,17 @@ public class StudentService {
         return studentRepository.findByPhone(phone);
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getStudentsCreatedInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return studentRepository.findStudentsByDateRange(startDate, endDate);
     }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Student> getStudentsCreatedInDateRangePage(LocalDateTime startDate, LocalDateTime endDate,
+                                                                    Long afterId, int size) {
+        CursorPageDTO.validatePageSize(size);
+        List<Student> rows = studentRepository.findByCreatedAtBetweenAndIdGreaterThanOrderByIdAsc(
+                startDate, endDate, afterId != null ? afterId : 0L, PageRequest.of(0, size + 1));
+        return CursorPageDTO.fromRows(rows, size, Student::getId);
+    }
 }
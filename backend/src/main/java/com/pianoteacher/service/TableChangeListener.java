@@ -0,0 +1,31 @@
+package com.pianoteacher.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that reports every insert, update and delete to the
+ * {@link TableChangeTracker}. Registered on {@code BaseEntity}; Hibernate obtains
+ * the instance from the Spring context.
+ */
+@Component
+public class TableChangeListener {
+
+    private final TableChangeTracker changeTracker;
+
+    @Autowired
+    public TableChangeListener(TableChangeTracker changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        changeTracker.changed(Hibernate.getClass(entity));
+    }
+}
@@ -0,0 +1,52 @@
+package com.pianoteacher.service;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed changes per entity table, so collection and statistics endpoints
+ * can answer {@code If-None-Match} with a weak ETag without querying the table.
+ *
+ * Entity writes are reported by {@link TableChangeListener}; bulk JPQL statements,
+ * which bypass entity callbacks, must call {@link #changed(Class)} themselves.
+ * Counters only move after commit, so a tag is never newer than the data a request
+ * could have read. Counters live in memory and start from zero, so every tag also
+ * carries a random per-instance epoch: tags from another instance, or from before a
+ * restart, never match.
+ */
+@Component
+public class TableChangeTracker {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Class<?>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    // One synchronization per transaction, however many rows it writes
+    public void changed(Class<?> entityType) {
+        AfterCommit.<Set<Class<?>>>batch(this, HashSet::new, types -> types.add(entityType),
+                types -> types.forEach(type -> counter(type).incrementAndGet()), Ordered.LOWEST_PRECEDENCE);
+    }
+
+    public long version(Class<?> entityType) {
+        return counter(entityType).get();
+    }
+
+    // Weak ETag over every table the response is built from
+    public String etag(Class<?>... entityTypes) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch);
+        for (Class<?> entityType : entityTypes) {
+            tag.append('-').append(version(entityType));
+        }
+        return tag.append('"').toString();
+    }
+
+    private AtomicLong counter(Class<?> entityType) {
+        return counters.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+}
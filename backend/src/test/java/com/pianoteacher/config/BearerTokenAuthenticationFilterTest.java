@@ -0,0 +1,96 @@
+package com.pianoteacher.config;
+
+import com.pianoteacher.service.AuthTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BearerTokenAuthenticationFilterTest {
+
+    private final AuthTokenService authTokenService = new AuthTokenService("test-secret", 60);
+
+    private final BearerTokenAuthenticationFilter filter = new BearerTokenAuthenticationFilter(authTokenService);
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidToken_AuthenticatesRequest() throws Exception {
+        String token = authTokenService.issueToken(admin).getToken();
+
+        MockFilterChain chain = filter("Bearer " + token);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("admin", authentication.getName());
+        assertTrue(authentication.isAuthenticated());
+        assertNotNull(chain.getRequest(), "The request should continue down the chain");
+    }
+
+    @Test
+    void testSchemeIsCaseInsensitive() throws Exception {
+        String token = authTokenService.issueToken(admin).getToken();
+
+        filter("bearer " + token);
+
+        assertEquals("admin", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void testTamperedToken_LeavesRequestUnauthenticated() throws Exception {
+        String token = authTokenService.issueToken(admin).getToken();
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("root\nROLE_ADMIN\n9999999999".getBytes());
+
+        MockFilterChain chain = filter("Bearer " + forgedPayload + token.substring(token.indexOf('.')));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest(), "An invalid token is left for the security chain to reject");
+    }
+
+    @Test
+    void testExpiredToken_LeavesRequestUnauthenticated() throws Exception {
+        AuthTokenService expiring = new AuthTokenService("test-secret", 0);
+        String token = expiring.issueToken(admin).getToken();
+
+        filter("Bearer " + token);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testOtherSchemes_AreIgnored() throws Exception {
+        filter("Basic " + Base64.getEncoder().encodeToString("admin:secret".getBytes()));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        filter(null);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockFilterChain filter(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
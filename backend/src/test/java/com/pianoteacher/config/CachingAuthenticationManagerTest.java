@@ -0,0 +1,130 @@
+package com.pianoteacher.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationManagerTest {
+
+    private static final long TTL_SECONDS = 60;
+
+    @Mock
+    private AuthenticationManager delegate;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private CachingAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = new CachingAuthenticationManager(delegate, TTL_SECONDS, 2, now::get);
+    }
+
+    @Test
+    void testAuthenticate_CacheHitSkipsDelegate() {
+        acceptPassword("secret");
+
+        Authentication first = authenticationManager.authenticate(login("admin", "secret"));
+        Authentication second = authenticationManager.authenticate(login("admin", "secret"));
+
+        assertTrue(first.isAuthenticated());
+        assertSame(first, second);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_FailedLoginsAreNeverCached() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(login("admin", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(login("admin", "wrong")));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_DifferentPasswordDoesNotMatchCachedLogin() {
+        acceptPassword("secret");
+        authenticationManager.authenticate(login("admin", "secret"));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(login("admin", "secret2")));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_EntryExpiresAfterTtl() {
+        acceptPassword("secret");
+        authenticationManager.authenticate(login("admin", "secret"));
+
+        now.addAndGet(TTL_SECONDS * 1000 - 1);
+        authenticationManager.authenticate(login("admin", "secret"));
+        verify(delegate, times(1)).authenticate(any());
+
+        now.addAndGet(1);
+        authenticationManager.authenticate(login("admin", "secret"));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_SizeCapEvictsWhenFull() {
+        acceptPassword("secret");
+        authenticationManager.authenticate(login("alice", "secret"));
+        authenticationManager.authenticate(login("bob", "secret"));
+
+        // Full and nothing expired, so the cache is emptied before carol is added
+        authenticationManager.authenticate(login("carol", "secret"));
+        authenticationManager.authenticate(login("carol", "secret"));
+        authenticationManager.authenticate(login("alice", "secret"));
+
+        verify(delegate, times(1)).authenticate(argThat(login -> login.getName().equals("carol")));
+        verify(delegate, times(2)).authenticate(argThat(login -> login.getName().equals("alice")));
+    }
+
+    @Test
+    void testAuthenticate_SizeCapDropsExpiredEntriesFirst() {
+        acceptPassword("secret");
+        authenticationManager.authenticate(login("alice", "secret"));
+        now.addAndGet(TTL_SECONDS * 1000);
+        authenticationManager.authenticate(login("bob", "secret"));
+
+        // Only alice's expired entry is dropped to make room, so bob stays cached
+        authenticationManager.authenticate(login("carol", "secret"));
+        authenticationManager.authenticate(login("bob", "secret"));
+
+        verify(delegate, times(1)).authenticate(argThat(login -> login.getName().equals("bob")));
+    }
+
+    private void acceptPassword(String password) {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication login = invocation.getArgument(0);
+            if (!password.equals(login.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    login.getName(), null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        });
+    }
+
+    private static Authentication login(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
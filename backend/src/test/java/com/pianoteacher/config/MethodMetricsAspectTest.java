@@ -0,0 +1,56 @@
+package com.pianoteacher.config;
+
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.service.AuthTokenService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MethodMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MethodMetricsAspect aspect = new MethodMetricsAspect(meterRegistry);
+
+    @Test
+    void testServiceMethods_AreTimedByMethodAndOutcome() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AuthTokenService("test-secret", 60));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        AuthTokenService service = factory.getProxy();
+
+        service.issueToken(UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of()));
+        assertThrows(NullPointerException.class, () -> service.issueToken(null));
+
+        Timer success = meterRegistry.find(MethodMetricsAspect.SERVICE_TIMER)
+                .tags("class", "AuthTokenService", "method", "issueToken", "outcome", "success").timer();
+        Timer error = meterRegistry.find(MethodMetricsAspect.SERVICE_TIMER)
+                .tags("method", "issueToken", "outcome", "error", "exception", "NullPointerException").timer();
+        assertNotNull(success);
+        assertEquals(1, success.count());
+        assertNotNull(error);
+        assertEquals(1, error.count());
+    }
+
+    @Test
+    void testRepositoryMethods_AreTaggedWithTheRepositoryInterface() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(mock(ScheduleRepository.class));
+        factory.addInterface(ScheduleRepository.class);
+        factory.addAspect(aspect);
+        ScheduleRepository repository = factory.getProxy();
+
+        repository.findAll();
+        repository.findByStudentId(1L);
+
+        assertEquals(1, meterRegistry.find(MethodMetricsAspect.REPOSITORY_TIMER)
+                .tags("class", "ScheduleRepository", "method", "findAll", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.find(MethodMetricsAspect.REPOSITORY_TIMER)
+                .tags("class", "ScheduleRepository", "method", "findByStudentId").timer().count());
+    }
+}
@@ -0,0 +1,127 @@
+package com.pianoteacher.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadOnlyRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReadOnlyRoutingDataSource routingDataSource = new ReadOnlyRoutingDataSource(primary, replica);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        beginTransaction(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testReadWriteTransaction_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        beginTransaction(false);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testOutsideTransaction_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        // Read-only without an actual transaction, e.g. SUPPORTS propagation
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testLazyProxy_RoutesWhenTheFirstStatementRuns() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+
+        // The transaction manager takes the connection before the transaction is marked read-only
+        Connection connection = dataSource.getConnection();
+        beginTransaction(true);
+        connection.createStatement();
+
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testReadFromPrimary_KeepsReadOnlyTransactionOnPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        beginTransaction(true);
+
+        Connection inside = ReadOnlyRoutingDataSource.readFromPrimary(() -> {
+            // Nested calls leave the outer one in charge
+            ReadOnlyRoutingDataSource.readFromPrimary(() -> null);
+            return connection();
+        });
+
+        assertSame(primaryConnection, inside);
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testReadFromPrimary_LazyProxyRoutesToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+
+        // A collection body loaded by read-only service methods under an ETag from the primary
+        ReadOnlyRoutingDataSource.readFromPrimary(() -> {
+            try {
+                Connection connection = dataSource.getConnection();
+                beginTransaction(true);
+                return connection.createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    private Connection connection() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,122 @@
+package com.pianoteacher.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.ScheduleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the second-level cache against a real Hibernate setup: the write path's
+ * student check is answered from the cache, every region is bounded, and Hibernate
+ * is limited to the regions created by {@link SecondLevelCacheConfig}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:secondlevelcache;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.cache.entity.max-size=100",
+        "app.cache.entity.ttl=5m",
+        "app.cache.query.max-size=20",
+        "app.cache.query.ttl=1m"
+})
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Test
+    void testCreateSchedule_StudentCheckIsACacheHitAfterWarmFindById() {
+        Long studentId = new TransactionTemplate(transactionManager).execute(status ->
+                studentRepository.save(new Student("Cached Student", 12, "Grade 3")).getId());
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // Loaded the way the controller does before calling createSchedule
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        CacheRegionStatistics students = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.STUDENT_REGION);
+        assertEquals(1, students.getMissCount());
+        assertEquals(1, students.getPutCount());
+
+        statistics.clear();
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        scheduleService.createSchedule(new Schedule(student, start, start.plusMinutes(45), "Studio C"));
+
+        students = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.STUDENT_REGION);
+        assertEquals(1, students.getHitCount(), "existsCachedById should be answered from the cache");
+        assertEquals(0, students.getMissCount());
+    }
+
+    @Test
+    void testRegions_AreBoundedBySizeAndTtl() {
+        for (String region : List.of(SecondLevelCacheConfig.STUDENT_REGION, SecondLevelCacheConfig.PRICING_REGION,
+                SecondLevelCacheConfig.LOCATION_REGION)) {
+            CaffeineConfiguration<?, ?> configuration = configuration(region);
+            assertEquals(OptionalLong.of(100), configuration.getMaximumSize(), region);
+            assertEquals(OptionalLong.of(Duration.ofMinutes(5).toNanos()), configuration.getExpireAfterWrite(), region);
+        }
+        CaffeineConfiguration<?, ?> queries = configuration(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        assertEquals(OptionalLong.of(20), queries.getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofMinutes(1).toNanos()), queries.getExpireAfterWrite());
+    }
+
+    @Test
+    void testHibernate_UsesOnlyTheConfiguredRegionsAndFailsOnMissingOnes() {
+        assertEquals("fail", entityManagerFactory.getProperties().get(ConfigSettings.MISSING_CACHE_STRATEGY));
+        assertSame(hibernateCacheManager, entityManagerFactory.getProperties().get(ConfigSettings.CACHE_MANAGER));
+
+        Set<String> configured = new HashSet<>();
+        hibernateCacheManager.getCacheNames().forEach(configured::add);
+        assertEquals(Set.of(SecondLevelCacheConfig.STUDENT_REGION, SecondLevelCacheConfig.PRICING_REGION,
+                SecondLevelCacheConfig.LOCATION_REGION, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME), configured);
+        for (String region : statistics().getSecondLevelCacheRegionNames()) {
+            assertTrue(configured.contains(region), "Hibernate region without a configured cache: " + region);
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // The regions are created untyped, so the configuration is one of Object keys and values
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<Object, Object> configuration(String region) {
+        return hibernateCacheManager.getCache(region).getConfiguration(
+                (Class<CaffeineConfiguration<Object, Object>>) (Class<?>) CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,160 @@
+package com.pianoteacher.controller;
+
+import com.pianoteacher.model.LessonContent;
+import com.pianoteacher.model.Location;
+import com.pianoteacher.model.Pricing;
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.LessonContentRepository;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.LocationDictionary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Serializes the list endpoints against a seeded H2 database and counts the SQL
+ * statements each request prepares, so a lazy association that is loaded per row
+ * (the N+1 pattern) fails the build instead of reaching production. A repeated
+ * request carrying the returned ETag must be answered without touching the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryCountTest {
+
+    private static final int STUDENTS = 50;
+    private static final int SCHEDULES_PER_STUDENT = 10;
+    private static final int LESSONS_PER_STUDENT = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private LessonContentRepository lessonContentRepository;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Autowired
+    private ProgressReportRepository progressReportRepository;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Student> students = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                Student student = new Student("Student " + i, 10 + i % 40, "Grade " + (1 + i % 8));
+                student.setPricing(new Pricing(new BigDecimal("40.00"), 45));
+                students.add(student);
+            }
+            studentRepository.saveAll(students);
+
+            Location studio = locationDictionary.intern("Studio A");
+            LocalDateTime firstLesson = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+            List<Schedule> schedules = new ArrayList<>();
+            List<LessonContent> lessons = new ArrayList<>();
+            List<ProgressReport> reports = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                Student student = students.get(i);
+                for (int week = 0; week < SCHEDULES_PER_STUDENT; week++) {
+                    LocalDateTime start = firstLesson.plusWeeks(week).plusMinutes(i);
+                    Schedule schedule = new Schedule(student, start, start.plusMinutes(45), "Studio A");
+                    schedule.setPlace(studio);
+                    schedules.add(schedule);
+                }
+                for (int lesson = 0; lesson < LESSONS_PER_STUDENT; lesson++) {
+                    LessonContent content = new LessonContent(student, "Piece " + lesson, "REPERTOIRE", 1 + lesson, 30);
+                    content.markAsCompleted();
+                    lessons.add(content);
+                }
+                reports.add(new ProgressReport(student, "MONTHLY", "2025-01", 75.0));
+            }
+            scheduleRepository.saveAll(schedules);
+            lessonContentRepository.saveAll(lessons);
+            progressReportRepository.saveAll(reports);
+        });
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/schedules, 500",
+            "/api/lessons, 200",
+            "/api/lessons?recent=true, 200",
+            "/api/lesson-content, 200",
+            "/api/students, 50",
+            "/api/progress-reports, 50"
+    })
+    void testListEndpoint_LoadsEveryRowWithOneStatement(String url, int rows) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(rows));
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "SQL statements for GET " + url);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/schedules", "/api/lessons", "/api/students", "/api/progress-reports", "/api/lessons/stats"})
+    void testListEndpoint_MatchingEtagAnswersNotModifiedWithoutQuerying(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "SQL statements for conditional GET " + url);
+    }
+}
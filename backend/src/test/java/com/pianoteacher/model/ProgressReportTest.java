@@ -5,8 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 class ProgressReportTest {
 
@@ -190,6 +192,59 @@ class ProgressReportTest {
         }
     }
 
+    @Test
+    void testReportPeriodValidation() {
+        progressReport.setReportPeriod(" 2024-12 ");
+        assertEquals("2024-12", progressReport.getReportPeriod());
+        assertDoesNotThrow(() -> progressReport.validate());
+
+        // Invalid periods are kept as given and rejected by validate
+        String[] invalidPeriods = {"2024-13", "2024-Q5", "2024-H3", "2023-W53", "January 2024", ""};
+        for (String period : invalidPeriods) {
+            progressReport.setReportPeriod(period);
+            assertEquals(period, progressReport.getReportPeriod());
+            assertThrows(IllegalArgumentException.class, () -> progressReport.validate());
+        }
+    }
+
+    @Test
+    void testReportPeriodValidation_LongerPeriodsAreStoredAsTheMonthTheyStartIn() {
+        Map<String, String> months = Map.of(
+                "2024-Q1", "2024-01",
+                "2024-q4", "2024-10",
+                "2024-H2", "2024-07",
+                "2024", "2024-01",
+                "2024-W05", "2024-01",
+                // Week 1 of 2025 starts on Monday 2024-12-30
+                "2025-W01", "2024-12");
+        months.forEach((period, month) -> {
+            progressReport.setReportPeriod(period);
+            assertEquals(month, progressReport.getReportPeriod(), period);
+            assertDoesNotThrow(() -> progressReport.validate());
+        });
+        // Monthly scoring takes calendar months only
+        assertEquals(Optional.empty(), ProgressReport.parseMonth("2024-Q1"));
+    }
+
+    @Test
+    void testReportPeriodConverter_StoresYearAndMonthAsInteger() {
+        YearMonthConverter converter = new YearMonthConverter();
+
+        assertEquals(202401, converter.convertToDatabaseColumn(YearMonth.of(2024, 1)));
+        assertEquals(YearMonth.of(2024, 12), converter.convertToEntityAttribute(202412));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void testRollupReportTypeConverter_StoresOrdinalAndAllAsMinusOne() {
+        RollupReportTypeConverter converter = new RollupReportTypeConverter();
+
+        assertEquals((short) ProgressReport.ReportType.ASSESSMENT.ordinal(), converter.convertToDatabaseColumn("ASSESSMENT"));
+        assertEquals((short) -1, converter.convertToDatabaseColumn(ProgressRollup.ALL_TYPES));
+        assertEquals("MONTHLY", converter.convertToEntityAttribute((short) 1));
+        assertEquals(ProgressRollup.ALL_TYPES, converter.convertToEntityAttribute((short) -1));
+    }
+
     @Test
     void testGetProgressGrade() {
         progressReport.setOverallProgress(95.0);
@@ -0,0 +1,48 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.AuthTokenDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceTest {
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Test
+    void testIssueAndVerifyToken_RoundTripsUserAndAuthorities() {
+        AuthTokenService authTokenService = new AuthTokenService("test-secret", 60);
+
+        AuthTokenDTO issued = authTokenService.issueToken(admin);
+        Optional<Authentication> verified = authTokenService.verifyToken(issued.getToken());
+
+        assertEquals("Bearer", issued.getTokenType());
+        assertTrue(verified.isPresent());
+        assertEquals("admin", verified.get().getName());
+        assertTrue(verified.get().isAuthenticated());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), List.copyOf(verified.get().getAuthorities()));
+    }
+
+    @Test
+    void testVerifyToken_RejectsTamperedForeignAndExpiredTokens() {
+        AuthTokenService authTokenService = new AuthTokenService("test-secret", 60);
+        String token = authTokenService.issueToken(admin).getToken();
+        String signature = token.substring(token.indexOf('.'));
+
+        String forgedPayload = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("root\nROLE_ADMIN\n9999999999".getBytes());
+        assertTrue(authTokenService.verifyToken(forgedPayload + signature).isEmpty());
+        assertTrue(authTokenService.verifyToken("not-a-token").isEmpty());
+        assertTrue(new AuthTokenService("other-secret", 60).verifyToken(token).isEmpty());
+
+        AuthTokenService expiring = new AuthTokenService("test-secret", 0);
+        assertTrue(expiring.verifyToken(expiring.issueToken(admin).getToken()).isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.BulkImportResultDTO;
+import com.pianoteacher.dto.ScheduleDTO;
+import com.pianoteacher.dto.StudentDTO;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the imports against an H2 database, so the all-or-nothing guarantee is checked
+ * on real transactions: a failing row rolls back the batches flushed before it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkimport;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class BulkImportServiceTest {
+
+    private static final LocalDateTime NEXT_MONDAY =
+            LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 0);
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Test
+    void testImportStudents_WritesEveryRowInBatches() {
+        long before = studentRepository.count();
+
+        BulkImportResultDTO result = bulkImportService.importStudents(List.of(
+                student("Batch One", "batch.one@example.com", "555-0101"),
+                student("Batch Two", "batch.two@example.com", "555-0102"),
+                student("Batch Three", "batch.three@example.com", "555-0103")), 2);
+
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getBatches());
+        assertEquals(before + 3, studentRepository.count());
+    }
+
+    @Test
+    void testImportStudents_DuplicateEmailInDatabaseRollsBackEarlierBatches() {
+        bulkImportService.importStudents(List.of(student("Existing", "taken@example.com", null)), null);
+        long before = studentRepository.count();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importStudents(List.of(
+                        student("First", "first.rollback@example.com", null),
+                        student("Second", "second.rollback@example.com", null),
+                        student("Duplicate", "TAKEN@example.com", null)), 1));
+
+        assertEquals("Row 3: Student with email TAKEN@example.com already exists", exception.getMessage());
+        assertEquals(before, studentRepository.count());
+    }
+
+    @Test
+    void testImportStudents_DuplicatePhoneWithinFileIsRejected() {
+        long before = studentRepository.count();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importStudents(List.of(
+                        student("Phone One", "phone.one@example.com", "555-0199"),
+                        student("Phone Two", "phone.two@example.com", "555-0199")), null));
+
+        assertEquals("Row 2: Student with phone 555-0199 already exists", exception.getMessage());
+        assertEquals(before, studentRepository.count());
+    }
+
+    @Test
+    void testImportSchedules_ConflictWithinFileRollsBackAndLeavesIndexUsable() {
+        Long studentId = importOneStudent("conflict.student@example.com");
+        ScheduleDTO monday = schedule(studentId, NEXT_MONDAY);
+        ScheduleDTO tuesday = schedule(studentId, NEXT_MONDAY.plusDays(1));
+        ScheduleDTO overlapsMonday = schedule(studentId, NEXT_MONDAY.plusMinutes(30));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importSchedules(List.of(monday, tuesday, overlapsMonday), 1));
+
+        assertEquals("Row 3: Schedule conflicts with another schedule in this import", exception.getMessage());
+        assertTrue(scheduleRepository.findIntervalsByStudentId(studentId).isEmpty());
+
+        // The rolled back rows must not linger in the conflict index
+        BulkImportResultDTO result = bulkImportService.importSchedules(List.of(monday, tuesday), null);
+        assertEquals(2, result.getImported());
+        assertEquals(2, scheduleRepository.findIntervalsByStudentId(studentId).size());
+    }
+
+    @Test
+    void testImportSchedules_ConflictWithStoredScheduleIsRejectedBeforeWriting() {
+        Long studentId = importOneStudent("stored.conflict@example.com");
+        bulkImportService.importSchedules(List.of(schedule(studentId, NEXT_MONDAY)), null);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importSchedules(List.of(
+                        schedule(studentId, NEXT_MONDAY.plusDays(2)),
+                        schedule(studentId, NEXT_MONDAY.plusMinutes(15))), null));
+
+        assertEquals("Row 2: Schedule conflicts with existing schedule(s)", exception.getMessage());
+        assertEquals(1, scheduleRepository.findIntervalsByStudentId(studentId).size());
+    }
+
+    @Test
+    void testImportSchedules_UnknownStudentIsRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importSchedules(List.of(schedule(Long.MAX_VALUE, NEXT_MONDAY)), null));
+
+        assertEquals("Row 1: Student not found with id: " + Long.MAX_VALUE, exception.getMessage());
+    }
+
+    private Long importOneStudent(String email) {
+        bulkImportService.importStudents(List.of(student("Schedule Student", email, null)), null);
+        return studentRepository.findByEmail(email).map(Student::getId).orElseThrow();
+    }
+
+    private static StudentDTO student(String name, String email, String phone) {
+        StudentDTO dto = new StudentDTO(name, 12, "Grade 2");
+        dto.setEmail(email);
+        dto.setPhone(phone);
+        return dto;
+    }
+
+    private static ScheduleDTO schedule(Long studentId, LocalDateTime start) {
+        return new ScheduleDTO(studentId, start, start.plusMinutes(45), "Studio A");
+    }
+}
@@ -0,0 +1,36 @@
+package com.pianoteacher.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvParserTest {
+
+    @Test
+    void testParse_MapsRowsByHeaderAndHandlesQuoting() {
+        String csv = "name, age ,notes\r\n" +
+                "Alice,12,\"Likes Chopin, Debussy\"\r\n" +
+                "\n" +
+                "Bob,9,\"Says \"\"hi\"\"\nat every lesson\"\n" +
+                "Carol,10,\n";
+
+        List<Map<String, String>> rows = CsvParser.parse(csv);
+
+        assertEquals(3, rows.size());
+        assertEquals("Alice", rows.get(0).get("name"));
+        assertEquals("12", rows.get(0).get("age"));
+        assertEquals("Likes Chopin, Debussy", rows.get(0).get("notes"));
+        assertEquals("Says \"hi\"\nat every lesson", rows.get(1).get("notes"));
+        assertNull(rows.get(2).get("notes"));
+    }
+
+    @Test
+    void testParse_RejectsMalformedInput() {
+        assertTrue(CsvParser.parse("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> CsvParser.parse("name,age\nAlice,12,extra\n"));
+        assertThrows(IllegalArgumentException.class, () -> CsvParser.parse("name\n\"unterminated\n"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.repository.ProgressReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LatestProgressReportIndexTest {
+
+    @Mock
+    private ProgressReportRepository progressReportRepository;
+
+    private LatestProgressReportIndex latestReportIndex;
+
+    @BeforeEach
+    void setUp() {
+        latestReportIndex = new LatestProgressReportIndex(progressReportRepository);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, 1L, ReportType.MONTHLY});
+        rows.add(new Object[]{2L, 1L, ReportType.ASSESSMENT});
+        rows.add(new Object[]{3L, 1L, ReportType.MONTHLY});
+        rows.add(new Object[]{4L, 2L, ReportType.MONTHLY});
+        when(progressReportRepository.findReportKeys()).thenReturn(rows);
+    }
+
+    @Test
+    void testLatestReportIds_HighestIdPerStudentAndType() {
+        assertEquals(Set.of(3L, 4L), Set.copyOf(latestReportIndex.getLatestReportIds()));
+        assertEquals(Set.of(2L, 3L, 4L), Set.copyOf(latestReportIndex.getLatestReportIdsByType()));
+
+        verify(progressReportRepository, times(1)).findReportKeys();
+    }
+
+    @Test
+    void testReportSaved_UpdatesLoadedModelWithoutReloading() {
+        latestReportIndex.getLatestReportIds();
+
+        latestReportIndex.reportSaved(2L, "ASSESSMENT", 5L);
+
+        assertEquals(Set.of(3L, 5L), Set.copyOf(latestReportIndex.getLatestReportIds()));
+        assertEquals(Set.of(2L, 3L, 4L, 5L), Set.copyOf(latestReportIndex.getLatestReportIdsByType()));
+        verify(progressReportRepository, times(1)).findReportKeys();
+    }
+
+    @Test
+    void testReportRemoved_ReloadsOnlyWhenLatestReportIsDeleted() {
+        latestReportIndex.getLatestReportIds();
+
+        latestReportIndex.reportRemoved(1L, "MONTHLY", 1L);
+        latestReportIndex.getLatestReportIds();
+        verify(progressReportRepository, times(1)).findReportKeys();
+
+        latestReportIndex.reportRemoved(1L, "MONTHLY", 3L);
+        latestReportIndex.getLatestReportIds();
+        verify(progressReportRepository, times(2)).findReportKeys();
+    }
+}
@@ -0,0 +1,64 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.LessonContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LessonSearchIndexTest {
+
+    @Mock
+    private LessonContentRepository lessonContentRepository;
+
+    private LessonSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, 1L, "Clementi Sonatina Op. 36", "First movement, hands separately"});
+        rows.add(new Object[]{2L, 1L, "Scales", "C major and A minor, then the sonatina opening"});
+        rows.add(new Object[]{3L, 2L, "Für Elise", "Beethoven, bars 1-22"});
+        rows.add(new Object[]{4L, 2L, "Minuet in G", null});
+        when(lessonContentRepository.findSearchableText()).thenReturn(rows);
+
+        searchIndex = new LessonSearchIndex(lessonContentRepository);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), searchIndex.search("sonatina", null));
+        assertEquals(List.of(1L), searchIndex.search("sonatina movement", null));
+    }
+
+    @Test
+    void testSearch_MatchesPrefixesTyposAndAccents() {
+        assertEquals(List.of(3L), searchIndex.search("beeth", null));
+        assertEquals(List.of(3L), searchIndex.search("bethoven", null));
+        assertEquals(List.of(3L), searchIndex.search("fur elise", null));
+        assertEquals(List.of(4L), searchIndex.search("MINUET", 2L));
+        assertTrue(searchIndex.search("minuet", 1L).isEmpty());
+        assertTrue(searchIndex.search("   ", null).isEmpty());
+    }
+
+    @Test
+    void testIndexAndRemove_UpdateSearchResults() {
+        searchIndex.index(5L, 1L, "Sonatina in G", null);
+        searchIndex.index(3L, 2L, "Arabesque", "Burgmüller");
+        searchIndex.remove(1L);
+
+        assertEquals(List.of(5L, 2L), searchIndex.search("sonatina", null));
+        assertTrue(searchIndex.search("elise", null).isEmpty());
+        assertEquals(List.of(3L), searchIndex.search("burgmuller", null));
+        assertEquals(4, searchIndex.size());
+    }
+}
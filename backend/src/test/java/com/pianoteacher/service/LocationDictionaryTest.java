@@ -0,0 +1,131 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Location;
+import com.pianoteacher.repository.LocationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationDictionaryTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    private LocationDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new LocationDictionary(locationRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testIntern_CreatesOnceAndIgnoresCaseAndSpacing() {
+        Location studio = location(7L, "Studio A");
+        when(locationRepository.findByNameKey("studio a")).thenReturn(Optional.empty(), Optional.of(studio));
+        when(locationRepository.insertIfAbsent(any(Location.class))).thenReturn(1);
+        when(locationRepository.getReferenceById(7L)).thenReturn(studio);
+
+        assertSame(studio, dictionary.intern("Studio A"));
+        assertSame(studio, dictionary.intern("  studio   A "));
+
+        // Looked up, inserted and read back once
+        verify(locationRepository, times(2)).findByNameKey("studio a");
+        verify(locationRepository, times(1)).insertIfAbsent(any(Location.class));
+        verify(locationRepository, never()).save(any(Location.class));
+        assertEquals(Optional.of(7L), dictionary.findId("STUDIO A"));
+        assertEquals("Studio A", dictionary.name(7L));
+    }
+
+    @Test
+    void testIntern_RereadsAfterConcurrentInsert() {
+        Location studio = location(7L, "Studio A");
+        when(locationRepository.findByNameKey("studio a")).thenReturn(Optional.empty(), Optional.of(studio));
+        when(locationRepository.insertIfAbsent(any(Location.class))).thenReturn(0);
+        when(locationRepository.getReferenceById(7L)).thenReturn(studio);
+
+        assertSame(studio, dictionary.intern("studio a"));
+        // The stored spelling is kept
+        assertEquals("Studio A", dictionary.name(7L));
+    }
+
+    @Test
+    void testIntern_NewLocationJoinsDictionaryOnCommit() {
+        Location studio = location(7L, "Studio A");
+        when(locationRepository.findByNameKey("studio a")).thenReturn(Optional.empty(), Optional.of(studio));
+        when(locationRepository.insertIfAbsent(any(Location.class))).thenReturn(1);
+        when(locationRepository.getReferenceById(7L)).thenReturn(studio);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertSame(studio, dictionary.intern("Studio A"));
+        // Later rows of the same transaction reuse it without a query
+        assertSame(studio, dictionary.intern("studio a"));
+        assertEquals(Optional.of(7L), dictionary.findId("STUDIO A"));
+        verify(locationRepository, times(2)).findByNameKey("studio a");
+        // Not visible to other requests before the commit
+        assertTrue(dictionary.findIdsContaining("studio").isEmpty());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(List.of(7L), dictionary.findIdsContaining("studio"));
+    }
+
+    @Test
+    void testIntern_RolledBackLocationNeverJoinsDictionary() {
+        Location studio = location(7L, "Studio A");
+        when(locationRepository.findByNameKey("studio a")).thenReturn(Optional.empty(), Optional.of(studio));
+        when(locationRepository.insertIfAbsent(any(Location.class))).thenReturn(1);
+        when(locationRepository.getReferenceById(7L)).thenReturn(studio);
+        TransactionSynchronizationManager.initSynchronization();
+
+        dictionary.intern("Studio A");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertTrue(dictionary.findIdsContaining("studio").isEmpty());
+    }
+
+    @Test
+    void testFindIdsContaining_MatchesLoadedNames() {
+        when(locationRepository.findAll()).thenReturn(List.of(
+                location(1L, "Studio A"), location(2L, "Studio B"), location(3L, "Online")));
+
+        dictionary.load();
+
+        assertEquals(List.of(1L, 2L), dictionary.findIdsContaining("STUDIO").stream().sorted().toList());
+        assertEquals(List.of(3L), dictionary.findIdsContaining("line"));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.intern("  "));
+    }
+
+    private static Location location(Long id, String name) {
+        Location location = new Location(name);
+        location.setId(id);
+        return location;
+    }
+}
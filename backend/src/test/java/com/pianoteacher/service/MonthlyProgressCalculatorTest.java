@@ -0,0 +1,87 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.LessonContent.ContentType;
+import com.pianoteacher.repository.LessonContentRepository;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.service.MonthlyProgressCalculator.MonthlyScores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyProgressCalculatorTest {
+
+    @Mock
+    private LessonContentRepository lessonContentRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    private MonthlyProgressCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new MonthlyProgressCalculator(lessonContentRepository, scheduleRepository);
+    }
+
+    @Test
+    void testScore_WeightsCompletedContentByDifficulty() {
+        // Technical, theory, repertoire, practice
+        MonthlyScores scores = MonthlyProgressCalculator.score(
+                new long[]{10, 0, 8, 0}, new long[]{5, 0, 8, 0}, 4, 4.0);
+
+        assertEquals(50.0, scores.technicalSkills());
+        assertNull(scores.theoryKnowledge());
+        assertEquals(100.0, scores.repertoireSkills());
+        // No assignments, so practice is attendance alone
+        assertEquals(100.0, scores.practiceHabits());
+        assertEquals(83.3, scores.overallProgress());
+    }
+
+    @Test
+    void testScore_NoActivityHasNoScores() {
+        assertNull(MonthlyProgressCalculator.score(new long[4], new long[4], 0, 4.0));
+    }
+
+    @Test
+    void testCalculate_ScoresOnlyActiveStudents() {
+        YearMonth march = YearMonth.of(2025, 3);
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 0, 0);
+        when(lessonContentRepository.sumDifficultyByStudentAndType(anyCollection(), eq(from), eq(to))).thenReturn(List.of(
+                new Object[]{1L, ContentType.EXERCISE, 4L, 2L},
+                new Object[]{1L, ContentType.SONG, 6L, 3L}));
+        when(scheduleRepository.countLessonsByStudentInRange(anyCollection(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 2L}));
+
+        Map<Long, MonthlyScores> scores = calculator.calculate(List.of(1L, 2L), march);
+
+        assertEquals(1, scores.size());
+        MonthlyScores alice = scores.get(1L);
+        assertEquals(50.0, alice.technicalSkills());
+        assertEquals(50.0, alice.repertoireSkills());
+        // Two lessons in a month of 31 days
+        assertEquals(45.2, alice.practiceHabits());
+        assertEquals(48.4, alice.overallProgress());
+    }
+
+    @Test
+    void testParsePeriod_RejectsOtherFormats() {
+        assertEquals(YearMonth.of(2025, 3), MonthlyProgressCalculator.parsePeriod("2025-03"));
+        assertThrows(IllegalArgumentException.class, () -> MonthlyProgressCalculator.parsePeriod("March 2025"));
+        assertThrows(IllegalArgumentException.class, () -> MonthlyProgressCalculator.parsePeriod(null));
+    }
+}
@@ -0,0 +1,212 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.ProgressReportSummaryDTO;
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressRollup;
+import com.pianoteacher.model.ProgressRollup.Granularity;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ProgressRollupRepository;
+import com.pianoteacher.service.ProgressRollupService.ReportScores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressRollupServiceTest {
+
+    @Mock
+    private ProgressRollupRepository rollupRepository;
+
+    @Mock
+    private ProgressReportRepository progressReportRepository;
+
+    private ProgressRollupService progressRollupService;
+
+    private final LocalDateTime reportDate = LocalDateTime.of(2025, 3, 12, 17, 30);
+
+    @BeforeEach
+    void setUp() {
+        progressRollupService = new ProgressRollupService(rollupRepository, progressReportRepository);
+    }
+
+    @Test
+    void testReportSaved_AddsReportToEveryBucket() {
+        when(rollupRepository.addToBucket(any(ProgressRollup.class))).thenReturn(1);
+
+        progressRollupService.reportSaved(report(7L, 80.0));
+
+        // Day, week and month for all students and for the student, plus three all-time buckets
+        ArgumentCaptor<ProgressRollup> deltas = ArgumentCaptor.forClass(ProgressRollup.class);
+        verify(rollupRepository, times(9)).addToBucket(deltas.capture());
+        ProgressRollup week = deltas.getAllValues().stream()
+                .filter(rollup -> rollup.getGranularity().equals("WEEK") && rollup.getStudentId() == 7L)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(LocalDate.of(2025, 3, 10), week.getBucketStart());
+        assertEquals(1, week.getOverall().getCount());
+        assertEquals(80.0, week.getOverall().getAverage());
+        // Skills only count reports that have all four
+        assertEquals(0, week.getTechnicalSkills().getCount());
+        assertTrue(deltas.getAllValues().stream()
+                .anyMatch(rollup -> rollup.getGranularity().equals("ALL") && rollup.getReportType().equals("MONTHLY")));
+        // Adding never reads a bucket back or locks it first
+        verify(rollupRepository, never()).findForUpdate(anyString(), any(), anyLong(), anyString());
+        verify(rollupRepository, never()).save(any(ProgressRollup.class));
+    }
+
+    @Test
+    void testReportsSavedToStudentBuckets_LeavesSharedBucketsAlone() {
+        when(rollupRepository.addToBucket(any(ProgressRollup.class))).thenReturn(1);
+
+        List<ReportScores> added = progressRollupService.reportsSavedToStudentBuckets(
+                List.of(report(7L, 60.0), report(8L, 90.0)));
+
+        // Day, week, month and all time for each student
+        ArgumentCaptor<ProgressRollup> deltas = ArgumentCaptor.forClass(ProgressRollup.class);
+        verify(rollupRepository, times(8)).addToBucket(deltas.capture());
+        assertTrue(deltas.getAllValues().stream().noneMatch(rollup -> rollup.getStudentId() == ProgressRollup.ALL_STUDENTS));
+        assertEquals(List.of(7L, 8L), added.stream().map(ReportScores::studentId).toList());
+    }
+
+    @Test
+    void testAddToSharedBuckets_SumsReportsPerBucketBeforeUpdating() {
+        when(rollupRepository.addToBucket(any(ProgressRollup.class))).thenReturn(1);
+
+        progressRollupService.addToSharedBuckets(List.of(scores(60.0), scores(90.0)));
+
+        // Day, week, month and all time for all students, plus all time for the report type
+        ArgumentCaptor<ProgressRollup> deltas = ArgumentCaptor.forClass(ProgressRollup.class);
+        verify(rollupRepository, times(5)).addToBucket(deltas.capture());
+        ProgressRollup totals = deltas.getAllValues().stream()
+                .filter(ProgressRollupServiceTest::isTotals)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, totals.getOverall().getCount());
+        assertEquals(60.0, totals.getOverall().getMin());
+        assertEquals(90.0, totals.getOverall().getMax());
+    }
+
+    @Test
+    void testReportSaved_NewBucketIsInsertedOnceAndUpdated() {
+        // Only the all-time bucket for all students and types is new
+        when(rollupRepository.addToBucket(argThat(delta -> !isTotals(delta)))).thenReturn(1);
+        when(rollupRepository.addToBucket(argThat(ProgressRollupServiceTest::isTotals))).thenReturn(0, 1);
+
+        progressRollupService.reportSaved(report(7L, 80.0));
+
+        // Inserted in the writing transaction, not with a save in one of its own
+        ArgumentCaptor<ProgressRollup> created = ArgumentCaptor.forClass(ProgressRollup.class);
+        verify(rollupRepository).insertBucketIfAbsent(created.capture());
+        assertTrue(isTotals(created.getValue()));
+        verify(rollupRepository, never()).save(any(ProgressRollup.class));
+        verify(rollupRepository, times(10)).addToBucket(any(ProgressRollup.class));
+    }
+
+    @Test
+    void testReportSaved_BucketInsertedConcurrentlyIsNotAnError() {
+        when(rollupRepository.addToBucket(argThat(delta -> !isTotals(delta)))).thenReturn(1);
+        when(rollupRepository.addToBucket(argThat(ProgressRollupServiceTest::isTotals))).thenReturn(0, 1);
+        when(rollupRepository.insertBucketIfAbsent(argThat(ProgressRollupServiceTest::isTotals))).thenReturn(0);
+
+        assertDoesNotThrow(() -> progressRollupService.reportSaved(report(7L, 80.0)));
+
+        // The concurrent insert won, so the retried update finds the row
+        verify(rollupRepository, times(10)).addToBucket(any(ProgressRollup.class));
+    }
+
+    @Test
+    void testReportRemoved_InsideRangeUpdatesInPlace() {
+        ProgressRollup totals = totalsOf(60.0, 80.0, 100.0);
+
+        progressRollupService.reportRemoved(scores(80.0));
+
+        assertEquals(2, totals.getOverall().getCount());
+        assertEquals(80.0, totals.getOverall().getAverage());
+        assertEquals(60.0, totals.getOverall().getMin());
+        assertEquals(100.0, totals.getOverall().getMax());
+        verify(rollupRepository).save(totals);
+        verify(progressReportRepository, never()).findAllSummaries();
+    }
+
+    @Test
+    void testReportRemoved_LastReportKeepsEmptyBucket() {
+        ProgressRollup totals = totalsOf(80.0);
+
+        progressRollupService.reportRemoved(scores(80.0));
+
+        assertTrue(totals.isEmpty());
+        verify(rollupRepository).save(totals);
+        verify(rollupRepository, never()).delete(any(ProgressRollup.class));
+    }
+
+    @Test
+    void testReportRemoved_MaximumRecomputesBucket() {
+        ProgressRollup totals = totalsOf(60.0, 80.0, 100.0);
+        when(progressReportRepository.findAllSummaries()).thenReturn(List.of(summary(1L, 60.0), summary(2L, 80.0)));
+
+        progressRollupService.reportRemoved(scores(100.0));
+
+        assertEquals(2, totals.getOverall().getCount());
+        assertEquals(70.0, totals.getOverall().getAverage());
+        assertEquals(80.0, totals.getOverall().getMax());
+        verify(progressReportRepository).flush();
+        verify(rollupRepository).save(totals);
+    }
+
+    // The all-time bucket for all students and types holding the given scores; no other bucket exists
+    private ProgressRollup totalsOf(double... scores) {
+        ProgressRollup totals = new ProgressRollup(Granularity.ALL, ProgressRollup.ALL_TIME,
+                ProgressRollup.ALL_STUDENTS, ProgressRollup.ALL_TYPES);
+        totals.setId(1L);
+        for (double score : scores) {
+            totals.add(score, null, null, null, null);
+        }
+        when(rollupRepository.findForUpdate(anyString(), any(), anyLong(), anyString())).thenAnswer(invocation ->
+                invocation.getArgument(0).equals("ALL") && invocation.getArgument(2).equals(ProgressRollup.ALL_STUDENTS)
+                        && invocation.getArgument(3).equals(ProgressRollup.ALL_TYPES)
+                        ? Optional.of(totals)
+                        : Optional.empty());
+        return totals;
+    }
+
+    private ProgressReport report(Long studentId, double overallProgress) {
+        Student student = new Student("Student " + studentId, 12, "Grade 3");
+        student.setId(studentId);
+        ProgressReport report = new ProgressReport(student, "MONTHLY", "2025-03", overallProgress);
+        report.setReportDate(reportDate);
+        return report;
+    }
+
+    private static boolean isTotals(ProgressRollup rollup) {
+        return rollup != null && rollup.getGranularity().equals("ALL") && rollup.getStudentId() == ProgressRollup.ALL_STUDENTS
+                && rollup.getReportType().equals(ProgressRollup.ALL_TYPES);
+    }
+
+    private ReportScores scores(double overallProgress) {
+        return new ReportScores(7L, "MONTHLY", reportDate, overallProgress, null, null, null, null);
+    }
+
+    private ProgressReportSummaryDTO summary(Long id, double overallProgress) {
+        return new ProgressReportSummaryDTO(id, 7L, "Alice", "MONTHLY", "2025-03", overallProgress,
+                null, null, null, null, reportDate);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pianoteacher.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebuildableIndexTest {
+
+    private final RebuildableIndex<TreeSet<Long>> index = new RebuildableIndex<>(new TreeSet<>());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuild_ReplaysChangesMadeWhileLoading() {
+        index.update(ids -> ids.add(1L));
+
+        index.rebuild(() -> {
+            // Committed while the load runs: one the load already saw, one it missed
+            index.update(ids -> ids.add(2L));
+            index.update(ids -> ids.add(3L));
+            return new TreeSet<>(List.of(2L, 4L));
+        });
+
+        assertEquals(List.of(2L, 3L, 4L), index.read(ArrayList::new));
+    }
+
+    @Test
+    void testRebuild_FailedLoadKeepsCurrentIndex() {
+        index.update(ids -> ids.add(1L));
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+            throw new IllegalStateException("Load failed");
+        }));
+        index.update(ids -> ids.add(2L));
+
+        assertEquals(List.of(1L, 2L), index.read(ArrayList::new));
+    }
+
+    @Test
+    void testAfterCommit_RollbackRunsFallbackInsteadOfChange() {
+        List<String> calls = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+        AfterCommit.run(() -> calls.add("change"), () -> calls.add("rollback"));
+        assertTrue(calls.isEmpty());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(List.of("rollback"), calls);
+    }
+
+    @Test
+    void testAfterCommit_OutsideTransactionRunsAtOnce() {
+        List<String> calls = new ArrayList<>();
+
+        AfterCommit.run(() -> calls.add("change"));
+
+        assertEquals(List.of("change"), calls);
+    }
+}
@@ -0,0 +1,242 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.ProgressReport;
+import com.pianoteacher.model.ProgressReport.ReportType;
+import com.pianoteacher.model.ReportGenerationRun;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ProgressReportRepository;
+import com.pianoteacher.repository.ReportGenerationRunRepository;
+import com.pianoteacher.repository.StudentRepository;
+import com.pianoteacher.service.MonthlyProgressCalculator.MonthlyScores;
+import com.pianoteacher.service.ProgressRollupService.ReportScores;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportGenerationServiceTest {
+
+    private static final Long RUN_ID = 1L;
+
+    @Mock
+    private ReportGenerationRunRepository runRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ProgressReportRepository progressReportRepository;
+
+    @Mock
+    private MonthlyProgressCalculator monthlyProgressCalculator;
+
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private LatestProgressReportIndex latestReportIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final YearMonth period = YearMonth.now().minusMonths(1);
+    private ExecutorService pool;
+    private volatile ReportGenerationRun run;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testStartMonthlyRun_ChunksRunInParallelAndSharedRollupsFollowThem() throws Exception {
+        ReportGenerationService service = service(3);
+        stubRoster();
+        // Student 3 has the report from an earlier, interrupted run
+        when(progressReportRepository.findStudentIdsWithReport(anyCollection(), eq(ReportType.MONTHLY), eq(period)))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).contains(3L) ? List.of(3L) : List.of());
+        // Every chunk waits here until all three are in flight
+        CountDownLatch allChunksStarted = new CountDownLatch(3);
+        AtomicBoolean parallel = new AtomicBoolean(true);
+        when(monthlyProgressCalculator.calculate(anyCollection(), eq(period))).thenAnswer(invocation -> {
+            allChunksStarted.countDown();
+            if (!allChunksStarted.await(5, TimeUnit.SECONDS)) {
+                parallel.set(false);
+            }
+            return scoresFor(invocation.getArgument(0));
+        });
+
+        service.startMonthlyRun(period.toString());
+
+        // Saved once when started and once when finished
+        verify(runRepository, timeout(5000).times(2)).save(any(ReportGenerationRun.class));
+        assertTrue(parallel.get(), "chunks should be processed at the same time");
+        assertEquals(ReportGenerationRun.Status.COMPLETED.name(), run.getStatus());
+
+        // Student 5 has nothing to report on, student 3 is skipped
+        verify(entityManager, times(2)).persist(any(ProgressReport.class));
+        verify(monthlyProgressCalculator, never()).calculate(eq(List.of(3L, 4L)), eq(period));
+        assertProgress(5, 2, 1, 2);
+
+        ArgumentCaptor<List<ReportScores>> shared = sharedCaptor();
+        InOrder rollups = inOrder(progressRollupService);
+        rollups.verify(progressRollupService, times(3)).reportsSavedToStudentBuckets(anyList());
+        rollups.verify(progressRollupService).addToSharedBuckets(shared.capture());
+        assertEquals(Set.of(1L, 4L), studentIds(shared.getValue()));
+    }
+
+    @Test
+    void testStartMonthlyRun_FailedChunkStopsRunButCommittedChunksReachSharedRollups() {
+        ReportGenerationService service = service(1);
+        stubRoster();
+        when(progressReportRepository.findStudentIdsWithReport(anyCollection(), eq(ReportType.MONTHLY), eq(period)))
+                .thenReturn(List.of());
+        when(monthlyProgressCalculator.calculate(anyCollection(), eq(period))).thenAnswer(invocation -> {
+            Collection<Long> studentIds = invocation.getArgument(0);
+            if (studentIds.contains(3L)) {
+                throw new IllegalStateException("Calculation failed");
+            }
+            return scoresFor(studentIds);
+        });
+
+        service.startMonthlyRun(period.toString());
+
+        verify(runRepository, timeout(5000).times(2)).save(any(ReportGenerationRun.class));
+        assertEquals(ReportGenerationRun.Status.FAILED.name(), run.getStatus());
+        assertEquals("Calculation failed", run.getErrorMessage());
+        // The last chunk is never started
+        verify(monthlyProgressCalculator, times(2)).calculate(anyCollection(), eq(period));
+        verify(runRepository, times(1)).addProgress(eq(RUN_ID), anyInt(), anyInt(), anyInt(), anyInt());
+
+        ArgumentCaptor<List<ReportScores>> shared = sharedCaptor();
+        verify(progressRollupService).addToSharedBuckets(shared.capture());
+        assertEquals(Set.of(1L), studentIds(shared.getValue()));
+    }
+
+    @Test
+    void testFailInterruptedRuns_RebuildsRollups() {
+        ReportGenerationRun interrupted = new ReportGenerationRun(ReportGenerationService.REPORT_TYPE, period.toString(), 10);
+        when(runRepository.findByStatus(ReportGenerationRun.Status.RUNNING.name())).thenReturn(List.of(interrupted));
+
+        service(1).failInterruptedRuns();
+
+        assertEquals(ReportGenerationRun.Status.FAILED.name(), interrupted.getStatus());
+        verify(progressRollupService).rebuild();
+    }
+
+    @Test
+    void testFailInterruptedRuns_NothingInterruptedKeepsRollups() {
+        when(runRepository.findByStatus(ReportGenerationRun.Status.RUNNING.name())).thenReturn(List.of());
+
+        service(1).failInterruptedRuns();
+
+        verify(progressRollupService, never()).rebuild();
+    }
+
+    // Chunks of two students over a roster of five
+    private ReportGenerationService service(int parallelism) {
+        ReportGenerationService service = new ReportGenerationService(runRepository, studentRepository,
+                progressReportRepository, monthlyProgressCalculator, progressRollupService, latestReportIndex,
+                transactionManager, new TaskExecutorAdapter(pool), 2, parallelism);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        return service;
+    }
+
+    private void stubRoster() {
+        when(studentRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(runRepository.save(any(ReportGenerationRun.class))).thenAnswer(invocation -> {
+            run = invocation.getArgument(0);
+            run.setId(RUN_ID);
+            return run;
+        });
+        when(runRepository.findById(RUN_ID)).thenAnswer(invocation -> Optional.of(run));
+        when(entityManager.getReference(eq(Student.class), any())).thenAnswer(invocation -> {
+            Student student = new Student("Student", 12, "Grade 3");
+            student.setId(invocation.getArgument(1));
+            return student;
+        });
+        when(progressRollupService.reportsSavedToStudentBuckets(anyList())).thenAnswer(invocation ->
+                invocation.<List<ProgressReport>>getArgument(0).stream().map(ReportScores::of).toList());
+    }
+
+    // Students 2 and 5 had no lessons in the period
+    private Map<Long, MonthlyScores> scoresFor(Collection<Long> studentIds) {
+        Map<Long, MonthlyScores> scores = new HashMap<>();
+        for (Long studentId : studentIds) {
+            if (studentId != 2L && studentId != 5L) {
+                scores.put(studentId, new MonthlyScores(80.0, 75.0, 70.0, 85.0, 90.0));
+            }
+        }
+        return scores;
+    }
+
+    private void assertProgress(int processed, int created, int existing, int inactive) {
+        ArgumentCaptor<Integer> processedCounts = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> createdCounts = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> existingCounts = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> inactiveCounts = ArgumentCaptor.forClass(Integer.class);
+        verify(runRepository, times(3)).addProgress(eq(RUN_ID), processedCounts.capture(), createdCounts.capture(),
+                existingCounts.capture(), inactiveCounts.capture());
+        assertEquals(processed, sum(processedCounts));
+        assertEquals(created, sum(createdCounts));
+        assertEquals(existing, sum(existingCounts));
+        assertEquals(inactive, sum(inactiveCounts));
+    }
+
+    private static int sum(ArgumentCaptor<Integer> counts) {
+        return counts.getAllValues().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<ReportScores>> sharedCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static Set<Long> studentIds(List<ReportScores> scores) {
+        return scores.stream().map(ReportScores::studentId).collect(Collectors.toSet());
+    }
+}
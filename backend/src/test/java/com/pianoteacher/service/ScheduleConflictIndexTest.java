@@ -0,0 +1,101 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleConflictIndexTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleConflictIndex conflictIndex;
+
+    private final LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        conflictIndex = new ScheduleConflictIndex(scheduleRepository);
+    }
+
+    @Test
+    void testHasConflict_LoadsStudentIntervalsOnce() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{10L, monday.withHour(10), monday.withHour(11)});
+        when(scheduleRepository.findIntervalsByStudentId(1L)).thenReturn(rows);
+
+        assertTrue(conflictIndex.hasConflict(1L, monday.withHour(10).withMinute(30), monday.withHour(11).withMinute(30)));
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(11), monday.withHour(12)));
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(9), monday.withHour(10)));
+
+        verify(scheduleRepository, times(1)).findIntervalsByStudentId(1L);
+    }
+
+    @Test
+    void testHasConflict_ExcludesOwnSchedule() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{10L, monday.withHour(10), monday.withHour(11)});
+        when(scheduleRepository.findIntervalsByStudentId(1L)).thenReturn(rows);
+
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(10).withMinute(15), monday.withHour(11).withMinute(15), 10L));
+        assertTrue(conflictIndex.hasConflict(1L, monday.withHour(10).withMinute(15), monday.withHour(11).withMinute(15), 99L));
+    }
+
+    @Test
+    void testHasConflict_LongBookingBeforeShortOnes() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, monday.withHour(8), monday.withHour(18)});
+        rows.add(new Object[]{2L, monday.withHour(9), monday.withHour(10)});
+        rows.add(new Object[]{3L, monday.withHour(12), monday.withHour(13)});
+        when(scheduleRepository.findIntervalsByStudentId(1L)).thenReturn(rows);
+
+        assertTrue(conflictIndex.hasConflict(1L, monday.withHour(16), monday.withHour(17)));
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(16), monday.withHour(17), 1L));
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(18), monday.withHour(19)));
+    }
+
+    @Test
+    void testAddAndRemove_UpdateLoadedStudent() {
+        when(scheduleRepository.findIntervalsByStudentId(1L)).thenReturn(new ArrayList<>());
+
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(10), monday.withHour(11)));
+
+        conflictIndex.add(1L, 5L, monday.withHour(10), monday.withHour(11));
+        assertTrue(conflictIndex.hasConflict(1L, monday.withHour(10), monday.withHour(11)));
+
+        // Moving the same booking replaces its previous interval
+        conflictIndex.add(1L, 5L, monday.withHour(14), monday.withHour(15));
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(10), monday.withHour(11)));
+        assertTrue(conflictIndex.hasConflict(1L, monday.withHour(14).withMinute(30), monday.withHour(16)));
+
+        conflictIndex.remove(1L, 5L);
+        assertFalse(conflictIndex.hasConflict(1L, monday.withHour(14), monday.withHour(15)));
+    }
+
+    @Test
+    void testAdd_GrowsBeyondInitialCapacity() {
+        when(scheduleRepository.findIntervalsByStudentId(1L)).thenReturn(new ArrayList<>());
+        conflictIndex.hasConflict(1L, monday, monday.plusHours(1));
+
+        for (int day = 0; day < 50; day++) {
+            LocalDateTime start = monday.plusDays(day).withHour(10);
+            conflictIndex.add(1L, (long) day, start, start.plusHours(1));
+        }
+
+        assertTrue(conflictIndex.hasConflict(1L, monday.plusDays(49).withHour(10), monday.plusDays(49).withHour(11)));
+        assertFalse(conflictIndex.hasConflict(1L, monday.plusDays(49).withHour(11), monday.plusDays(49).withHour(12)));
+    }
+}
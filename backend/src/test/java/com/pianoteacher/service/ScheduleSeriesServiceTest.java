@@ -0,0 +1,220 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.ScheduleSeries;
+import com.pianoteacher.model.Student;
+import com.pianoteacher.repository.ScheduleRepository;
+import com.pianoteacher.repository.ScheduleSeriesRepository;
+import com.pianoteacher.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleSeriesServiceTest {
+
+    @Mock
+    private ScheduleSeriesRepository scheduleSeriesRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private LocationDictionary locationDictionary;
+
+    @Mock
+    private ScheduleConflictIndex conflictIndex;
+
+    @Mock
+    private TableChangeTracker changeTracker;
+
+    @Mock
+    private ScheduleSnapshot snapshot;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ScheduleSeriesService scheduleSeriesService;
+
+    private final LocalDate monday = LocalDate.of(2025, 2, 3);
+
+    @BeforeEach
+    void setUp() {
+        scheduleSeriesService = new ScheduleSeriesService(scheduleSeriesRepository, scheduleRepository, studentRepository,
+                conflictIndex, changeTracker, snapshot, locationDictionary, 2);
+        ReflectionTestUtils.setField(scheduleSeriesService, "entityManager", entityManager);
+    }
+
+    @Test
+    void testOccurrenceDates_BiweeklyWithExceptionAndMidSeriesWindow() {
+        ScheduleSeries series = weeklySeries("BIWEEKLY", monday, monday.plusWeeks(8));
+        series.setExceptionDates(Set.of(monday.plusWeeks(4)));
+
+        assertEquals(List.of(monday, monday.plusWeeks(2), monday.plusWeeks(6), monday.plusWeeks(8)),
+                series.occurrenceDates(monday, monday.plusWeeks(9)));
+        // Window starting between occurrences jumps to the next one
+        assertEquals(List.of(monday.plusWeeks(6)), series.occurrenceDates(monday.plusDays(30), monday.plusWeeks(7)));
+    }
+
+    @Test
+    void testFindConflictingDates_SingleSweepOverBookings() {
+        List<LocalDate> dates = List.of(monday, monday.plusWeeks(1), monday.plusWeeks(2), monday.plusWeeks(3));
+        List<Object[]> bookings = List.of(
+                booking(1L, monday.atTime(9, 0), monday.atTime(10, 0)),                            // ends as occurrence starts
+                booking(2L, monday.plusWeeks(1).atTime(10, 30), monday.plusWeeks(1).atTime(11, 30)), // overlaps
+                booking(3L, monday.plusWeeks(3).atTime(8, 0), monday.plusWeeks(3).atTime(12, 0)));   // covers
+
+        assertEquals(Set.of(monday.plusWeeks(1), monday.plusWeeks(3)),
+                ScheduleSeriesService.findConflictingDates(dates, LocalTime.of(10, 0), 60, bookings));
+    }
+
+    @Test
+    void testCreateSeries_RejectsConflictsWithOneRangeQuery() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(10));
+        when(studentRepository.existsCachedById(1L)).thenReturn(true);
+        when(scheduleRepository.findIntervalsByStudentInRange(any(), any(), any())).thenReturn(List.<Object[]>of(
+                booking(7L, monday.plusWeeks(5).atTime(10, 15), monday.plusWeeks(5).atTime(10, 45))));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> scheduleSeriesService.createSeries(series));
+
+        assertTrue(e.getMessage().contains(monday.plusWeeks(5).toString()));
+        verify(scheduleSeriesRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateSeries_RejectsUnmaterializedOccurrencesOfAnotherSeries() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(4));
+        // 10:30-11:30 from week 2, materialized through week 2 so only weeks 3 and 4 are expanded
+        ScheduleSeries other = weeklySeries("WEEKLY", monday.plusWeeks(2), monday.plusWeeks(6));
+        other.setId(9L);
+        other.setStartTime(LocalTime.of(10, 30));
+        other.setMaterializedThrough(monday.plusWeeks(2));
+        when(studentRepository.existsCachedById(1L)).thenReturn(true);
+        when(scheduleSeriesRepository.findUnmaterializedByStudentInRange(eq(1L), any(), any())).thenReturn(List.of(other));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> scheduleSeriesService.createSeries(series));
+
+        assertTrue(e.getMessage().endsWith("[" + monday.plusWeeks(3) + ", " + monday.plusWeeks(4) + "]"), e.getMessage());
+        verify(scheduleSeriesRepository, never()).save(any());
+    }
+
+    @Test
+    void testHasOccurrenceConflict_SingleScheduleAgainstUnmaterializedOccurrences() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(4));
+        series.setId(9L);
+        series.setExceptionDates(Set.of(monday.plusWeeks(2)));
+        when(scheduleSeriesRepository.findUnmaterializedByStudentInRange(eq(1L), any(), any())).thenReturn(List.of(series));
+
+        LocalDate week1 = monday.plusWeeks(1);
+        assertTrue(scheduleSeriesService.hasOccurrenceConflict(1L, week1.atTime(10, 30), week1.atTime(11, 30)));
+        // Touching the occurrence's end is not an overlap
+        assertFalse(scheduleSeriesService.hasOccurrenceConflict(1L, week1.atTime(11, 0), week1.atTime(12, 0)));
+        // Nor is the slot of an excepted occurrence
+        LocalDate week2 = monday.plusWeeks(2);
+        assertFalse(scheduleSeriesService.hasOccurrenceConflict(1L, week2.atTime(10, 0), week2.atTime(11, 0)));
+    }
+
+    @Test
+    void testMaterialize_PersistsInBatchesAndIndexesOccurrences() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(8));
+        series.setId(5L);
+        Student student = series.getStudent();
+        when(scheduleSeriesRepository.findById(5L)).thenReturn(Optional.of(series));
+        // The series' own occurrences are not conflicts
+        when(scheduleSeriesRepository.findUnmaterializedByStudentInRange(eq(1L), any(), any())).thenReturn(List.of(series));
+        when(entityManager.getReference(Student.class, 1L)).thenReturn(student);
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<Schedule>getArgument(0).setId(ids.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(Schedule.class));
+
+        ScheduleSeries materialized = scheduleSeriesService.materialize(5L, monday.plusWeeks(2));
+
+        assertEquals(monday.plusWeeks(2), materialized.getMaterializedThrough());
+        verify(scheduleSeriesRepository).saveAndFlush(series);
+        verify(entityManager, times(3)).persist(any(Schedule.class));
+        // One batch of two, then the remainder
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        for (int week = 0; week < 3; week++) {
+            LocalDate date = monday.plusWeeks(week);
+            verify(conflictIndex).add(1L, 100L + week, date.atTime(10, 0), date.atTime(11, 0));
+        }
+    }
+
+    @Test
+    void testAddException_DeletesMaterializedOccurrence() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(4));
+        series.setId(5L);
+        LocalDate date = monday.plusWeeks(1);
+        Schedule occurrence = new Schedule(series.getStudent(), date.atTime(10, 0), date.atTime(11, 0), "Studio A");
+        occurrence.setId(42L);
+        when(scheduleSeriesRepository.findById(5L)).thenReturn(Optional.of(series));
+        when(scheduleRepository.findBySeriesIdInRange(5L, date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(occurrence));
+
+        scheduleSeriesService.addException(5L, date);
+
+        assertTrue(series.getExceptionDates().contains(date));
+        verify(scheduleRepository).delete(occurrence);
+        verify(conflictIndex).remove(1L, 42L);
+        verify(scheduleSeriesRepository).save(series);
+        assertThrows(IllegalArgumentException.class, () -> scheduleSeriesService.addException(5L, date.plusDays(1)));
+    }
+
+    @Test
+    void testDeleteSeries_BulkDeleteIsReportedToTrackerSnapshotAndIndex() {
+        ScheduleSeries series = weeklySeries("WEEKLY", monday, monday.plusWeeks(4));
+        series.setId(5L);
+        when(scheduleSeriesRepository.findById(5L)).thenReturn(Optional.of(series));
+        when(scheduleRepository.findIdsBySeriesId(5L)).thenReturn(List.of(41L, 42L));
+
+        scheduleSeriesService.deleteSeries(5L);
+
+        InOrder order = inOrder(scheduleRepository, changeTracker, scheduleSeriesRepository);
+        order.verify(scheduleRepository).deleteBySeriesId(5L);
+        order.verify(changeTracker).changed(Schedule.class);
+        order.verify(scheduleSeriesRepository).delete(series);
+        for (Long id : List.of(41L, 42L)) {
+            verify(conflictIndex).remove(1L, id);
+            verify(snapshot).removed(id);
+        }
+    }
+
+    private ScheduleSeries weeklySeries(String frequency, LocalDate startDate, LocalDate endDate) {
+        Student student = new Student("Test Student", 10, "Grade 3");
+        student.setId(1L);
+        return new ScheduleSeries(student, frequency, startDate, endDate, LocalTime.of(10, 0), 60, "Studio A");
+    }
+
+    private Object[] booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return new Object[]{id, start, end};
+    }
+}
@@ -2,7 +2,9 @@ package com.pianoteacher.service;
 
 import com.pianoteacher.model.Schedule;
 import com.pianoteacher.model.Student;
+import com.pianoteacher.dto.CursorPageDTO;
 import com.pianoteacher.dto.TimeSlotSuggestionDTO;
+import com.pianoteacher.dto.UtilizationDTO;
 import com.pianoteacher.repository.ScheduleRepository;
 import com.pianoteacher.service.ScheduleService;
 import com.pianoteacher.service.StudentService;
@@ -11,15 +13,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
 
 @ExtendWith(MockitoExtension.class)
 class ScheduleServiceTest {
@@ -30,11 +35,21 @@ class ScheduleServiceTest {
     @Mock
     private ScheduleRepository scheduleRepository;
 
+    @Mock
+    private ScheduleSeriesService scheduleSeriesService;
+
+    @Mock
+    private LocationDictionary locationDictionary;
+
+    private ScheduleSnapshot snapshot;
+
     private ScheduleService scheduleService;
 
     @BeforeEach
     void setUp() {
-        scheduleService = new ScheduleService(scheduleRepository, null, studentService);
+        snapshot = new ScheduleSnapshot(scheduleRepository);
+        scheduleService = new ScheduleService(scheduleRepository, null, studentService,
+                new ScheduleConflictIndex(scheduleRepository), scheduleSeriesService, snapshot, locationDictionary);
     }
 
     @Test
@@ -50,7 +65,6 @@ class ScheduleServiceTest {
         student.setName("Test Student");
 
         when(studentService.getStudentById(studentId)).thenReturn(student);
-        when(scheduleRepository.findByStudentAndDateRange(anyLong(), any(), any())).thenReturn(List.of());
 
         // Act
         List<TimeSlotSuggestionDTO> suggestions = scheduleService.getSchedulingSuggestions(
@@ -249,4 +263,117 @@ class ScheduleServiceTest {
             }
         }
     }
+
+    @Test
+    void testGetSchedulingSuggestions_SkipsLessonsInSnapshot() {
+        LocalDate day = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        // A lesson covering the whole teaching day, and one hour booked for another student
+        snapshot.saved(1L, 1L, day.atTime(8, 0), day.atTime(20, 0), 1L);
+        snapshot.saved(2L, 2L, day.atTime(9, 0), day.atTime(10, 0), 1L);
+
+        assertTrue(scheduleService.getSchedulingSuggestions(1L, day.atStartOfDay(), day.atTime(23, 0), 60).isEmpty());
+        assertFalse(scheduleService.getSchedulingSuggestions(2L, day.atStartOfDay(), day.atTime(23, 0), 60).isEmpty());
+    }
+
+    @Test
+    void testGetUtilization_BookedAgainstTeachingHours() {
+        LocalDate monday = LocalDate.of(2025, 2, 3);
+        snapshot.saved(1L, 1L, monday.atTime(9, 0), monday.atTime(10, 0), 1L);
+        // Outside teaching hours: booked, but no capacity to use up
+        snapshot.saved(2L, 2L, monday.plusDays(1).atTime(21, 0), monday.plusDays(1).atTime(22, 0), 1L);
+
+        UtilizationDTO utilization = scheduleService.getUtilization(monday, monday.plusDays(6), 30, null);
+
+        assertEquals(120, utilization.bookedMinutes());
+        assertEquals(7 * 12 * 60, utilization.capacityMinutes());
+        assertEquals(7 * 12 * 60 - 60, utilization.freeMinutes());
+        assertEquals(1.2, utilization.utilization());
+        assertEquals(7 * 48, utilization.buckets().size());
+        UtilizationDTO.Bucket peak = utilization.peakHours().get(0);
+        assertEquals(DayOfWeek.MONDAY, peak.dayOfWeek());
+        assertEquals(9, peak.startTime().getHour());
+        assertEquals(100.0, peak.utilization());
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.getUtilization(monday, monday.plusDays(6), 20, null));
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.getUtilization(monday, monday.minusDays(1), 60, null));
+    }
+
+    @Test
+    void testGetSchedulesPage_ReturnsCursorAndHasMore() {
+        // Arrange - repository returns one row more than the page size
+        List<Schedule> rows = List.of(scheduleWithId(11L), scheduleWithId(12L), scheduleWithId(13L));
+        when(scheduleRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), eq(PageRequest.of(0, 3)))).thenReturn(rows);
+
+        // Act
+        CursorPageDTO<Schedule> page = scheduleService.getSchedulesPage(10L, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(12L, page.getNextCursor());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void testGetSchedulesPage_LastPageAndInvalidSize() {
+        when(scheduleRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.of(0, 51)))).thenReturn(List.of(scheduleWithId(1L)));
+
+        CursorPageDTO<Schedule> page = scheduleService.getSchedulesPage(null, 50);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getNextCursor());
+        assertFalse(page.isHasMore());
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.getSchedulesPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.getSchedulesPage(null, CursorPageDTO.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetSchedulesByDateRangePage_SeeksPastCursorWithinRange() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = start.plusMonths(1);
+        when(scheduleRepository.findByDateRangeAfterId(eq(start), eq(end), eq(20L), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(scheduleWithId(21L), scheduleWithId(25L)));
+
+        CursorPageDTO<Schedule> page = scheduleService.getSchedulesByDateRangePage(start, end, 20L, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(25L, page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void testGetCalendar_GroupsSchedulesByDayFromOneRangeQuery() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 3, 4);
+        Schedule monday = scheduleWithId(1L);
+        monday.setStartTime(startDate.atTime(10, 0));
+        Schedule wednesday = scheduleWithId(2L);
+        wednesday.setStartTime(startDate.plusDays(2).atTime(23, 30));
+        when(scheduleRepository.findStartingInRange(startDate.atStartOfDay(), startDate.plusDays(3).atStartOfDay()))
+                .thenReturn(List.of(monday, wednesday));
+
+        // Act
+        Map<LocalDate, List<Schedule>> calendar = scheduleService.getCalendar(startDate, 3, null);
+
+        // Assert - every day in the window is present, empty days included
+        assertEquals(List.of(startDate, startDate.plusDays(1), startDate.plusDays(2)), List.copyOf(calendar.keySet()));
+        assertEquals(List.of(monday), calendar.get(startDate));
+        assertTrue(calendar.get(startDate.plusDays(1)).isEmpty());
+        assertEquals(List.of(wednesday), calendar.get(startDate.plusDays(2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduleService.getCalendar(startDate, ScheduleService.MAX_CALENDAR_DAYS + 1, null));
+    }
+
+    @Test
+    void testHasScheduleConflict_IncludesUnmaterializedSeriesOccurrences() {
+        LocalDateTime start = LocalDate.of(2024, 3, 4).atTime(10, 0);
+        when(scheduleSeriesService.hasOccurrenceConflict(1L, start, start.plusHours(1))).thenReturn(true);
+
+        // Nothing stored, so only the series occurrence conflicts
+        assertTrue(scheduleService.hasScheduleConflict(1L, start, start.plusHours(1)));
+    }
+
+    private Schedule scheduleWithId(Long id) {
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        return schedule;
+    }
 }
@@ -0,0 +1,155 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleSnapshotTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleSnapshot snapshot;
+
+    private static final Long STUDIO_A = 1L;
+    private static final Long STUDIO_B = 2L;
+
+    // A Monday
+    private final LocalDate monday = LocalDate.of(2025, 2, 3);
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ScheduleSnapshot(scheduleRepository);
+    }
+
+    @Test
+    void testRebuild_LoadsRowsAndCountsByStudentAndLocation() {
+        when(scheduleRepository.findSnapshotRows()).thenReturn(List.of(
+                new Object[]{1L, 10L, monday.atTime(9, 0), monday.atTime(10, 0), STUDIO_A},
+                new Object[]{2L, 20L, monday.atTime(11, 0), monday.atTime(12, 0), STUDIO_B},
+                new Object[]{3L, 10L, monday.plusDays(1).atTime(9, 0), monday.plusDays(1).atTime(10, 0), STUDIO_A}));
+
+        snapshot.rebuild();
+
+        assertEquals(3, snapshot.size());
+        assertEquals(Map.of(10L, 2L, 20L, 1L), toMap(snapshot.countByStudent()));
+        assertEquals(Map.of(STUDIO_A, 2L, STUDIO_B, 1L), toMap(snapshot.countByLocation()));
+    }
+
+    @Test
+    void testSavedAndRemoved_UpdateAndMoveLessons() {
+        snapshot.saved(1L, 10L, monday.atTime(9, 0), monday.atTime(10, 0), STUDIO_A);
+        snapshot.saved(2L, 20L, monday.atTime(8, 0), monday.atTime(9, 0), STUDIO_A);
+        // Rescheduled to a later day and another room
+        snapshot.saved(1L, 10L, monday.plusDays(2).atTime(15, 30), monday.plusDays(2).atTime(16, 15), STUDIO_B);
+        snapshot.removed(2L);
+        snapshot.removed(99L);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(Map.of(10L, 1L), toMap(snapshot.countByStudent()));
+        assertEquals(Map.of(STUDIO_B, 1L), toMap(snapshot.countByLocation()));
+
+        long[][] intervals = snapshot.intervalsForStudent(10L, monday.atStartOfDay(), monday.plusDays(7).atStartOfDay());
+        assertEquals(1, intervals[0].length);
+        assertEquals(DayOfWeek.WEDNESDAY.ordinal(), ScheduleSnapshot.weekday(intervals[0][0]));
+        assertEquals(15, ScheduleSnapshot.hour(intervals[0][0]));
+        assertEquals(ScheduleSnapshot.ceilMinute(monday.plusDays(2).atTime(16, 15)), intervals[1][0]);
+    }
+
+    @Test
+    void testCountByWeekdayAndHour_FiltersRangeAndLocation() {
+        snapshot.saved(1L, 10L, monday.atTime(9, 0), monday.atTime(10, 0), STUDIO_A);
+        snapshot.saved(2L, 20L, monday.atTime(9, 30), monday.atTime(10, 0), STUDIO_A);
+        snapshot.saved(3L, 30L, monday.atTime(9, 0), monday.atTime(10, 0), STUDIO_B);
+        snapshot.saved(4L, 10L, monday.plusDays(6).atTime(17, 0), monday.plusDays(6).atTime(18, 0), STUDIO_A);
+        // Starts exactly at the end of the range
+        snapshot.saved(5L, 10L, monday.plusDays(7).atTime(0, 0), monday.plusDays(7).atTime(1, 0), STUDIO_A);
+
+        int[][] studioA = snapshot.countByWeekdayAndHour(monday.atStartOfDay(), monday.plusDays(7).atStartOfDay(), STUDIO_A);
+        assertEquals(2, studioA[DayOfWeek.MONDAY.ordinal()][9]);
+        assertEquals(1, studioA[DayOfWeek.SUNDAY.ordinal()][17]);
+        assertEquals(3, sum(studioA));
+
+        int[][] everywhere = snapshot.countByWeekdayAndHour(monday.atStartOfDay(), monday.plusDays(7).atStartOfDay(), null);
+        assertEquals(3, everywhere[DayOfWeek.MONDAY.ordinal()][9]);
+        assertEquals(4, sum(everywhere));
+
+        assertEquals(0, sum(snapshot.countByWeekdayAndHour(monday.atStartOfDay(), monday.plusDays(7).atStartOfDay(), 99L)));
+    }
+
+    @Test
+    void testBookedMinutes_MergesOverlapsAndClipsToRange() {
+        snapshot.saved(1L, 10L, monday.atTime(9, 0), monday.atTime(10, 0), STUDIO_A);
+        snapshot.saved(2L, 20L, monday.atTime(9, 30), monday.atTime(10, 30), STUDIO_B);
+        // Starts the evening before the range
+        snapshot.saved(3L, 30L, monday.minusDays(1).atTime(23, 30), monday.atTime(0, 30), STUDIO_B);
+
+        long[][] hourly = snapshot.bookedMinutes(monday.atStartOfDay(), monday.plusDays(7).atStartOfDay(), null, 60);
+        assertEquals(60, hourly[DayOfWeek.MONDAY.ordinal()][9]);
+        assertEquals(30, hourly[DayOfWeek.MONDAY.ordinal()][10]);
+        assertEquals(30, hourly[DayOfWeek.MONDAY.ordinal()][0]);
+        assertEquals(0, hourly[DayOfWeek.SUNDAY.ordinal()][23]);
+
+        long[][] quarterHours = snapshot.bookedMinutes(monday.atStartOfDay(), monday.plusDays(1).atStartOfDay(), STUDIO_A, 15);
+        assertEquals(96, quarterHours[0].length);
+        assertEquals(15, quarterHours[DayOfWeek.MONDAY.ordinal()][9 * 4 + 3]);
+        assertEquals(0, quarterHours[DayOfWeek.MONDAY.ordinal()][10 * 4]);
+    }
+
+    @Test
+    void testBookedMinutes_StraddlingLessonFoundAfterLongestLessonIsRemoved() {
+        snapshot.saved(1L, 10L, monday.plusDays(2).atTime(9, 0), monday.plusDays(2).atTime(13, 0), STUDIO_A);
+        snapshot.saved(2L, 20L, monday.minusDays(1).atTime(23, 30), monday.atTime(0, 30), STUDIO_B);
+        snapshot.removed(1L);
+        // A new student and location after the removal get ordinals past the existing ones
+        snapshot.saved(3L, 30L, monday.atTime(9, 0), monday.atTime(9, 45), 3L);
+
+        long[][] hourly = snapshot.bookedMinutes(monday.atStartOfDay(), monday.plusDays(1).atStartOfDay(), null, 60);
+        assertEquals(30, hourly[DayOfWeek.MONDAY.ordinal()][0]);
+        assertEquals(45, hourly[DayOfWeek.MONDAY.ordinal()][9]);
+        assertEquals(Map.of(20L, 1L, 30L, 1L), toMap(snapshot.countByStudent()));
+        assertEquals(Map.of(STUDIO_B, 1L, 3L, 1L), toMap(snapshot.countByLocation()));
+    }
+
+    @Test
+    void testWeekdayAndHour_MatchLocalDateTimeBeforeEpoch() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 28, 23, 59);
+
+        long minute = ScheduleSnapshot.floorMinute(time);
+
+        assertEquals(time.getDayOfWeek().ordinal(), ScheduleSnapshot.weekday(minute));
+        assertEquals(23, ScheduleSnapshot.hour(minute));
+    }
+
+    private static Map<Object, Object> toMap(List<Object[]> rows) {
+        Map<Object, Object> map = new HashMap<>();
+        for (Object[] row : rows) {
+            map.put(row[0], row[1]);
+        }
+        return map;
+    }
+
+    private static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] day : counts) {
+            for (int count : day) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
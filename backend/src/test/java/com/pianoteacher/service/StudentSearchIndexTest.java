@@ -0,0 +1,67 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.dto.StudentSuggestionDTO;
+import com.pianoteacher.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchIndexTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private StudentSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Anna Schmidt", "anna@example.com", "Grade 3"});
+        rows.add(new Object[]{2L, "Hannah Lee", "hlee@example.com", "Grade 5"});
+        rows.add(new Object[]{3L, "Zoë Annesley", null, "Grade 1"});
+        rows.add(new Object[]{4L, "Mark Brown", "mark.ANN@example.com", null});
+        when(studentRepository.findSearchableFields()).thenReturn(rows);
+
+        searchIndex = new StudentSearchIndex(studentRepository);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_MatchesSubstringsOfNameOrEmailIgnoringCase() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), searchIndex.search("ANN"));
+        assertEquals(List.of(2L), searchIndex.search("nah l"));
+        assertEquals(List.of(3L), searchIndex.search("zoe"));
+        assertEquals(List.of(2L), searchIndex.search("ee"));
+        assertTrue(searchIndex.search("xyz").isEmpty());
+        assertEquals(List.of(1L, 2L, 3L, 4L), searchIndex.search(""));
+        assertEquals(List.of(1L, 2L, 3L, 4L), searchIndex.search("  "));
+    }
+
+    @Test
+    void testSuggest_RanksNamePrefixThenWordThenEmailAndHonoursLimit() {
+        List<StudentSuggestionDTO> suggestions = searchIndex.suggest("ann", 10);
+
+        assertEquals(List.of(1L, 3L, 2L, 4L), suggestions.stream().map(StudentSuggestionDTO::getId).toList());
+        assertEquals("Anna Schmidt", suggestions.get(0).getName());
+        assertEquals(2, searchIndex.suggest("ann", 2).size());
+    }
+
+    @Test
+    void testIndexAndRemove_UpdateResults() {
+        searchIndex.index(2L, "Hannah Park", "hpark@example.com", "Grade 5");
+        searchIndex.index(5L, "Annika Berg", null, null);
+        searchIndex.remove(1L);
+
+        assertTrue(searchIndex.search("lee").isEmpty());
+        assertEquals(List.of(5L, 3L), searchIndex.suggest("ann", 2).stream().map(StudentSuggestionDTO::getId).toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.pianoteacher.service;
+
+import com.pianoteacher.model.Schedule;
+import com.pianoteacher.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableChangeTrackerTest {
+
+    private final TableChangeTracker changeTracker = new TableChangeTracker();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEtag_ChangesOnlyWhenAListedTableChanges() {
+        String before = changeTracker.etag(Schedule.class, Student.class);
+        assertTrue(before.startsWith("W/\""));
+        assertEquals(before, changeTracker.etag(Schedule.class, Student.class));
+
+        changeTracker.changed(Student.class);
+
+        assertNotEquals(before, changeTracker.etag(Schedule.class, Student.class));
+        assertEquals(changeTracker.etag(Schedule.class), changeTracker.etag(Schedule.class));
+        assertEquals(1, changeTracker.version(Student.class));
+        assertEquals(0, changeTracker.version(Schedule.class));
+    }
+
+    @Test
+    void testChanged_InTransactionCountsOncePerTableAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeTracker.changed(Schedule.class);
+        changeTracker.changed(Schedule.class);
+        changeTracker.changed(Student.class);
+        assertEquals(0, changeTracker.version(Schedule.class));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(1, changeTracker.version(Schedule.class));
+        assertEquals(1, changeTracker.version(Student.class));
+        assertNull(TransactionSynchronizationManager.getResource(changeTracker));
+    }
+
+    @Test
+    void testChanged_RolledBackTransactionLeavesCountersAlone() {
+        TransactionSynchronizationManager.initSynchronization();
+        changeTracker.changed(Schedule.class);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(0, changeTracker.version(Schedule.class));
+    }
+
+    @Test
+    void testEtag_DiffersBetweenInstances() {
+        assertNotEquals(new TableChangeTracker().etag(Schedule.class), changeTracker.etag(Schedule.class));
+    }
+}